@@ -30,9 +30,11 @@ import net.chumbucket.sorekillteams.model.TeamHome;
 import net.chumbucket.sorekillteams.model.TeamInvites;
 import net.chumbucket.sorekillteams.network.InvitePacket;
 import net.chumbucket.sorekillteams.network.PresencePacket;
+import net.chumbucket.sorekillteams.network.RedisConnections;
 import net.chumbucket.sorekillteams.network.RedisInviteBus;
 import net.chumbucket.sorekillteams.network.InviteBus;
 import net.chumbucket.sorekillteams.network.RedisPresenceBus;
+import net.chumbucket.sorekillteams.network.RedisSubscriptionMux;
 import net.chumbucket.sorekillteams.network.RedisTeamChatBus;
 import net.chumbucket.sorekillteams.network.RedisTeamEventBus;
 import net.chumbucket.sorekillteams.network.RedisTeamHomeBus;
@@ -50,6 +52,7 @@ import net.chumbucket.sorekillteams.service.TeamHomeService;
 import net.chumbucket.sorekillteams.service.TeamService;
 import net.chumbucket.sorekillteams.storage.TeamHomeStorage;
 import net.chumbucket.sorekillteams.storage.TeamStorage;
+import net.chumbucket.sorekillteams.storage.TeamWriteBehindQueue;
 import net.chumbucket.sorekillteams.storage.YamlTeamHomeStorage;
 import net.chumbucket.sorekillteams.storage.YamlTeamStorage;
 import net.chumbucket.sorekillteams.storage.sql.SqlDatabase;
@@ -60,10 +63,13 @@ import net.chumbucket.sorekillteams.storage.sql.SqlTeamStorage;
 import net.chumbucket.sorekillteams.storage.sql.YamlToSqlMigrator;
 import net.chumbucket.sorekillteams.update.UpdateChecker;
 import net.chumbucket.sorekillteams.update.UpdateNotifyListener;
+import net.chumbucket.sorekillteams.util.AsyncTeleport;
 import net.chumbucket.sorekillteams.util.Actionbar;
+import net.chumbucket.sorekillteams.util.CommandUtil;
 import net.chumbucket.sorekillteams.util.Debug;
 import net.chumbucket.sorekillteams.util.Menus;
 import net.chumbucket.sorekillteams.util.Msg;
+import net.chumbucket.sorekillteams.util.Settings;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Sound;
@@ -80,12 +86,23 @@ import org.bukkit.plugin.java.JavaPlugin;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public final class SorekillTeamsPlugin extends JavaPlugin {
 
@@ -94,6 +111,18 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
     private Actionbar actionbar;
     private Debug debug;
 
+    // ✅ Hot-path config snapshot (rebuilt on load/reload, swapped whole)
+    private volatile Settings settings;
+
+    // ✅ Placeholder invalidation clock: every team/home/presence/toggle mutation ticks it and stamps
+    // the tick on the team or player it touched; globalStateVersion covers changes of unknown scope
+    private final AtomicLong stateVersion = new AtomicLong();
+    private volatile long globalStateVersion;
+    private final Map<UUID, Long> teamStateVersions = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> playerStateVersions = new ConcurrentHashMap<>();
+    // past this many stamps one global bump folds them all away
+    private static final int MAX_STATE_VERSION_STAMPS = 16_384;
+
     private MenuRouter menuRouter;
 
     private PlaceholderBridge placeholderBridge;
@@ -102,6 +131,17 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
     private TeamService teams;
 
     private TeamHomeStorage teamHomeStorage;
+
+    private final Executor asyncExecutor = this::runAsyncOrInline;
+
+    // Local home writes not yet acknowledged by storage (teamId -> count) + a per-team bump per write start/end
+    private final ConcurrentHashMap<UUID, Integer> homeWritesInFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Long> homeWriteSeqByTeam = new ConcurrentHashMap<>();
+    // Last write queued per team; the next one starts only after it (storage order = call order)
+    private final ConcurrentHashMap<UUID, CompletableFuture<Void>> homeWriteTails = new ConcurrentHashMap<>();
+    // Reloads that raced a write, re-run once that team's writes have landed
+    private final ConcurrentHashMap<UUID, List<CompletableFuture<Boolean>>> homeReloadsAfterWrites = new ConcurrentHashMap<>();
+    private static final int HOME_RELOAD_MAX_ATTEMPTS = 3;
     private TeamHomeService teamHomes;
 
     // YAML-mode invites cache (existing behavior)
@@ -120,6 +160,9 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
     private final AtomicBoolean saveInFlight = new AtomicBoolean(false);
 
+    // ✅ Write-behind persistence (team mutations never write on the main thread)
+    private TeamWriteBehindQueue teamWriteBehind;
+
     private boolean placeholdersHooked = false;
 
     private SqlDatabase sqlDb;
@@ -141,6 +184,12 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
     // ✅ Team home teleport bus (cross-server home routing)
     private TeamHomeBus teamHomeBus;
 
+    // ✅ Shared pooled Redis connections (all buses publish through this)
+    private RedisConnections redis;
+
+    // ✅ Single pattern subscriber dispatching to every bus
+    private RedisSubscriptionMux redisMux;
+
     private String networkServerName = "default";
 
     private String loadedJdbcDriverForType = null;
@@ -196,6 +245,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
     @Override
     public void onEnable() {
         saveDefaultConfig();
+        this.settings = Settings.from(getConfig());
 
         saveResourceIfMissing(getMessagesFileNameSafe());
         saveResourceIfMissing(getMenusFileNameSafe());
@@ -287,6 +337,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         // Tasks
         // -------------------------
         startInvitePurgeTask();
+        startTeamWriteBehind();
         startAutosaveTask();
         startSqlAutoRefreshTask();
 
@@ -311,12 +362,17 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
         stopSqlAutoRefreshTask();
 
+        stopTeamWriteBehind("shutdown");
         trySaveNowSync("shutdown");
 
         if (placeholderBridge != null) {
             placeholderBridge.unhookAll();
         }
 
+        if (menuRouter != null) {
+            try { menuRouter.shutdown(); } catch (Exception ignored) {}
+        }
+
         stopRedisNetwork();
         stopSql();
 
@@ -327,6 +383,8 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
     public void reloadEverything() {
         reloadConfig();
+        this.settings = Settings.from(getConfig());
+        bumpStateVersion();
 
         saveResourceIfMissing(getMessagesFileNameSafe());
         saveResourceIfMissing(getMenusFileNameSafe());
@@ -352,22 +410,33 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         // re-register channels (harmless)
         registerProxyPluginMessaging();
 
-        try {
-            wireStorageFromConfig(false);
-        } catch (Exception e) {
-            getLogger().severe("Reload: failed to initialize storage backend. Keeping previous backend.");
-            getLogger().severe("Reason: " + e.getClass().getSimpleName() + ": " + e.getMessage());
-        }
+        // ✅ flush queued team writes against the OLD backend before storage is rewired
+        stopTeamWriteBehind("reload");
 
-        try {
-            TeamService fresh = new SimpleTeamService(this, storage);
-            storage.loadAll(fresh);
-            this.teams = fresh;
+        // Leftovers the queue spilled (and overflow retries) only live in the old service:
+        // they must reach storage before a fresh service is loaded from it, or they are lost.
+        if (!flushTeamsBeforeReload()) {
+            getLogger().severe("Reload: pending team changes could not be saved. " +
+                    "Keeping the current storage backend and in-memory teams (autosave will retry).");
+        } else {
+            try {
+                wireStorageFromConfig(false);
+            } catch (Exception e) {
+                getLogger().severe("Reload: failed to initialize storage backend. Keeping previous backend.");
+                getLogger().severe("Reason: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
 
-            invites.purgeExpiredAll(System.currentTimeMillis());
-        } catch (Exception e) {
-            getLogger().severe("Reload failed while loading teams. Keeping previous in-memory teams.");
-            getLogger().severe("Reason: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            try {
+                TeamService fresh = new SimpleTeamService(this, storage);
+                storage.loadAll(fresh);
+                this.teams = fresh;
+                this.teamSyncRevision = -1L; // storage may have changed -> next SQL sync starts from a full snapshot
+
+                invites.purgeExpiredAll(System.currentTimeMillis());
+            } catch (Exception e) {
+                getLogger().severe("Reload failed while loading teams. Keeping previous in-memory teams.");
+                getLogger().severe("Reason: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
         }
 
         // reset dedupe state on reload to avoid “stuck” suppressions
@@ -380,6 +449,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         loadHomesBestEffort("reload");
 
         startInvitePurgeTask();
+        startTeamWriteBehind();
         startAutosaveTask();
         startSqlAutoRefreshTask();
 
@@ -403,6 +473,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         if (placeholderBridge == null) {
             placeholderBridge = new PlaceholderBridge(this);
         }
+        placeholderBridge.cache().reload();
         if (!placeholdersHooked) {
             placeholderBridge.hookAll();
             placeholdersHooked = true;
@@ -491,10 +562,21 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
         // ✅ MUST load jedis runtime libs BEFORE any Redis classes run
         loadRedisLibsIfNeeded(sec);
-        RedisInviteToggleSnapshot.loadAsync(this, sec);
 
         try {
-            this.teamChatBus = new RedisTeamChatBus(this, sec, networkServerName);
+            this.redis = new RedisConnections(this, sec);
+        } catch (Exception e) {
+            this.redis = null;
+            getLogger().warning("Failed to create Redis connection pool: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            return;
+        }
+
+        this.redisMux = new RedisSubscriptionMux(this, redis);
+
+        RedisInviteToggleSnapshot.loadAsync(this, redis);
+
+        try {
+            this.teamChatBus = new RedisTeamChatBus(this, redis, redisMux, networkServerName);
             this.teamChatBus.start();
         } catch (Exception e) {
             this.teamChatBus = null;
@@ -502,7 +584,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         }
 
         try {
-            this.inviteBus = new RedisInviteBus(this, sec, networkServerName);
+            this.inviteBus = new RedisInviteBus(this, redis, redisMux, networkServerName);
             this.inviteBus.start();
         } catch (Exception e) {
             this.inviteBus = null;
@@ -510,7 +592,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         }
 
         try {
-            this.teamEventBus = new RedisTeamEventBus(this, sec, networkServerName);
+            this.teamEventBus = new RedisTeamEventBus(this, redis, redisMux, networkServerName);
             this.teamEventBus.start();
         } catch (Exception e) {
             this.teamEventBus = null;
@@ -518,7 +600,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         }
 
         try {
-            this.presenceBus = new RedisPresenceBus(this, sec, networkServerName);
+            this.presenceBus = new RedisPresenceBus(this, redis, redisMux, networkServerName);
             this.presenceBus.start();
         } catch (Exception e) {
             this.presenceBus = null;
@@ -527,12 +609,15 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
         // ✅ TeamHome bus (only useful when homes.proxy_mode=true)
         try {
-            this.teamHomeBus = new RedisTeamHomeBus(this, sec, networkServerName);
+            this.teamHomeBus = new RedisTeamHomeBus(this, redis, redisMux, networkServerName);
             this.teamHomeBus.start();
         } catch (Exception e) {
             this.teamHomeBus = null;
             getLogger().warning("Failed to start Redis team home bus: " + e.getClass().getSimpleName() + ": " + e.getMessage());
         }
+
+        // ✅ Subscribe once all bus handlers are registered
+        redisMux.start();
     }
 
     private void stopRedisNetwork() {
@@ -565,6 +650,20 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         if (thb != null) {
             try { thb.stop(); } catch (Exception ignored) {}
         }
+
+        RedisSubscriptionMux mux = this.redisMux;
+        this.redisMux = null;
+        if (mux != null) {
+            if (debug != null) debug.log("redis subscriber stopping: " + mux.statsLine());
+            try { mux.stop(); } catch (Exception ignored) {}
+        }
+
+        RedisConnections rc = this.redis;
+        this.redis = null;
+        if (rc != null) {
+            if (debug != null) debug.log("redis pool closing: " + rc.statsLine());
+            rc.close();
+        }
     }
 
     /**
@@ -625,7 +724,30 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         if (packet == null) return;
         TeamEventBus bus = this.teamEventBus;
         if (bus == null || !bus.isRunning()) return;
-        bus.publish(packet);
+        bus.publish(stampTeamEvent(packet));
+    }
+
+    /**
+     * ✅ Stamps the per-team sequence of this backend plus the team state after the event
+     * (owner / friendly fire), so receivers can apply it without reading SQL.
+     * Called on the main thread right after the mutation, so sequence order == mutation order.
+     */
+    private TeamEventPacket stampTeamEvent(TeamEventPacket packet) {
+        if (packet.isSequenced()) return packet;
+
+        long seq = outboundTeamEventSeq
+                .computeIfAbsent(packet.teamId(), __ -> new AtomicLong())
+                .incrementAndGet();
+
+        Team t = (teams == null) ? null : teams.getTeamById(packet.teamId()).orElse(null);
+        UUID owner = (t == null) ? null : t.getOwner();
+        Boolean ff = (t == null) ? null : t.isFriendlyFireEnabled();
+
+        if (packet.type() == TeamEventPacket.Type.TEAM_DISBANDED) {
+            outboundTeamEventSeq.remove(packet.teamId());
+        }
+
+        return packet.withState(teamEventEpoch, seq, owner, ff);
     }
 
     public void markPresenceOnline(Player p) {
@@ -659,6 +781,11 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
             ensureTeamFreshFromSql(pkt.inviterUuid());
         } catch (Throwable ignored) {}
 
+        // ✅ the invitee's cached SQL invite list is stale now (reloaded off-thread if they're here)
+        if (teams instanceof net.chumbucket.sorekillteams.service.SimpleTeamService simple) {
+            simple.invalidateSqlInvites(pkt.inviteeUuid());
+        }
+
         Player invitee = Bukkit.getPlayer(pkt.inviteeUuid());
         Player inviter = Bukkit.getPlayer(pkt.inviterUuid());
 
@@ -722,6 +849,79 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
     // ✅ Remote TeamEvent de-dupe (prevents double-processing)
     // =========================================================
     private final ConcurrentHashMap<String, Long> recentTeamEvents = new ConcurrentHashMap<>();
+
+    // ✅ Team event sequencing (per origin boot epoch + team)
+    private final long teamEventEpoch = System.currentTimeMillis();
+    private final ConcurrentHashMap<UUID, AtomicLong> outboundTeamEventSeq = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, long[]> inboundTeamEventSeq = new ConcurrentHashMap<>(); // {lastSeq, lastSeenMs}
+
+    private enum SeqVerdict { IN_ORDER, FIRST, GAP, STALE, UNSEQUENCED }
+
+    private SeqVerdict acceptTeamEventSeq(TeamEventPacket pkt) {
+        if (!pkt.isSequenced()) return SeqVerdict.UNSEQUENCED;
+
+        long now = System.currentTimeMillis();
+        String key = pkt.originServer().toLowerCase(Locale.ROOT) + "|" + pkt.epoch() + "|" + pkt.teamId();
+
+        long[] state = inboundTeamEventSeq.get(key);
+        SeqVerdict verdict;
+
+        if (state == null) {
+            inboundTeamEventSeq.put(key, new long[]{pkt.seq(), now});
+            verdict = SeqVerdict.FIRST;
+        } else if (pkt.seq() <= state[0]) {
+            verdict = SeqVerdict.STALE;
+        } else {
+            verdict = (pkt.seq() == state[0] + 1L) ? SeqVerdict.IN_ORDER : SeqVerdict.GAP;
+            state[0] = pkt.seq();
+            state[1] = now;
+        }
+
+        if ((now & 63) == 0) {
+            long killBefore = now - 3_600_000L;
+            inboundTeamEventSeq.entrySet().removeIf(e -> e.getValue()[1] < killBefore);
+        }
+
+        return verdict;
+    }
+
+    /**
+     * ✅ Re-reads ONE team from SQL (sequence gap / unsequenced legacy event).
+     * Delayed slightly so the origin's write-behind flush has landed.
+     */
+    private void refreshTeamFromSqlLater(UUID teamId) {
+        if (teamId == null) return;
+        if ("yaml".equalsIgnoreCase(storageTypeActive)) return;
+        if (!(teams instanceof SimpleTeamService simple)) return;
+        if (!(storage instanceof SqlTeamStorage sqlStorage)) return;
+
+        long delayMs = Math.max(0L, getConfig().getLong("redis.team_events.gap_fetch_delay_ms", 500L));
+        final long readStartedAt = simple.localWriteClock();
+
+        getServer().getScheduler().runTaskLaterAsynchronously(this, () -> {
+            Team loaded;
+            try {
+                loaded = sqlStorage.loadTeamById(teamId);
+            } catch (Exception e) {
+                getLogger().warning("SQL team refresh failed for " + teamId + ": " +
+                        e.getClass().getSimpleName() + ": " + e.getMessage());
+                return;
+            }
+
+            getServer().getScheduler().runTask(this, () -> {
+                if (teams != simple) return;
+                // our own unflushed write is newer than this row; it reaches SQL (and peers) on flush
+                if (!simple.isSqlRefreshSafe(teamId, readStartedAt)) return;
+
+                if (loaded == null) simple.evictCachedTeam(teamId);
+                else simple.applyTeamChanges(java.util.List.of(loaded), java.util.List.of());
+
+                if (menuRouter != null) {
+                    try { menuRouter.refreshTeamMenusForLocalViewers(teamId); } catch (Throwable ignored) {}
+                }
+            });
+        }, Math.max(0L, delayMs / 50L));
+    }
     private final ConcurrentHashMap<UUID, Long> recentKickNotifies = new ConcurrentHashMap<>();
 
     private long teamEventDedupeWindowMs() {
@@ -738,7 +938,8 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
                 pkt.type().name() + "|" +
                         pkt.teamId() + "|" +
                         String.valueOf(pkt.actorUuid()) + "|" +
-                        String.valueOf(pkt.targetUuid());
+                        String.valueOf(pkt.targetUuid()) +
+                        (pkt.isSequenced() ? "|" + pkt.originServer() + "|" + pkt.epoch() + "|" + pkt.seq() : "");
 
         Long prev = recentTeamEvents.get(key);
         if (prev != null) {
@@ -798,29 +999,30 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
             return;
         }
 
-        // Refresh team snapshot / membership caches (best-effort)
+        // ✅ Apply the carried state directly; SQL is only touched for ONE team on a sequence gap
         try {
-            ensureTeamsSnapshotFreshFromSql();
-            if (pkt.actorUuid() != null) ensureTeamFreshFromSql(pkt.actorUuid());
-            if (pkt.targetUuid() != null) ensureTeamFreshFromSql(pkt.targetUuid());
+            SeqVerdict verdict = acceptTeamEventSeq(pkt);
+            boolean cached = teams != null && teams.getTeamById(pkt.teamId()).isPresent();
+
+            if (verdict != SeqVerdict.STALE && teams instanceof SimpleTeamService simple) {
+                simple.applyRemoteTeamEvent(pkt);
+            }
+
+            boolean needsFetch = switch (verdict) {
+                case GAP, UNSEQUENCED -> true;
+                case FIRST -> !cached;
+                default -> false;
+            };
+            if (needsFetch && pkt.type() != TeamEventPacket.Type.TEAM_DISBANDED) {
+                refreshTeamFromSqlLater(pkt.teamId());
+            }
         } catch (Throwable ignored) {}
 
+        // ✅ Homes events patch only the affected team (key-only deletes need no storage read)
         try {
-            applyRemoteTeamEventToLocalCache(pkt);
+            applyRemoteHomeEvent(pkt);
         } catch (Throwable ignored) {}
 
-        // ✅ Homes events require homes snapshot refresh so menus render correct state
-        boolean isHomeEvent =
-                pkt.type() == TeamEventPacket.Type.HOME_SET
-                        || pkt.type() == TeamEventPacket.Type.HOME_DELETED
-                        || pkt.type() == TeamEventPacket.Type.HOME_CLEARED;
-
-        if (isHomeEvent) {
-            try {
-                loadHomesBestEffort("remote_team_event:" + pkt.type().name());
-            } catch (Throwable ignored) {}
-        }
-
         final String key;
         final String[] pairs;
 
@@ -889,8 +1091,8 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
                 }
             }
 
-            // ✅ Home events: no broadcast by default (menus still refresh)
-            case HOME_SET, HOME_DELETED, HOME_CLEARED -> {
+            // ✅ Home / FF events: no broadcast by default (menus still refresh)
+            case HOME_SET, HOME_DELETED, HOME_CLEARED, FRIENDLY_FIRE_CHANGED -> {
                 key = null;
                 pairs = null;
             }
@@ -910,7 +1112,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
             Bukkit.getScheduler().runTask(this, () -> {
                 try {
                     switch (pkt.type()) {
-                        case MEMBER_LEFT, MEMBER_JOINED, OWNER_TRANSFERRED, TEAM_RENAMED -> {
+                        case MEMBER_LEFT, MEMBER_JOINED, OWNER_TRANSFERRED, TEAM_RENAMED, FRIENDLY_FIRE_CHANGED -> {
                             menuRouter.refreshTeamMenusForLocalViewers(teamId);
                         }
                         case MEMBER_KICKED -> {
@@ -940,59 +1142,6 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         }
     }
 
-    private void applyRemoteTeamEventToLocalCache(TeamEventPacket pkt) {
-        if (pkt == null) return;
-        if (pkt.teamId() == null) return;
-
-        if (!(teams instanceof SimpleTeamService)) return;
-
-        Team t = teams.getTeamById(pkt.teamId()).orElse(null);
-        if (t == null) return;
-
-        UUID target = pkt.targetUuid();
-
-        switch (pkt.type()) {
-            case MEMBER_JOINED -> {
-                if (target != null && t.getMembers() != null && !t.getMembers().contains(target)) {
-                    t.getMembers().add(target);
-                }
-            }
-            case MEMBER_LEFT, MEMBER_KICKED -> {
-                if (target != null && t.getMembers() != null) {
-                    t.getMembers().remove(target);
-                }
-            }
-            case OWNER_TRANSFERRED -> {
-                if (target != null) {
-                    t.setOwner(target);
-                    if (t.getMembers() != null && !t.getMembers().contains(target)) t.getMembers().add(target);
-                }
-            }
-            case TEAM_RENAMED -> {
-                if (pkt.teamName() != null && !pkt.teamName().isBlank()) {
-                    t.setName(pkt.teamName());
-                }
-            }
-            default -> {
-                return;
-            }
-        }
-
-        // Ensure owner is always present + de-dupe members (MenuTeams expects clean lists)
-        if (t.getMembers() == null) return;
-
-        UUID owner = t.getOwner();
-        if (owner != null && !t.getMembers().contains(owner)) {
-            t.getMembers().add(owner);
-        }
-
-        // de-dupe in-place, preserve order
-        java.util.LinkedHashSet<UUID> set = new java.util.LinkedHashSet<>();
-        for (UUID u : t.getMembers()) if (u != null) set.add(u);
-        t.getMembers().clear();
-        t.getMembers().addAll(set);
-    }
-
     private void broadcastToLocalOnlineMembersOfTeam(UUID teamId,
                                                      String messageKey,
                                                      String[] pairs,
@@ -1000,12 +1149,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         if (teamId == null || messageKey == null || messageKey.isBlank()) return;
         if (teams == null) return;
 
-        for (Player p : Bukkit.getOnlinePlayers()) {
-            if (p == null) continue;
-
-            UUID u = p.getUniqueId();
-            if (u == null) continue;
-
+        for (UUID u : teams.getLocalOnlineMembers(teamId)) {
             if (exclude != null) {
                 boolean skip = false;
                 for (UUID ex : exclude) {
@@ -1014,9 +1158,8 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
                 if (skip) continue;
             }
 
-            Team t = teams.getTeamByPlayer(u).orElse(null);
-            if (t == null) continue;
-            if (!teamId.equals(t.getId())) continue;
+            Player p = Bukkit.getPlayer(u);
+            if (p == null) continue;
 
             msg().send(p, messageKey, pairs);
         }
@@ -1031,6 +1174,10 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
         try { ensureTeamFreshFromSql(pkt.playerUuid()); } catch (Throwable ignored) {}
 
+        if (teams != null) {
+            teams.markRemotePresence(pkt.playerUuid(), pkt.originServer(), pkt.type() == PresencePacket.Type.ONLINE);
+        }
+
         if (!shouldBroadcastPresence(pkt)) {
             if (debug != null && debug.enabled()) {
                 getLogger().info("[PRESENCE-DBG] suppressed " + pkt.type()
@@ -1055,6 +1202,12 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         broadcastPresenceToLocalTeammates(team.getId(), pkt);
     }
 
+    /** Periodic network snapshot (player -> server, excluding this server). */
+    public void onPresenceSnapshot(Map<UUID, String> remoteOnline) {
+        if (teams == null) return;
+        teams.resetRemotePresence(remoteOnline);
+    }
+
     private boolean shouldBroadcastPresence(PresencePacket pkt) {
         UUID uuid = pkt.playerUuid();
         long now = System.currentTimeMillis();
@@ -1111,15 +1264,11 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         if (teamId == null || key == null || key.isBlank()) return;
         if (teams == null) return;
 
-        for (Player p : Bukkit.getOnlinePlayers()) {
-            if (p == null) continue;
-            UUID u = p.getUniqueId();
-            if (u == null) continue;
+        for (UUID u : teams.getLocalOnlineMembers(teamId)) {
             if (exclude != null && exclude.equals(u)) continue;
 
-            Team t = teams.getTeamByPlayer(u).orElse(null);
-            if (t == null || t.getId() == null) continue;
-            if (!teamId.equals(t.getId())) continue;
+            Player p = Bukkit.getPlayer(u);
+            if (p == null) continue;
 
             msg().send(p, key, pairs);
         }
@@ -1141,19 +1290,15 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         Team t = teams.getTeamById(teamId).orElse(null);
         if (t == null) return;
 
-        boolean debugChat = getConfig().getBoolean("chat.debug", false);
+        final Settings.Chat chatCfg = settings.chat();
+        boolean debugChat = chatCfg.debug();
 
         String msgOut = formattedMessage;
         if (debugChat) msgOut = msgOut + Msg.color(" &8[&bREMOTE&8]");
 
         java.util.HashSet<UUID> sent = new java.util.HashSet<>();
 
-        java.util.LinkedHashSet<UUID> targets = new java.util.LinkedHashSet<>();
-        if (t.getOwner() != null) targets.add(t.getOwner());
-        if (t.getMembers() != null) targets.addAll(t.getMembers());
-
-        for (UUID u : targets) {
-            if (u == null) continue;
+        for (UUID u : teams.getLocalOnlineMembers(teamId)) {
             if (u.equals(senderUuid)) continue;
 
             Player p = Bukkit.getPlayer(u);
@@ -1163,8 +1308,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
             }
         }
 
-        final boolean spyEnabled = getConfig().getBoolean("chat.spy.enabled", true);
-        if (!spyEnabled) return;
+        if (!chatCfg.spyEnabled()) return;
 
         final String spyPerm = "sorekillteams.spy";
 
@@ -1258,9 +1402,18 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
             return;
         }
 
-        // Best-effort ensure homes are loaded
-        try { loadHomesBestEffort("pending_home_teleport"); } catch (Throwable ignored) {}
+        // Pull this team's homes off-thread (the home may have been set on another backend just now)
+        // (completes on the main thread, never exceptionally)
+        refreshTeamHomesAsync(pkt.teamId()).thenRun(() -> finishPendingHomeTeleport(p, pending));
+    }
+
+    private void finishPendingHomeTeleport(Player p, PendingHomeTeleport pending) {
+        if (p == null || !p.isOnline()) return;
+
+        // consumed or replaced while the homes were loading
+        if (pendingHomeTeleports.get(p.getUniqueId()) != pending) return;
 
+        TeamHomeTeleportPacket pkt = pending.pkt;
         TeamHomeService hs = this.teamHomes;
         if (hs == null) {
             pendingHomeTeleports.remove(p.getUniqueId());
@@ -1292,14 +1445,13 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         // Consume BEFORE teleport to avoid double-fire if join triggers multiple times
         pendingHomeTeleports.remove(p.getUniqueId());
 
-        try {
-            p.teleport(dest);
-            p.playSound(p.getLocation(), TELEPORT_SOUND, 1.0f, 1.0f);
+        // ✅ async chunk load on Paper; if teleport fails, don’t re-add pending (avoid loops)
+        AsyncTeleport.teleport(p, dest).whenComplete((ok, err) -> {
+            if (err != null || !Boolean.TRUE.equals(ok) || !p.isOnline()) return;
 
+            p.playSound(p.getLocation(), TELEPORT_SOUND, 1.0f, 1.0f);
             msg().send(p, "team_home_teleported", "{home}", safe(h.getDisplayName(), safe(h.getName(), "home")));
-        } catch (Throwable t) {
-            // If teleport fails, don’t re-add pending (avoid loops)
-        }
+        });
     }
 
     private final class PendingHomeTeleportListener implements Listener {
@@ -1565,8 +1717,164 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         }
     }
 
+    private void runAsyncOrInline(Runnable r) {
+        try {
+            getServer().getScheduler().runTaskAsynchronously(this, r);
+        } catch (Exception e) {
+            r.run(); // plugin disabling: scheduler refuses new tasks
+        }
+    }
+
     private TeamHomeService buildTeamHomeService() {
-        return new SimpleTeamHomeService();
+        SimpleTeamHomeService s = new SimpleTeamHomeService();
+        s.setChangeListener(teamId -> {
+            if (teamId == null) bumpStateVersion();
+            else bumpTeamVersion(teamId);
+        });
+        return s;
+    }
+
+    /**
+     * ✅ Applies a remote HOME_* event to the local home cache for that one team:
+     * deletes (keyed by the home name) / clears are patched in place, anything else reloads just that team off-thread.
+     */
+    private void applyRemoteHomeEvent(TeamEventPacket pkt) {
+        if (teamHomes == null || pkt.teamId() == null) return;
+
+        switch (pkt.type()) {
+            case HOME_DELETED -> {
+                // targetName is the raw home name; the key is derived exactly as the sender did
+                String key = CommandUtil.normalizeHomeName(pkt.targetName());
+                if (key.isBlank()) refreshTeamHomesAsync(pkt.teamId());
+                else teamHomes.removeLoadedHome(pkt.teamId(), key);
+            }
+            case HOME_CLEARED -> teamHomes.replaceLoadedTeam(pkt.teamId(), List.of());
+            case HOME_SET -> refreshTeamHomesAsync(pkt.teamId());
+            default -> { /* not a home event */ }
+        }
+    }
+
+    /**
+     * ✅ Reloads one team's homes from storage off the main thread and swaps them in on the main thread.
+     * Team menus are refreshed only when something actually changed.
+     *
+     * @return completes with true if the cache changed (never exceptionally; failures are logged)
+     */
+    public CompletableFuture<Boolean> refreshTeamHomesAsync(UUID teamId) {
+        return refreshTeamHomesAsync(teamId, 1);
+    }
+
+    private CompletableFuture<Boolean> refreshTeamHomesAsync(UUID teamId, int attempt) {
+        final TeamHomeStorage hs = this.teamHomeStorage;
+        final TeamHomeService hv = this.teamHomes;
+        if (teamId == null || hs == null || hv == null) return CompletableFuture.completedFuture(false);
+
+        CompletableFuture<Boolean> out = new CompletableFuture<>();
+        final long writeSeqAtStart = homeWriteSeqByTeam.getOrDefault(teamId, 0L);
+
+        hs.loadTeamAsync(teamId, asyncExecutor).whenComplete((loaded, err) ->
+                Bukkit.getScheduler().runTask(this, () -> {
+                    if (err != null) {
+                        Throwable cause = (err instanceof CompletionException && err.getCause() != null) ? err.getCause() : err;
+                        getLogger().warning("Failed to load team homes for " + teamId + ": " +
+                                cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                        out.complete(false);
+                        return;
+                    }
+
+                    // storage/service rewired meanwhile -> drop this result
+                    if (teamHomeStorage != hs || teamHomes != hv) {
+                        out.complete(false);
+                        return;
+                    }
+
+                    // a local write to this team raced the read: the cache has our newer state, but the
+                    // remote change that asked for this reload may not -> read again once our write landed
+                    if (homeWriteSeqByTeam.getOrDefault(teamId, 0L) != writeSeqAtStart || homeWritesInFlight.containsKey(teamId)) {
+                        if (attempt >= HOME_RELOAD_MAX_ATTEMPTS) {
+                            out.complete(false);
+                        } else if (homeWritesInFlight.containsKey(teamId)) {
+                            homeReloadsAfterWrites.computeIfAbsent(teamId, k -> new ArrayList<>()).add(out);
+                        } else {
+                            refreshTeamHomesAsync(teamId, attempt + 1).thenAccept(out::complete);
+                        }
+                        return;
+                    }
+
+                    boolean changed = hv.replaceLoadedTeam(teamId, loaded);
+                    if (changed && menuRouter != null) {
+                        try { menuRouter.refreshTeamMenusForLocalViewers(teamId); } catch (Throwable ignored) {}
+                    }
+                    out.complete(changed);
+                }));
+
+        return out;
+    }
+
+    /**
+     * ✅ Writes one home (already applied to the cache) to storage off-thread.
+     * Writes for the same team run one after another in call order.
+     * Completes on the main thread; exceptional completion carries the storage error.
+     */
+    public CompletableFuture<Void> upsertHomeAsync(TeamHome home) {
+        final TeamHomeStorage hs = this.teamHomeStorage;
+        if (home == null || hs == null) return CompletableFuture.completedFuture(null);
+        return trackHomeWrite(home.getTeamId(), home.getName(), () -> hs.upsertHomeAsync(home, asyncExecutor));
+    }
+
+    /** ✅ Deletes one home (already removed from the cache) from storage off-thread, ordered like {@link #upsertHomeAsync}. */
+    public CompletableFuture<Void> deleteHomeAsync(UUID teamId, String homeKey) {
+        final TeamHomeStorage hs = this.teamHomeStorage;
+        if (teamId == null || hs == null) return CompletableFuture.completedFuture(null);
+        return trackHomeWrite(teamId, homeKey, () -> hs.deleteHomeAsync(teamId, homeKey, asyncExecutor));
+    }
+
+    /**
+     * Chains the write behind the team's previous one (a quick sethome + delhome must commit in that
+     * order) and keeps per-team reloads from overwriting a local write that hasn't reached storage yet.
+     * The key is taken out of the home service's pending sets: this write is its only persistence path
+     * unless it fails, in which case it goes back to the next save.
+     */
+    private CompletableFuture<Void> trackHomeWrite(UUID teamId, String homeKey, Supplier<CompletableFuture<Void>> startWrite) {
+        final SimpleTeamHomeService pendingOwner = (teamHomes instanceof SimpleTeamHomeService shs) ? shs : null;
+        if (pendingOwner != null) pendingOwner.takePending(teamId, homeKey);
+
+        homeWriteSeqByTeam.merge(teamId, 1L, Long::sum);
+        homeWritesInFlight.merge(teamId, 1, Integer::sum);
+
+        // a failed predecessor must not block the rest of the chain
+        CompletableFuture<Void> prev = homeWriteTails.getOrDefault(teamId, CompletableFuture.completedFuture(null));
+        CompletableFuture<Void> write = prev.handle((v, err) -> null).thenCompose(__ -> startWrite.get());
+        homeWriteTails.put(teamId, write);
+
+        CompletableFuture<Void> out = new CompletableFuture<>();
+        write.whenComplete((v, err) -> Bukkit.getScheduler().runTask(this, () -> {
+            homeWriteTails.remove(teamId, write);
+            homeWriteSeqByTeam.merge(teamId, 1L, Long::sum);
+            homeWritesInFlight.computeIfPresent(teamId, (k, n) -> (n <= 1) ? null : n - 1);
+
+            if (!homeWritesInFlight.containsKey(teamId)) {
+                List<CompletableFuture<Boolean>> waiting = homeReloadsAfterWrites.remove(teamId);
+                if (waiting != null) {
+                    refreshTeamHomesAsync(teamId, HOME_RELOAD_MAX_ATTEMPTS).thenAccept(changed -> {
+                        for (CompletableFuture<Boolean> w : waiting) w.complete(changed);
+                    });
+                }
+            }
+
+            if (err == null) {
+                out.complete(null);
+            } else {
+                if (pendingOwner != null && teamHomes == pendingOwner) pendingOwner.restorePending(teamId, homeKey);
+                out.completeExceptionally((err instanceof CompletionException && err.getCause() != null) ? err.getCause() : err);
+            }
+        }));
+        return out;
+    }
+
+    /** Bukkit async scheduler as an Executor (runs inline once the plugin is disabling). */
+    public Executor asyncExecutor() {
+        return asyncExecutor;
     }
 
     public void loadHomesBestEffort(String phase) {
@@ -1585,8 +1893,18 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
     private final ConcurrentHashMap<UUID, Long> lastSqlMembershipCheckMs = new ConcurrentHashMap<>();
     private final AtomicBoolean snapshotRefreshInFlight = new AtomicBoolean(false);
+    private final AtomicBoolean membershipRefreshInFlight = new AtomicBoolean(false);
     private volatile long lastSnapshotRefreshMs = 0L;
 
+    // ✅ Delta sync cursor: last SQL team revision applied to the local cache (-1 = unknown -> full reload)
+    private volatile long teamSyncRevision = -1L;
+    private volatile long lastTeamSyncOkMs = 0L;
+
+    /**
+     * ✅ Pulls team changes newer than our cursor and patches the cache in place.
+     * Full snapshot reload only when the cursor is unknown, stale beyond tombstone retention,
+     * or another backend did a full rewrite.
+     */
     public void ensureTeamsSnapshotFreshFromSql() {
         if ("yaml".equalsIgnoreCase(storageTypeActive)) return;
 
@@ -1599,11 +1917,18 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
         if (!snapshotRefreshInFlight.compareAndSet(false, true)) return;
 
+        long since = teamSyncRevision;
+        if (since >= 0L && now - lastTeamSyncOkMs > SqlTeamStorage.TOMBSTONE_RETENTION_MS / 2L) {
+            since = -1L;
+        }
+        final long sinceRevision = since;
+        final long readStartedAt = simple.localWriteClock();
+
         getServer().getScheduler().runTaskAsynchronously(this, () -> {
-            Collection<Team> loaded;
+            SqlTeamStorage.ChangeSet changes;
 
             try {
-                loaded = sqlStorage.loadAllTeamsSnapshot();
+                changes = sqlStorage.loadChangesSince(sinceRevision);
             } catch (Exception e) {
                 getLogger().warning("SQL snapshot refresh failed: " +
                         e.getClass().getSimpleName() + ": " + e.getMessage());
@@ -1613,8 +1938,30 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
             getServer().getScheduler().runTask(this, () -> {
                 try {
-                    simple.replaceTeamsSnapshot(loaded);
-                    lastSnapshotRefreshMs = System.currentTimeMillis();
+                    // storage/service rewired meanwhile -> drop this result
+                    if (teams != simple || storage != sqlStorage) return;
+
+                    if (changes.full()) {
+                        // local writes SQL has not seen yet are laid back over the snapshot
+                        simple.applyFullSnapshot(changes.teams(), readStartedAt);
+                    } else if (!changes.teams().isEmpty() || !changes.deleted().isEmpty()) {
+                        // skipped teams come back with a newer revision once our own write lands
+                        List<Team> upserts = new ArrayList<>(changes.teams().size());
+                        for (Team t : changes.teams()) {
+                            if (t != null && simple.isSqlRefreshSafe(t.getId(), readStartedAt)) upserts.add(t);
+                        }
+                        // tombstones always apply: a disband elsewhere outranks local writes
+                        simple.applyTeamChanges(upserts, changes.deleted());
+                    }
+
+                    teamSyncRevision = changes.revision();
+                    lastTeamSyncOkMs = System.currentTimeMillis();
+                    lastSnapshotRefreshMs = lastTeamSyncOkMs;
+
+                    if (debug != null && (changes.full() || !changes.teams().isEmpty() || !changes.deleted().isEmpty())) {
+                        debug.log("team sync rev=" + changes.revision() + (changes.full() ? " FULL" : "")
+                                + " teams=" + changes.teams().size() + " deleted=" + changes.deleted().size());
+                    }
                 } finally {
                     snapshotRefreshInFlight.set(false);
                 }
@@ -1633,7 +1980,13 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
         long last = lastSqlMembershipCheckMs.getOrDefault(playerUuid, 0L);
         if (now - last < ttlMs) return;
+
+        // local change to the player's team not in SQL yet -> SQL would only show the old state
+        final UUID cachedAtStart = simple.getTeamByPlayer(playerUuid).map(Team::getId).orElse(null);
+        if (simple.hasUnflushedWrites(cachedAtStart)) return;
+
         lastSqlMembershipCheckMs.put(playerUuid, now);
+        final long readStartedAt = simple.localWriteClock();
 
         getServer().getScheduler().runTaskAsynchronously(this, () -> {
             UUID sqlTeamId;
@@ -1658,10 +2011,17 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
             Team finalLoadedTeam = loadedTeam;
 
             getServer().getScheduler().runTask(this, () -> {
+                if (teams != simple) return;
+
                 UUID currentCached = simple.getTeamByPlayer(playerUuid).map(Team::getId).orElse(null);
 
                 if (Objects.equals(currentCached, finalSqlTeamId)) return;
 
+                // membership changed locally while we read, or either team has writes SQL hasn't seen
+                if (!Objects.equals(currentCached, cachedAtStart)) return;
+                if (!simple.isSqlRefreshSafe(currentCached, readStartedAt)) return;
+                if (!simple.isSqlRefreshSafe(finalSqlTeamId, readStartedAt)) return;
+
                 if (finalSqlTeamId == null) {
                     simple.clearCachedMembership(playerUuid);
                     return;
@@ -1681,6 +2041,104 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         ensureTeamFreshFromSql(player.getUniqueId());
     }
 
+    /**
+     * ✅ Batched membership refresh for every online player (auto-refresh tick).
+     * One {@code member_uuid IN (...)} lookup resolves everyone, then only the teams of players whose
+     * SQL membership differs from the cache are fetched, in one multi-team load.
+     * The per-player {@link #ensureTeamFreshFromSql(UUID)} stays for event-driven refreshes.
+     */
+    public void refreshOnlineMembershipsFromSql() {
+        if ("yaml".equalsIgnoreCase(storageTypeActive)) return;
+        if (!(teams instanceof SimpleTeamService simple)) return;
+        if (!(storage instanceof SqlTeamStorage sqlStorage)) return;
+
+        if (membershipRefreshInFlight.get()) return;
+
+        // cached team per player, captured on main before the read (null value = no team)
+        Map<UUID, UUID> cachedAtStart = new HashMap<>();
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            if (p == null) continue;
+            UUID u = p.getUniqueId();
+            UUID cached = simple.getTeamByPlayer(u).map(Team::getId).orElse(null);
+            if (simple.hasUnflushedWrites(cached)) continue; // SQL can't know about it yet
+            cachedAtStart.put(u, cached);
+        }
+        if (cachedAtStart.isEmpty()) return;
+
+        final List<UUID> online = new ArrayList<>(cachedAtStart.keySet());
+        final long readStartedAt = simple.localWriteClock();
+
+        if (!membershipRefreshInFlight.compareAndSet(false, true)) return;
+
+        getServer().getScheduler().runTaskAsynchronously(this, () -> {
+            Map<UUID, UUID> sqlTeamByPlayer;
+            Map<UUID, Team> loadedById = new HashMap<>();
+            List<UUID> changed = new ArrayList<>();
+
+            try {
+                sqlTeamByPlayer = sqlStorage.findTeamIdsForMembers(online);
+
+                Set<UUID> teamIdsToLoad = new HashSet<>();
+                for (UUID u : online) {
+                    UUID sqlTeamId = sqlTeamByPlayer.get(u);
+                    if (Objects.equals(cachedAtStart.get(u), sqlTeamId)) continue;
+
+                    changed.add(u);
+                    if (sqlTeamId != null) teamIdsToLoad.add(sqlTeamId);
+                }
+
+                if (!teamIdsToLoad.isEmpty()) {
+                    for (Team t : sqlStorage.loadTeamsByIds(teamIdsToLoad)) {
+                        loadedById.put(t.getId(), t);
+                    }
+                }
+            } catch (Exception e) {
+                getLogger().warning("SQL membership refresh failed: " +
+                        e.getClass().getSimpleName() + ": " + e.getMessage());
+                membershipRefreshInFlight.set(false);
+                return;
+            }
+
+            if (changed.isEmpty()) {
+                membershipRefreshInFlight.set(false);
+                return;
+            }
+
+            getServer().getScheduler().runTask(this, () -> {
+                try {
+                    // storage/service rewired meanwhile -> drop this result
+                    if (teams != simple || storage != sqlStorage) return;
+
+                    Set<UUID> applied = new HashSet<>();
+                    for (UUID u : changed) {
+                        UUID sqlTeamId = sqlTeamByPlayer.get(u);
+                        UUID cached = simple.getTeamByPlayer(u).map(Team::getId).orElse(null);
+                        if (Objects.equals(cached, sqlTeamId)) continue;
+
+                        // membership changed locally during the read, or either team has writes SQL hasn't seen
+                        if (!Objects.equals(cached, cachedAtStart.get(u))) continue;
+                        if (!simple.isSqlRefreshSafe(cached, readStartedAt)) continue;
+                        if (!simple.isSqlRefreshSafe(sqlTeamId, readStartedAt)) continue;
+
+                        Team loaded = (sqlTeamId == null) ? null : loadedById.get(sqlTeamId);
+                        if (loaded == null) {
+                            simple.clearCachedMembership(u);
+                        } else if (applied.add(sqlTeamId)) {
+                            simple.putLoadedTeam(loaded);
+                        }
+                    }
+
+                    if (debug != null) {
+                        debug.log("membership refresh online=" + online.size()
+                                + " changed=" + changed.size() + " teamsLoaded=" + loadedById.size());
+                    }
+                } finally {
+                    membershipRefreshInFlight.set(false);
+                }
+            });
+        });
+    }
+
     public void startSqlAutoRefreshTask() {
         stopSqlAutoRefreshTask();
 
@@ -1691,10 +2149,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         sqlRefreshTaskId = getServer().getScheduler().runTaskTimer(this, () -> {
             try {
                 ensureTeamsSnapshotFreshFromSql();
-                for (Player p : Bukkit.getOnlinePlayers()) {
-                    if (p == null) continue;
-                    ensureTeamFreshFromSql(p.getUniqueId());
-                }
+                refreshOnlineMembershipsFromSql();
             } catch (Throwable t) {
                 getLogger().warning("SQL auto-refresh task error: " + t.getClass().getSimpleName() + ": " + t.getMessage());
             }
@@ -1785,6 +2240,30 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         );
     }
 
+    private void startTeamWriteBehind() {
+        if (teamWriteBehind != null) return;
+        if (!getConfig().getBoolean("storage.write_behind.enabled", true)) return;
+
+        teamWriteBehind = new TeamWriteBehindQueue(this);
+        teamWriteBehind.start();
+    }
+
+    private void stopTeamWriteBehind(String reason) {
+        TeamWriteBehindQueue q = this.teamWriteBehind;
+        if (q == null) return;
+        this.teamWriteBehind = null;
+
+        long timeoutMs = Math.max(250L, getConfig().getLong("storage.write_behind.shutdown_timeout_ms", 10_000L));
+        int left = q.stop(timeoutMs);
+
+        if (left > 0) {
+            getLogger().warning("Team write-behind did not drain within " + timeoutMs + "ms (" + reason + "); "
+                    + left + " changes handed to the final save. " + q.statsLine());
+        } else if (debug != null) {
+            debug.log("write-behind stopped (" + reason + "): " + q.statsLine());
+        }
+    }
+
     private void startAutosaveTask() {
         stopTask(autosaveTaskId);
 
@@ -1813,9 +2292,8 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
             if (s != null && t != null) {
                 if (t instanceof SimpleTeamService simple) {
-                    if (simple.isDirty()) {
-                        s.saveAll(t);
-                    }
+                    // ✅ delta save: only teams changed since the last save
+                    simple.saveDirtyNow();
                 } else {
                     s.saveAll(t);
                 }
@@ -1849,9 +2327,8 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
             if (s != null && t != null) {
                 if (t instanceof SimpleTeamService simple) {
-                    if (simple.isDirty()) {
-                        s.saveAll(t);
-                    }
+                    // ✅ delta save: only teams changed since the last save
+                    simple.saveDirtyNow();
                 } else {
                     s.saveAll(t);
                 }
@@ -1876,6 +2353,30 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
         }
     }
 
+    /**
+     * Synchronously writes every pending team change of the current service.
+     * Waits for an in-flight autosave (shared save lock) instead of skipping like {@link #trySaveNowSync}.
+     *
+     * @return true if nothing is left unsaved
+     */
+    private boolean flushTeamsBeforeReload() {
+        TeamStorage s = this.storage;
+        TeamService t = this.teams;
+        if (s == null || t == null) return true;
+
+        try {
+            if (t instanceof SimpleTeamService simple) {
+                simple.saveDirtyNow();
+                return !simple.isDirty();
+            }
+            s.saveAll(t);
+            return true;
+        } catch (Exception e) {
+            getLogger().severe("Save failed (reload): " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
     private void stopTask(int taskId) {
         if (taskId < 0) return;
         try { getServer().getScheduler().cancelTask(taskId); }
@@ -1909,6 +2410,44 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
     public Menus menus() { return menus; }
     public Actionbar actionbar() { return actionbar; }
     public Debug debug() { return debug; }
+    public Settings settings() { return settings; }
+
+    public long stateVersion() { return stateVersion.get(); }
+
+    /** Scope unknown (reload, full snapshot): every cached placeholder goes stale. */
+    public void bumpStateVersion() {
+        long v = stateVersion.incrementAndGet();
+        globalStateVersion = v;
+        // stamps at or below the global one are redundant now
+        teamStateVersions.values().removeIf(x -> x <= v);
+        playerStateVersions.values().removeIf(x -> x <= v);
+    }
+
+    /** Something about this team changed (members, owner, name, homes, online count). */
+    public void bumpTeamVersion(UUID teamId) {
+        if (teamId == null) return;
+        teamStateVersions.put(teamId, stateVersion.incrementAndGet());
+        if (teamStateVersions.size() > MAX_STATE_VERSION_STAMPS) bumpStateVersion();
+    }
+
+    /** Something about this player changed (team membership, toggles). */
+    public void bumpPlayerVersion(UUID player) {
+        if (player == null) return;
+        playerStateVersions.put(player, stateVersion.incrementAndGet());
+        if (playerStateVersions.size() > MAX_STATE_VERSION_STAMPS) bumpStateVersion();
+    }
+
+    /**
+     * True when neither {@code player}, {@code teamId} (nullable) nor global state changed after
+     * {@code version} (a {@link #stateVersion()} read taken before the cached value was computed).
+     */
+    public boolean isStateUnchangedSince(UUID player, UUID teamId, long version) {
+        if (globalStateVersion > version) return false;
+        Long p = (player == null) ? null : playerStateVersions.get(player);
+        if (p != null && p > version) return false;
+        Long t = (teamId == null) ? null : teamStateVersions.get(teamId);
+        return t == null || t <= version;
+    }
 
     public MenuRouter menuRouter() { return menuRouter; }
 
@@ -1916,6 +2455,7 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
     public TeamService teams() { return teams; }
     public TeamStorage storage() { return storage; }
+    public TeamWriteBehindQueue teamWriteBehind() { return teamWriteBehind; }
 
     public TeamInvites invites() { return invites; }
 
@@ -1928,18 +2468,21 @@ public final class SorekillTeamsPlugin extends JavaPlugin {
 
     public RedisPresenceBus presenceBus() { return presenceBus; }
 
+    public RedisConnections redis() { return redis; }
+    public RedisSubscriptionMux redisMux() { return redisMux; }
+
     public TeamChatBus teamChatBus() { return teamChatBus; }
 
     public boolean isFriendlyFireToggleEnabled() {
-        return getConfig().getBoolean("friendly_fire.toggle_enabled", true);
+        return settings.friendlyFire().toggleEnabled();
     }
 
     public boolean isTeamChatToggleEnabled() {
-        return getConfig().getBoolean("chat.toggle_enabled", true);
+        return settings.chat().toggleEnabled();
     }
 
     public boolean isTeamChatEnabled() {
-        return getConfig().getBoolean("chat.enabled", true);
+        return settings.chat().enabled();
     }
 
     public boolean isTeamChatNetworkEnabled() {
@@ -84,6 +84,17 @@ public final class AdminCommand implements CommandExecutor {
 
                     if (debug) plugin.getLogger().info("[ADMIN-DBG] version by " + sender.getName());
                     plugin.msg().send(sender, "version", "{version}", plugin.getDescription().getVersion());
+
+                    // ✅ Connection pool stats (only when the Redis network is wired)
+                    if (plugin.redis() != null) {
+                        sender.sendMessage(Msg.color(plugin.msg().prefix() + "&7Redis pool: &f" + plugin.redis().statsLine()));
+                    }
+                    if (plugin.redisMux() != null) {
+                        sender.sendMessage(Msg.color(plugin.msg().prefix() + "&7Redis subscriber: &f" + plugin.redisMux().statsLine()));
+                    }
+                    if (plugin.placeholders() != null) {
+                        sender.sendMessage(Msg.color(plugin.msg().prefix() + "&7Placeholder cache: &f" + plugin.placeholders().cache().statsLine()));
+                    }
                     return true;
                 }
 
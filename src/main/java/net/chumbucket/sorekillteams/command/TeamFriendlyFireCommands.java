@@ -12,6 +12,7 @@ package net.chumbucket.sorekillteams.command;
 
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
 import net.chumbucket.sorekillteams.model.Team;
+import net.chumbucket.sorekillteams.service.SimpleTeamService;
 import net.chumbucket.sorekillteams.util.Msg;
 import org.bukkit.entity.Player;
 
@@ -72,11 +73,14 @@ public final class TeamFriendlyFireCommands implements TeamSubcommandModule {
             }
         }
 
-        t.setFriendlyFireEnabled(newValue);
-
         try {
-            if (plugin.storage() != null && plugin.teams() != null) {
-                plugin.storage().saveAll(plugin.teams());
+            if (plugin.teams() instanceof SimpleTeamService simple) {
+                simple.setTeamFriendlyFire(t.getId(), newValue, p.getUniqueId());
+            } else {
+                t.setFriendlyFireEnabled(newValue);
+                if (plugin.storage() != null && plugin.teams() != null) {
+                    plugin.storage().saveAll(plugin.teams());
+                }
             }
         } catch (Exception ignored) {}
 
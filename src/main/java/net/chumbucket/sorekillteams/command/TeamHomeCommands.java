@@ -6,6 +6,7 @@ import net.chumbucket.sorekillteams.model.TeamHome;
 import net.chumbucket.sorekillteams.network.TeamEventPacket;
 import net.chumbucket.sorekillteams.network.TeamHomeTeleportPacket;
 import net.chumbucket.sorekillteams.service.TeamHomeService;
+import net.chumbucket.sorekillteams.util.AsyncTeleport;
 import net.chumbucket.sorekillteams.util.Msg;
 import net.chumbucket.sorekillteams.util.TeamHomeCooldowns;
 import net.chumbucket.sorekillteams.util.TeamHomeWarmupManager;
@@ -14,6 +15,7 @@ import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static net.chumbucket.sorekillteams.util.CommandUtil.normalizeHomeName;
@@ -52,20 +54,37 @@ public final class TeamHomeCommands implements TeamSubcommandModule {
         return plugin.getConfig().getBoolean("homes.enabled", false) && plugin.teamHomes() != null;
     }
 
-    private void publishHomeEvent(Team team, Player actor, TeamEventPacket.Type type, String homeDisplay) {
-        if (team == null || actor == null || type == null) return;
+    /**
+     * Menus + remote backends are told only once the keyed write reached storage,
+     * so receivers reloading that team read the new state.
+     */
+    private void afterHomeWrite(CompletableFuture<Void> write, Team team, Player actor,
+                                TeamEventPacket.Type type, String raw) {
+        final UUID teamId = team.getId();
+        final String teamName = team.getName();
+        final UUID actorId = actor.getUniqueId();
+        final String actorName = actor.getName();
+
+        write.whenComplete((v, err) -> {
+            if (err != null) {
+                plugin.getLogger().warning("Failed to save team home: " +
+                        err.getClass().getSimpleName() + ": " + err.getMessage());
+            }
 
-        plugin.publishTeamEvent(new TeamEventPacket(
-                plugin.networkServerName(),
-                type,
-                team.getId(),
-                team.getName(),
-                actor.getUniqueId(),
-                actor.getName(),
-                null,
-                (homeDisplay == null ? "" : homeDisplay),
-                System.currentTimeMillis()
-        ));
+            refreshTeamMenus(teamId);
+
+            plugin.publishTeamEvent(new TeamEventPacket(
+                    plugin.networkServerName(),
+                    type,
+                    teamId,
+                    teamName,
+                    actorId,
+                    actorName,
+                    null,
+                    (raw == null ? "" : raw),
+                    System.currentTimeMillis()
+            ));
+        });
     }
 
     private void refreshTeamMenus(UUID teamId) {
@@ -130,19 +149,10 @@ public final class TeamHomeCommands implements TeamSubcommandModule {
             return true;
         }
 
-        try {
-            if (plugin.teamHomeStorage() != null && plugin.teamHomes() != null) {
-                plugin.teamHomeStorage().saveAll(plugin.teamHomes());
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to save team homes: " +
-                    e.getClass().getSimpleName() + ": " + e.getMessage());
-        }
-
         plugin.msg().send(p, "team_home_set", "{home}", raw);
 
-        refreshTeamMenus(team.getId());
-        publishHomeEvent(team, p, TeamEventPacket.Type.HOME_SET, raw);
+        // ✅ one keyed upsert off the main thread (no full-table rewrite)
+        afterHomeWrite(plugin.upsertHomeAsync(home), team, p, TeamEventPacket.Type.HOME_SET, raw);
 
         if (debug) plugin.getLogger().info("[TEAM-DBG] " + p.getName() + " set team home=" + raw + " team=" + team.getName());
         return true;
@@ -186,19 +196,10 @@ public final class TeamHomeCommands implements TeamSubcommandModule {
             return true;
         }
 
-        try {
-            if (plugin.teamHomeStorage() != null && plugin.teamHomes() != null) {
-                plugin.teamHomeStorage().saveAll(plugin.teamHomes());
-            }
-        } catch (Exception e) {
-            plugin.getLogger().warning("Failed to save team homes: " +
-                    e.getClass().getSimpleName() + ": " + e.getMessage());
-        }
-
         plugin.msg().send(p, "team_home_deleted", "{home}", raw);
 
-        refreshTeamMenus(team.getId());
-        publishHomeEvent(team, p, TeamEventPacket.Type.HOME_DELETED, raw);
+        // ✅ one keyed delete off the main thread
+        afterHomeWrite(plugin.deleteHomeAsync(team.getId(), key), team, p, TeamEventPacket.Type.HOME_DELETED, raw);
 
         if (debug) plugin.getLogger().info("[TEAM-DBG] " + p.getName() + " deleted team home=" + raw + " team=" + team.getName());
         return true;
@@ -291,6 +292,7 @@ public final class TeamHomeCommands implements TeamSubcommandModule {
                             p,
                             team.getId(),
                             warmupSeconds,
+                            localDestination(only),
                             () -> hs.getHome(team.getId(), key).orElse(null),
                             (TeamHome hh) -> completeTeleport(p, team.getId(), hh, bypassCooldown)
                     );
@@ -333,6 +335,7 @@ public final class TeamHomeCommands implements TeamSubcommandModule {
                     p,
                     team.getId(),
                     warmupSeconds,
+                    localDestination(h),
                     () -> hs.getHome(team.getId(), key).orElse(null),
                     (TeamHome hh) -> completeTeleport(p, team.getId(), hh, bypassCooldown)
             );
@@ -368,17 +371,26 @@ public final class TeamHomeCommands implements TeamSubcommandModule {
             return true;
         }
 
-        p.teleport(dest);
+        // ✅ Paper loads the destination chunk off-thread; Spigot teleports synchronously as before
+        AsyncTeleport.teleport(p, dest).whenComplete((ok, err) -> {
+            if (err != null || !Boolean.TRUE.equals(ok) || !p.isOnline()) return;
 
-        if (!bypassCooldown) {
-            cooldowns.markTeleported(p);
-        }
+            if (!bypassCooldown) {
+                cooldowns.markTeleported(p);
+            }
 
-        p.playSound(p.getLocation(), TELEPORT_SOUND, 1.0f, 1.0f);
-        plugin.msg().send(p, "team_home_teleported", "{home}", safeHomeName(h));
+            p.playSound(p.getLocation(), TELEPORT_SOUND, 1.0f, 1.0f);
+            plugin.msg().send(p, "team_home_teleported", "{home}", safeHomeName(h));
+        });
         return true;
     }
 
+    /** Destination on this backend (chunk preload target), or null for cross-server / missing worlds. */
+    private Location localDestination(TeamHome h) {
+        if (h == null || shouldRouteCrossServer(h)) return null;
+        return h.toLocationOrNull();
+    }
+
     private boolean shouldRouteCrossServer(TeamHome h) {
         boolean proxyMode = plugin.getConfig().getBoolean("homes.proxy_mode", false);
         if (!proxyMode) return false;
@@ -13,6 +13,8 @@ package net.chumbucket.sorekillteams.command;
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
 import net.chumbucket.sorekillteams.model.Team;
 import net.chumbucket.sorekillteams.model.TeamInvite;
+import net.chumbucket.sorekillteams.service.TeamServiceException;
+import net.chumbucket.sorekillteams.util.CommandErrors;
 import net.chumbucket.sorekillteams.util.Msg;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
@@ -97,20 +99,17 @@ public final class TeamInviteCommands implements TeamSubcommandModule {
                     "{target}", (inviteeName == null ? "player" : inviteeName));
             return;
         }
-        // Service validation + invite creation (local)
-        try {
-            plugin.teams().invite(inviter.getUniqueId(), inviteeUuid);
-        } catch (net.chumbucket.sorekillteams.service.TeamServiceException e) {
-            String key = e.messageKey();
-            if (key != null) {
-                plugin.msg().send(inviter, key, e.pairs());
-            } else {
-                // generic fallback (pick a key you actually have in messages.yml)
-                plugin.msg().send(inviter, "team_error");
+        // Service validation + invite creation (SQL work off-thread; continues on the main thread)
+        plugin.teams().inviteAsync(inviter.getUniqueId(), inviteeUuid).whenComplete((ok, err) -> {
+            if (err != null) {
+                sendServiceError(inviter, err);
+                return;
             }
-            return;
-        }
+            afterInviteSent(inviter, inviteeUuid, inviteeName, debug);
+        });
+    }
 
+    private void afterInviteSent(Player inviter, UUID inviteeUuid, String inviteeName, boolean debug) {
         String teamName = plugin.teams().getTeamByPlayer(inviter.getUniqueId())
                 .map(Team::getName)
                 .orElse("Team");
@@ -214,10 +213,21 @@ public final class TeamInviteCommands implements TeamSubcommandModule {
         }
 
         // Fallback: chat list
-        Collection<TeamInvite> invs = plugin.teams().getInvites(p.getUniqueId());
+        plugin.teams().getInvitesAsync(p.getUniqueId()).whenComplete((invs, err) -> {
+            if (err != null) {
+                sendServiceError(p, err);
+                return;
+            }
+            listInvites(p, invs);
+        });
+        return true;
+    }
+
+    private void listInvites(Player p, Collection<TeamInvite> invs) {
+        if (!p.isOnline()) return;
         if (invs == null || invs.isEmpty()) {
             plugin.msg().send(p, "team_invites_none");
-            return true;
+            return;
         }
 
         List<TeamInvite> sorted = invs.stream()
@@ -243,8 +253,6 @@ public final class TeamInviteCommands implements TeamSubcommandModule {
         if (sorted.size() > 1) {
             plugin.msg().send(p, "team_invites_tip");
         }
-
-        return true;
     }
 
     // ---------------------------------------------------------------------
@@ -257,24 +265,24 @@ public final class TeamInviteCommands implements TeamSubcommandModule {
             return true;
         }
 
-        Optional<UUID> teamId = Optional.empty();
-        if (args.length >= 2) {
-            String teamArg = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
-            teamId = resolveInviteTeamId(p.getUniqueId(), teamArg);
-            if (teamId.isEmpty()) {
-                plugin.msg().send(p, "team_invite_no_match");
-                return true;
-            }
-        }
-
-        Optional<TeamInvite> invOpt = plugin.teams().acceptInvite(p.getUniqueId(), teamId);
-        if (invOpt.isEmpty()) {
-            plugin.msg().send(p, "team_no_invites");
-            return true;
-        }
-
-        TeamInvite inv = invOpt.get();
+        String teamArg = (args.length >= 2) ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : null;
+
+        withInviteTeamId(p, teamArg, teamId -> plugin.teams().acceptInviteAsync(p.getUniqueId(), teamId)
+                .whenComplete((invOpt, err) -> {
+                    if (err != null) {
+                        sendServiceError(p, err);
+                        return;
+                    }
+                    if (invOpt.isEmpty()) {
+                        plugin.msg().send(p, "team_no_invites");
+                        return;
+                    }
+                    afterAccept(p, invOpt.get(), debug);
+                }));
+        return true;
+    }
 
+    private void afterAccept(Player p, TeamInvite inv, boolean debug) {
         String teamName = plugin.teams().getTeamById(inv.getTeamId())
                 .map(Team::getName)
                 .orElse(inv.getTeamName() != null ? inv.getTeamName() : "Team");
@@ -298,7 +306,6 @@ public final class TeamInviteCommands implements TeamSubcommandModule {
             plugin.getLogger().info("[TEAM-DBG] " + p.getName()
                     + " accepted invite team=" + teamName);
         }
-        return true;
     }
 
     // ---------------------------------------------------------------------
@@ -311,36 +318,73 @@ public final class TeamInviteCommands implements TeamSubcommandModule {
             return true;
         }
 
-        Optional<UUID> teamId = Optional.empty();
-        if (args.length >= 2) {
-            String teamArg = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
-            teamId = resolveInviteTeamId(p.getUniqueId(), teamArg);
+        String teamArg = (args.length >= 2) ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : null;
+
+        withInviteTeamId(p, teamArg, teamId -> plugin.teams().denyInviteAsync(p.getUniqueId(), teamId)
+                .whenComplete((ok, err) -> {
+                    if (err != null) {
+                        sendServiceError(p, err);
+                        return;
+                    }
+                    if (!ok) {
+                        plugin.msg().send(p, "team_no_invites");
+                        return;
+                    }
+
+                    plugin.msg().send(p, "team_invite_denied");
+
+                    if (debug) {
+                        plugin.getLogger().info("[TEAM-DBG] " + p.getName() + " denied invite");
+                    }
+                }));
+        return true;
+    }
+
+    // ---------------------------------------------------------------------
+    // Helpers
+    // ---------------------------------------------------------------------
+
+    /**
+     * Resolves the optional [team] argument against the player's invites (loaded off-thread on SQL
+     * backends), then continues on the main thread. No argument -> Optional.empty() (service picks).
+     */
+    private void withInviteTeamId(Player p, String teamArg, java.util.function.Consumer<Optional<UUID>> next) {
+        if (teamArg == null) {
+            next.accept(Optional.empty());
+            return;
+        }
+
+        plugin.teams().getInvitesAsync(p.getUniqueId()).whenComplete((invs, err) -> {
+            if (err != null) {
+                sendServiceError(p, err);
+                return;
+            }
+
+            Optional<UUID> teamId = resolveInviteTeamId(invs, teamArg);
             if (teamId.isEmpty()) {
                 plugin.msg().send(p, "team_invite_no_match");
-                return true;
+                return;
             }
-        }
-
-        boolean ok = plugin.teams().denyInvite(p.getUniqueId(), teamId);
-        if (!ok) {
-            plugin.msg().send(p, "team_no_invites");
-            return true;
-        }
+            next.accept(teamId);
+        });
+    }
 
-        plugin.msg().send(p, "team_invite_denied");
+    private void sendServiceError(Player p, Throwable err) {
+        Throwable cause = (err instanceof java.util.concurrent.CompletionException && err.getCause() != null)
+                ? err.getCause()
+                : err;
 
-        if (debug) {
-            plugin.getLogger().info("[TEAM-DBG] " + p.getName() + " denied invite");
+        if (cause instanceof TeamServiceException tse) {
+            CommandErrors.send(p, plugin, tse);
+            return;
         }
-        return true;
-    }
 
-    // ---------------------------------------------------------------------
-    // Helpers
-    // ---------------------------------------------------------------------
+        p.sendMessage(plugin.msg().prefix() + "An error occurred.");
+        plugin.getLogger().severe("Invite command error: " + cause.getClass().getSimpleName() + ": " + cause.getMessage());
+    }
 
-    private Optional<UUID> resolveInviteTeamId(UUID invitee, String rawArg) {
-        if (invitee == null || rawArg == null) return Optional.empty();
+    private Optional<UUID> resolveInviteTeamId(Collection<TeamInvite> invs, String rawArg) {
+        if (invs == null || rawArg == null) return Optional.empty();
 
         String raw = rawArg.trim();
         if (raw.isEmpty()) return Optional.empty();
@@ -348,7 +392,7 @@ public final class TeamInviteCommands implements TeamSubcommandModule {
         // UUID path (GUI)
         try {
             UUID id = UUID.fromString(raw);
-            for (TeamInvite inv : plugin.teams().getInvites(invitee)) {
+            for (TeamInvite inv : invs) {
                 if (inv != null && id.equals(inv.getTeamId())) {
                     return Optional.of(id);
                 }
@@ -357,7 +401,7 @@ public final class TeamInviteCommands implements TeamSubcommandModule {
 
         // Name path (chat)
         String wanted = normalize(raw);
-        for (TeamInvite inv : plugin.teams().getInvites(invitee)) {
+        for (TeamInvite inv : invs) {
             if (inv == null) continue;
 
             String teamName = plugin.teams().getTeamById(inv.getTeamId())
@@ -12,7 +12,6 @@ package net.chumbucket.sorekillteams.command;
 
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
 import net.chumbucket.sorekillteams.model.Team;
-import net.chumbucket.sorekillteams.network.TeamEventPacket;
 import net.chumbucket.sorekillteams.util.Msg;
 import net.chumbucket.sorekillteams.util.TeamNameValidator;
 import org.bukkit.Bukkit;
@@ -52,27 +51,10 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
             return true;
         }
 
-        // Capture before leaving for network event
-        Team before = plugin.teams().getTeamByPlayer(p.getUniqueId()).orElse(null);
-        UUID teamId = before != null ? before.getId() : null;
-        String teamName = before != null ? before.getName() : "Team";
-
+        // ✅ Cross-server MEMBER_LEFT is published by the service
         plugin.teams().leaveTeam(p.getUniqueId());
         plugin.msg().send(p, "team_left");
 
-        // ✅ Cross-server event (so other backends broadcast)
-        publishTeamEventIfReady(new TeamEventPacket(
-                plugin.networkServerName(),
-                TeamEventPacket.Type.MEMBER_LEFT,
-                teamId,
-                teamName,
-                p.getUniqueId(),
-                safeName(p.getName()),
-                p.getUniqueId(), // target = leaver
-                safeName(p.getName()),
-                System.currentTimeMillis()
-        ));
-
         reopenAfterMembershipChange(p);
 
         if (debug) plugin.getLogger().info("[TEAM-DBG] " + p.getName() + " left team");
@@ -85,27 +67,8 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
             return true;
         }
 
-        // ✅ Capture team before disband (after action it may be gone)
-        Team before = plugin.teams().getTeamByPlayer(p.getUniqueId()).orElse(null);
-        UUID teamId = before != null ? before.getId() : null;
-        String teamName = before != null ? before.getName() : "Team";
-        UUID owner = p.getUniqueId();
-        String ownerName = safeName(p.getName());
-
-        plugin.teams().disbandTeam(owner);
-
-        // ✅ Cross-server disband event (command path was missing this)
-        publishTeamEventIfReady(new TeamEventPacket(
-                plugin.networkServerName(),
-                TeamEventPacket.Type.TEAM_DISBANDED,
-                teamId,
-                teamName,
-                owner,
-                ownerName,
-                null,
-                "",
-                System.currentTimeMillis()
-        ));
+        // ✅ Cross-server TEAM_DISBANDED is published by the service
+        plugin.teams().disbandTeam(p.getUniqueId());
 
         reopenMainAfterDisband(p);
 
@@ -131,7 +94,6 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
         }
 
         Team before = plugin.teams().getTeamByPlayer(p.getUniqueId()).orElse(null);
-        UUID teamId = before != null ? before.getId() : null;
         String oldName = before != null ? before.getName() : "Team";
 
         plugin.teams().renameTeam(p.getUniqueId(), v.plainName());
@@ -144,19 +106,6 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
                 "{team}", Msg.color(newName)
         );
 
-        // ✅ Cross-server rename event: store old name in targetName (matches your onRemoteTeamEvent mapping)
-        publishTeamEventIfReady(new TeamEventPacket(
-                plugin.networkServerName(),
-                TeamEventPacket.Type.TEAM_RENAMED,
-                teamId,
-                newName,
-                p.getUniqueId(),
-                safeName(p.getName()),
-                null,
-                oldName, // targetName used as "{old}" on remote
-                System.currentTimeMillis()
-        ));
-
         reopenTeamInfoIfInMenu(p);
 
         if (debug) plugin.getLogger().info("[TEAM-DBG] " + p.getName() + " renamed team old=" + oldName + " new=" + newName);
@@ -190,7 +139,6 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
 
         // ✅ Capture team snapshot BEFORE kick (membership may change)
         Team before = plugin.teams().getTeamByPlayer(p.getUniqueId()).orElse(null);
-        UUID teamId = before != null ? before.getId() : null;
         String teamName = (before != null ? before.getName() : "Team");
 
         // Capture target display name BEFORE kick too
@@ -214,21 +162,6 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
             try { plugin.ensureTeamFreshFromSql(targetUuid); } catch (Throwable ignored) {}
         }
 
-        // ✅ Cross-server event so:
-        // - other backends broadcast to teammates
-        // - the kicked player gets notified on their backend via plugin.onRemoteTeamEvent direct-target logic
-        publishTeamEventIfReady(new TeamEventPacket(
-                plugin.networkServerName(),
-                TeamEventPacket.Type.MEMBER_KICKED,
-                teamId,
-                teamName,
-                p.getUniqueId(),
-                safeName(p.getName()),
-                targetUuid,
-                targetName,
-                System.currentTimeMillis()
-        ));
-
         reopenTeamInfoIfInMenu(p);
 
         if (debug) plugin.getLogger().info("[TEAM-DBG] " + p.getName() + " kicked uuid=" + targetUuid);
@@ -256,7 +189,6 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
 
         // Capture team before transfer
         Team before = plugin.teams().getTeamByPlayer(p.getUniqueId()).orElse(null);
-        UUID teamId = before != null ? before.getId() : null;
         String teamName = before != null ? before.getName() : "Team";
 
         plugin.teams().transferOwnership(p.getUniqueId(), targetUuid);
@@ -276,19 +208,6 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
             );
         }
 
-        // ✅ Cross-server transfer event: targetName becomes new owner name on remote broadcast
-        publishTeamEventIfReady(new TeamEventPacket(
-                plugin.networkServerName(),
-                TeamEventPacket.Type.OWNER_TRANSFERRED,
-                teamId,
-                teamName,
-                p.getUniqueId(),
-                safeName(p.getName()),
-                targetUuid,
-                targetName,
-                System.currentTimeMillis()
-        ));
-
         reopenTeamInfoIfInMenu(p);
         if (targetOnline != null) reopenTeamInfoIfInMenu(targetOnline);
 
@@ -297,16 +216,9 @@ public final class TeamMembershipCommands implements TeamSubcommandModule {
     }
 
     // ---------------------------------------------------------
-    // Team event publish helpers
+    // Helpers
     // ---------------------------------------------------------
 
-    private void publishTeamEventIfReady(TeamEventPacket pkt) {
-        if (pkt == null) return;
-        // teamId is mandatory for routing broadcasts on remote
-        if (pkt.teamId() == null) return;
-        plugin.publishTeamEvent(pkt);
-    }
-
     private static String safeName(String s) {
         return s == null ? "" : s;
     }
@@ -11,8 +11,8 @@
 package net.chumbucket.sorekillteams.listener;
 
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
-import net.chumbucket.sorekillteams.model.Team;
 import net.chumbucket.sorekillteams.service.TeamService;
+import net.chumbucket.sorekillteams.util.Settings;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.AreaEffectCloud;
 import org.bukkit.entity.Entity;
@@ -24,6 +24,10 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.projectiles.ProjectileSource;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
@@ -42,6 +46,14 @@ public final class FriendlyFireListener implements Listener {
     // attacker -> last message timestamp (ms)
     private final Map<UUID, Long> messageCooldown = new ConcurrentHashMap<>();
 
+    // ✅ attacker -> cached bypass permission (entry reused in place, so lookups don't allocate)
+    private final Map<UUID, BypassEntry> bypassCache = new ConcurrentHashMap<>();
+
+    private static final class BypassEntry {
+        boolean bypass;
+        long checkedAtMs;
+    }
+
     // Cached reflection for PotionEffectType#isBeneficial (exists on modern versions; keep safe)
     private static final Method IS_BENEFICIAL_METHOD = resolveIsBeneficialMethod();
 
@@ -55,53 +67,43 @@ public final class FriendlyFireListener implements Listener {
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = true)
     public void onDamage(EntityDamageByEntityEvent e) {
 
+        // one snapshot read per event (reload swaps the whole object)
+        final Settings.FriendlyFire ff = plugin.settings().friendlyFire();
+
         // enabled: true  => friendly fire ALLOWED globally => do nothing
         // enabled: false => friendly fire BLOCKED globally => apply team rules
-        if (plugin.getConfig().getBoolean("friendly_fire.enabled", false)) return;
+        if (ff.enabled()) return;
 
         if (!(e.getEntity() instanceof Player victim)) return;
 
-        final boolean includeProjectiles = plugin.getConfig().getBoolean("friendly_fire.include_projectiles", true);
-        final boolean includeClouds = plugin.getConfig().getBoolean("friendly_fire.include_area_effect_clouds", true);
-        final boolean includeExplosives = plugin.getConfig().getBoolean("friendly_fire.include_explosives", true);
-
-        final boolean includePotions = plugin.getConfig().getBoolean("friendly_fire.include_potions", true);
-        final boolean includeTridents = plugin.getConfig().getBoolean("friendly_fire.include_tridents", true);
-
-        final Player attacker = resolveAttacker(
-                e.getDamager(),
-                includeProjectiles,
-                includeClouds,
-                includeExplosives,
-                includePotions,
-                includeTridents
-        );
+        final Player attacker = resolveAttacker(e.getDamager(), ff);
         if (attacker == null) return;
 
-        // bypass
-        if (attacker.hasPermission(BYPASS_PERMISSION)) return;
+        final UUID attackerId = attacker.getUniqueId();
 
         // allow self-damage
-        if (attacker.getUniqueId().equals(victim.getUniqueId())) return;
+        if (attackerId.equals(victim.getUniqueId())) return;
 
         final TeamService teams = plugin.teams();
         if (teams == null) return;
 
-        // Not teammates? allow
-        if (!teams.areTeammates(attacker.getUniqueId(), victim.getUniqueId())) return;
+        // Not teammates? allow. Team-level override: allow teammate damage if team FF is enabled
+        if (teams.relationship(attackerId, victim.getUniqueId()) != TeamService.RELATION_TEAMMATES_FF_BLOCKED) return;
 
-        // Team-level override: allow teammate damage if team FF is enabled
-        if (teams.getTeamByPlayer(attacker.getUniqueId()).map(Team::isFriendlyFireEnabled).orElse(false)) return;
+        // bypass (only resolved once we know the hit would be blocked/scaled)
+        if (hasBypass(attacker, ff.bypassCacheMs())) return;
+
+        final boolean debug = plugin.debug() != null && plugin.debug().enabled();
 
         // 1.1.2: teammate damage scaling
-        int pct = clamp(plugin.getConfig().getInt("friendly_fire.teammate_damage", 0), 0, 100);
+        int pct = ff.teammateDamagePct();
 
         if (pct <= 0) {
             // Block it
             e.setCancelled(true);
-            maybeMessage(attacker);
+            maybeMessage(attacker, ff);
 
-            if (plugin.debug() != null) {
+            if (debug) {
                 plugin.debug().log("FF blocked: " + attacker.getName() + " -> " + victim.getName()
                         + " cause=" + e.getDamager().getType()
                         + " dmg=" + String.format(Locale.ROOT, "%.2f", e.getDamage()));
@@ -111,7 +113,7 @@ public final class FriendlyFireListener implements Listener {
 
         if (pct >= 100) {
             // Allow full damage (effectively no FF reduction while global block is active)
-            if (plugin.debug() != null) {
+            if (debug) {
                 plugin.debug().log("FF allowed full (pct=100): " + attacker.getName() + " -> " + victim.getName()
                         + " cause=" + e.getDamager().getType()
                         + " dmg=" + String.format(Locale.ROOT, "%.2f", e.getDamage()));
@@ -124,19 +126,19 @@ public final class FriendlyFireListener implements Listener {
         final double after = before * (pct / 100.0);
         e.setDamage(after);
 
-        if (plugin.debug() != null) {
+        if (debug) {
             plugin.debug().log("FF reduced (" + pct + "%): " + attacker.getName() + " -> " + victim.getName()
                     + " cause=" + e.getDamager().getType()
                     + " dmg=" + String.format(Locale.ROOT, "%.2f", before) + " -> " + String.format(Locale.ROOT, "%.2f", after));
         }
     }
 
-    private Player resolveAttacker(Entity damager,
-                                  boolean includeProjectiles,
-                                  boolean includeClouds,
-                                  boolean includeExplosives,
-                                  boolean includePotions,
-                                  boolean includeTridents) {
+    private Player resolveAttacker(Entity damager, Settings.FriendlyFire ff) {
+        final boolean includeProjectiles = ff.includeProjectiles();
+        final boolean includeClouds = ff.includeClouds();
+        final boolean includeExplosives = ff.includeExplosives();
+        final boolean includePotions = ff.includePotions();
+        final boolean includeTridents = ff.includeTridents();
 
         // direct melee
         if (damager instanceof Player p) return p;
@@ -337,10 +339,69 @@ public final class FriendlyFireListener implements Listener {
         return null;
     }
 
-    private void maybeMessage(Player attacker) {
-        if (!plugin.getConfig().getBoolean("friendly_fire.message.enabled", true)) return;
+    // =========================
+    // Bypass permission cache
+    // =========================
 
-        long cooldownMs = plugin.getConfig().getLong("friendly_fire.message.cooldown_ms", 1000L);
+    /**
+     * Permission resolution walks the attachment tree, so the answer is cached per attacker.
+     * Bukkit has no dedicated permission-recalculation event; entries are dropped on join/quit,
+     * world change (per-world permission plugins recalculate there) and whenever the player's
+     * command list is resent, which op changes and permission plugins (LuckPerms by default) trigger
+     * after recalculating. {@code friendly_fire.bypass_cache_ms} stays as the backstop for the rest.
+     */
+    boolean hasBypass(Player attacker, long cacheMs) {
+        if (cacheMs <= 0L) return attacker.hasPermission(BYPASS_PERMISSION);
+
+        long now = System.currentTimeMillis();
+        BypassEntry entry = bypassCache.get(attacker.getUniqueId());
+        if (entry == null) {
+            entry = new BypassEntry();
+            entry.bypass = attacker.hasPermission(BYPASS_PERMISSION);
+            entry.checkedAtMs = now;
+            bypassCache.put(attacker.getUniqueId(), entry);
+            return entry.bypass;
+        }
+
+        if (now - entry.checkedAtMs >= cacheMs) {
+            entry.bypass = attacker.hasPermission(BYPASS_PERMISSION);
+            entry.checkedAtMs = now;
+        }
+        return entry.bypass;
+    }
+
+    /** Forces the next hit by {@code player} to re-resolve the bypass permission. */
+    public void invalidateBypass(UUID player) {
+        if (player != null) bypassCache.remove(player);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        invalidateBypass(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent e) {
+        invalidateBypass(e.getPlayer().getUniqueId());
+    }
+
+    // Player#updateCommands(): fired after setOp and after permission plugins recalculate a player
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCommandsResent(PlayerCommandSendEvent e) {
+        invalidateBypass(e.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        UUID u = e.getPlayer().getUniqueId();
+        invalidateBypass(u);
+        messageCooldown.remove(u);
+    }
+
+    private void maybeMessage(Player attacker, Settings.FriendlyFire ff) {
+        if (!ff.messageEnabled()) return;
+
+        long cooldownMs = ff.messageCooldownMs();
         if (cooldownMs > 0) {
             long now = System.currentTimeMillis();
             long last = messageCooldown.getOrDefault(attacker.getUniqueId(), 0L);
@@ -352,8 +413,4 @@ public final class FriendlyFireListener implements Listener {
             plugin.msg().send(attacker, MSG_KEY_BLOCKED);
         }
     }
-
-    private static int clamp(int v, int min, int max) {
-        return Math.max(min, Math.min(max, v));
-    }
 }
@@ -11,10 +11,9 @@
 package net.chumbucket.sorekillteams.listener;
 
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
-import net.chumbucket.sorekillteams.model.Team;
 import net.chumbucket.sorekillteams.service.TeamServiceException;
+import net.chumbucket.sorekillteams.util.Settings;
 
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -38,7 +37,8 @@ public final class TeamChatListener implements Listener {
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onChat(AsyncPlayerChatEvent event) {
-        if (!plugin.getConfig().getBoolean("chat.enabled", true)) return;
+        final Settings.Chat chat = plugin.settings().chat();
+        if (!chat.enabled()) return;
 
         final Player player = event.getPlayer();
         if (player == null) return;
@@ -48,7 +48,7 @@ public final class TeamChatListener implements Listener {
 
         if (plugin.teams() == null || !plugin.teams().isTeamChatEnabled(uuid)) return;
 
-        final boolean debug = plugin.getConfig().getBoolean("chat.debug", false);
+        final boolean debug = chat.debug();
 
         final String raw = event.getMessage();
         if (raw == null) return;
@@ -67,49 +67,43 @@ public final class TeamChatListener implements Listener {
 
         if (debug) plugin.getLogger().info("[TC-DBG] intercept " + name + " len=" + msg.length());
 
-        // hop to main thread
-        plugin.getServer().getScheduler().runTask(plugin, () -> {
-            try {
-                final Player live = Bukkit.getPlayer(uuid);
-                if (live == null || !live.isOnline()) {
-                    if (debug) plugin.getLogger().info("[TC-DBG] abort send (offline) " + name);
-                    return;
-                }
-
-                if (!plugin.teams().isTeamChatEnabled(uuid)) {
-                    if (debug) plugin.getLogger().info("[TC-DBG] abort send (toggle off) " + name);
-                    return;
-                }
-
-                Team team = plugin.teams().getTeamByPlayer(uuid).orElse(null);
-                if (team == null) {
-                    try { plugin.teams().setTeamChatEnabled(uuid, false); } catch (Exception ignored) {}
-                    if (debug) plugin.getLogger().info("[TC-DBG] auto-disabled toggle (no team) for " + name);
-                    return;
-                }
-
-                // ✅ Single source of truth:
-                // sendTeamChat handles:
-                // - local broadcast
-                // - spy broadcast
-                // - optional redis publish
-                plugin.teams().sendTeamChat(live, msg);
-
-                if (debug) plugin.getLogger().info("[TC-DBG] sent teamchat from " + name);
-
-            } catch (TeamServiceException ex) {
-                String code = (ex.code() == null ? "null" : ex.code().name());
-                if (debug) {
-                    plugin.getLogger().warning("[TC-DBG] TeamChatListener service error for " + name + ": " + code);
-                } else {
-                    plugin.getLogger().warning("TeamChatListener service error for " + name + ": " + code);
-                }
-            } catch (Exception ex) {
-                plugin.getLogger().severe("TeamChatListener error for " + name + ": " +
-                        ex.getClass().getSimpleName() + ": " + ex.getMessage());
-            } finally {
-                IN_FLIGHT.remove(uuid);
+        // ✅ stay on the chat thread: membership comes from the service's concurrent maps,
+        // rendering + publish happen here, and only the sendMessage fan-out may hop to main
+        try {
+            if (!player.isOnline()) {
+                if (debug) plugin.getLogger().info("[TC-DBG] abort send (offline) " + name);
+                return;
             }
-        });
+
+            if (plugin.teams().getTeamByPlayer(uuid).isEmpty()) {
+                try { plugin.teams().setTeamChatEnabled(uuid, false); } catch (Exception ignored) {}
+                if (debug) plugin.getLogger().info("[TC-DBG] auto-disabled toggle (no team) for " + name);
+                return;
+            }
+
+            // ✅ Single source of truth:
+            // sendTeamChatAsync handles:
+            // - local broadcast
+            // - spy broadcast
+            // - optional redis publish
+            // (plugins calling Player#chat on the main thread fire this event synchronously)
+            if (event.isAsynchronous()) plugin.teams().sendTeamChatAsync(player, msg);
+            else plugin.teams().sendTeamChat(player, msg);
+
+            if (debug) plugin.getLogger().info("[TC-DBG] sent teamchat from " + name);
+
+        } catch (TeamServiceException ex) {
+            String code = (ex.code() == null ? "null" : ex.code().name());
+            if (debug) {
+                plugin.getLogger().warning("[TC-DBG] TeamChatListener service error for " + name + ": " + code);
+            } else {
+                plugin.getLogger().warning("TeamChatListener service error for " + name + ": " + code);
+            }
+        } catch (Exception ex) {
+            plugin.getLogger().severe("TeamChatListener error for " + name + ": " +
+                    ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        } finally {
+            IN_FLIGHT.remove(uuid);
+        }
     }
 }
@@ -11,6 +11,7 @@
 package net.chumbucket.sorekillteams.listener;
 
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
+import net.chumbucket.sorekillteams.util.Settings;
 import net.chumbucket.sorekillteams.network.RedisTeamChatBus;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -31,14 +32,14 @@ public final class TeamChatModeJoinListener implements Listener {
 
     @EventHandler(priority = EventPriority.LOWEST)
     public void onJoin(PlayerJoinEvent event) {
-        if (!plugin.getConfig().getBoolean("chat.enabled", true)) return;
-        if (!plugin.getConfig().getBoolean("chat.toggle_enabled", true)) return;
+        final Settings.Chat chat = plugin.settings().chat();
+        if (!chat.enabled() || !chat.toggleEnabled()) return;
 
         final Player p = event.getPlayer();
         final UUID uuid = p.getUniqueId();
 
         final var bus = plugin.teamChatBus();
-        final boolean def = plugin.getConfig().getBoolean("chat.default_on_join", false);
+        final boolean def = chat.defaultOnJoin();
 
         if (!(bus instanceof RedisTeamChatBus r)) {
             // No redis: just apply default
@@ -21,8 +21,6 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
 
 public final class TeamOnlineStatusListener implements Listener {
@@ -33,11 +31,31 @@ public final class TeamOnlineStatusListener implements Listener {
         this.plugin = plugin;
     }
 
+    /** ✅ Index first, so other join handlers / placeholders already count this player. */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void indexJoin(PlayerJoinEvent event) {
+        final Player p = event.getPlayer();
+        if (p == null || plugin.teams() == null) return;
+        plugin.teams().markPlayerOnline(p.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void indexQuit(PlayerQuitEvent event) {
+        final Player p = event.getPlayer();
+        if (p == null) return;
+        if (plugin.placeholders() != null) plugin.placeholders().cache().invalidate(p.getUniqueId());
+        if (plugin.teams() == null) return;
+        plugin.teams().markPlayerOffline(p.getUniqueId());
+    }
+
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onJoin(PlayerJoinEvent event) {
         final Player p = event.getPlayer();
         if (p == null) return;
 
+        // ✅ warm the menu skin cache from the player's own profile (no remote fetch)
+        if (plugin.menuRouter() != null) plugin.menuRouter().cacheOnlineProfile(p);
+
         // ✅ Network-wide presence (Velocity-wide online status)
         if (plugin.isPresenceNetworkEnabled()) {
             // markOnline() will now be "edge-triggered" (only publishes if newly online)
@@ -84,10 +102,7 @@ public final class TeamOnlineStatusListener implements Listener {
                                             String... pairs) {
         if (team == null || actor == null) return;
 
-        Set<UUID> members = new HashSet<>(team.getMembers());
-
-        for (UUID memberId : members) {
-            if (memberId == null) continue;
+        for (UUID memberId : plugin.teams().getLocalOnlineMembers(team.getId())) {
             if (memberId.equals(actor)) continue;
 
             Player online = Bukkit.getPlayer(memberId);
@@ -127,6 +127,7 @@ public final class MainMenu {
         String teamName = (team == null ? "None" : Msg.color(team.getName()));
         String ownerName = "None";
         String members = (team == null ? "0" : String.valueOf(team.getMembers().size()));
+        String online = (team == null ? "0" : String.valueOf(plugin.teams().countOnlineMembers(team.getId())));
 
         if (team != null && team.getOwner() != null) {
             // use your existing helper if we can
@@ -147,6 +148,7 @@ public final class MainMenu {
         out = out.replace("{team}", teamName);
         out = out.replace("{owner}", ownerName);
         out = out.replace("{members}", members);
+        out = out.replace("{online}", online);
         out = out.replace("{invite_count}", String.valueOf(inviteCount));
         out = out.replace("{ff}", Msg.color(ff));
         out = out.replace("{chat}", Msg.color(chat));
@@ -18,34 +18,83 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * Handles:
  * - team_info member head cycle (single slot)
  * - browse_teams head cycle (many slots)
  *
- * Logic matches your original (same stop conditions, same intervals).
+ * One shared timer drives every open session (started on demand, stopped when idle).
+ * Browse frames don't depend on the viewer, so a (team, member, display data) frame is built
+ * once per cycle and reused for everyone looking at that team; each session only writes the
+ * slots whose frame actually changed since its last write.
  */
 public final class MenuCycler {
 
-    private static final long MEMBER_HEAD_CYCLE_TICKS = 40L; // 2s
-    private static final long BROWSE_HEAD_CYCLE_TICKS = 40L; // 2s
+    private static final long CYCLE_TICKS = 40L; // 2s
 
     private final SorekillTeamsPlugin plugin;
     private final MenuSkullFactory skulls;
 
-    // team_info member head cycle (single slot)
-    private final Map<UUID, Integer> memberCycleTasks = new ConcurrentHashMap<>();
-    private final Map<UUID, Integer> memberCycleIndex = new ConcurrentHashMap<>();
+    private final Map<UUID, MemberSession> memberSessions = new ConcurrentHashMap<>();
+    private final Map<UUID, BrowseSession> browseSessions = new ConcurrentHashMap<>();
+
+    // Shared browse frames; entries not used during a cycle are dropped at the end of it
+    private final Map<BrowseFrameKey, ItemStack> browseFrames = new HashMap<>();
+
+    private BukkitTask driver;
+    private long cycle = 0L;
+
+    private record MemberSession(Player viewer, MenuHolder holder, int slot, ConfigurationSection membersHeadSec) {}
+
+    private static final class BrowseSession {
+        final Player viewer;
+        final MenuHolder holder;
+        final List<Integer> slots;
+        final List<Team> pageTeams;
+        final int invSize;
+        final String nameTemplate;
+        final List<String> loreTemplate;
+        final Function<UUID, String> nameOf;
+        final ToIntFunction<Team> memberCount;
+        final Function<Team, List<UUID>> memberList;
+
+        // last frame written per page entry (identity compare)
+        final ItemStack[] written;
+
+        BrowseSession(Player viewer, MenuHolder holder, List<Integer> slots, List<Team> pageTeams, int invSize,
+                      String nameTemplate, List<String> loreTemplate,
+                      Function<UUID, String> nameOf, ToIntFunction<Team> memberCount,
+                      Function<Team, List<UUID>> memberList) {
+            this.viewer = viewer;
+            this.holder = holder;
+            this.slots = slots;
+            this.pageTeams = pageTeams;
+            this.invSize = invSize;
+            this.nameTemplate = nameTemplate;
+            this.loreTemplate = loreTemplate;
+            this.nameOf = nameOf;
+            this.memberCount = memberCount;
+            this.memberList = memberList;
+            this.written = new ItemStack[Math.min(slots.size(), pageTeams.size())];
+        }
+    }
 
-    // browse_teams cycle (many slots)
-    private final Map<UUID, Integer> browseCycleTasks = new ConcurrentHashMap<>();
-    private final Map<UUID, Map<UUID, Integer>> browseCycleIndexByTeam = new ConcurrentHashMap<>();
+    // Everything a browse head renders from; equal keys render identical items
+    private record BrowseFrameKey(UUID teamId, UUID shown, boolean skinReady, String teamName, String owner,
+                                  String membersCount, int online, String nameTemplate, List<String> loreTemplate) {}
 
     public MenuCycler(SorekillTeamsPlugin plugin, MenuSkullFactory skulls) {
         this.plugin = plugin;
@@ -57,45 +106,8 @@ public final class MenuCycler {
 
         stopCycling(viewerId);
 
-        int taskId = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (!viewer.isOnline()) {
-                stopCycling(viewerId);
-                return;
-            }
-
-            if (viewer.getOpenInventory() == null
-                    || viewer.getOpenInventory().getTopInventory() == null
-                    || viewer.getOpenInventory().getTopInventory().getHolder() != holder) {
-                stopCycling(viewerId);
-                return;
-            }
-
-            if (!"team_info".equalsIgnoreCase(holder.menuKey())) {
-                stopCycling(viewerId);
-                return;
-            }
-
-            Team team = plugin.teams().getTeamByPlayer(viewerId).orElse(null);
-            if (team == null) {
-                stopCycling(viewerId);
-                return;
-            }
-
-            List<UUID> members = MenuTeams.uniqueTeamMembers(team);
-            if (members.isEmpty()) return;
-
-            int idx = memberCycleIndex.getOrDefault(viewerId, 0);
-            int nextIdx = (idx + 1) % members.size();
-            memberCycleIndex.put(viewerId, nextIdx);
-
-            Inventory top = viewer.getOpenInventory().getTopInventory();
-            ItemStack head = skulls.buildMemberCycleHead(viewer, team, membersHeadSec, nextIdx);
-            top.setItem(slot, head);
-
-        }, 1L, MEMBER_HEAD_CYCLE_TICKS).getTaskId();
-
-        memberCycleTasks.put(viewerId, taskId);
-        memberCycleIndex.putIfAbsent(viewerId, 0);
+        memberSessions.put(viewerId, new MemberSession(viewer, holder, slot, membersHeadSec));
+        ensureDriver();
     }
 
     public void startBrowseTeamsCycling(Player viewer,
@@ -105,81 +117,127 @@ public final class MenuCycler {
                                         int invSize,
                                         String nameTemplate,
                                         List<String> loreTemplate,
-                                        java.util.function.Function<UUID, String> nameOf,
-                                        java.util.function.ToIntFunction<Team> memberCount,
-                                        java.util.function.Function<Team, List<UUID>> memberList) {
+                                        Function<UUID, String> nameOf,
+                                        ToIntFunction<Team> memberCount,
+                                        Function<Team, List<UUID>> memberList) {
 
         UUID viewerId = viewer.getUniqueId();
 
-        Integer old = browseCycleTasks.remove(viewerId);
-        if (old != null) {
-            try { Bukkit.getScheduler().cancelTask(old); } catch (Exception ignored) {}
-        }
+        browseSessions.put(viewerId, new BrowseSession(viewer, holder, List.copyOf(slots), List.copyOf(pageTeams), invSize,
+                nameTemplate, List.copyOf(loreTemplate), nameOf, memberCount, memberList));
+        ensureDriver();
+    }
 
-        browseCycleIndexByTeam.putIfAbsent(viewerId, new ConcurrentHashMap<>());
+    public void stopCycling(UUID viewerId) {
+        if (viewerId == null) return;
+        memberSessions.remove(viewerId);
+        browseSessions.remove(viewerId);
+    }
 
-        int taskId = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
-            if (!viewer.isOnline()) {
-                stopCycling(viewerId);
-                return;
-            }
+    // =========================================================
+    // Driver
+    // =========================================================
 
-            if (viewer.getOpenInventory() == null
-                    || viewer.getOpenInventory().getTopInventory() == null
-                    || viewer.getOpenInventory().getTopInventory().getHolder() != holder) {
-                stopCycling(viewerId);
-                return;
-            }
+    private void ensureDriver() {
+        if (driver != null) return;
+        driver = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, CYCLE_TICKS, CYCLE_TICKS);
+    }
 
-            if (!"browse_teams".equalsIgnoreCase(holder.menuKey())) {
-                Integer tid = browseCycleTasks.remove(viewerId);
-                if (tid != null) {
-                    try { Bukkit.getScheduler().cancelTask(tid); } catch (Exception ignored) {}
-                }
-                return;
+    private void tick() {
+        if (memberSessions.isEmpty() && browseSessions.isEmpty()) {
+            browseFrames.clear();
+            if (driver != null) {
+                try { driver.cancel(); } catch (Exception ignored) {}
+                driver = null;
             }
+            return;
+        }
 
-            Inventory top = viewer.getOpenInventory().getTopInventory();
-            Map<UUID, Integer> idxMap = browseCycleIndexByTeam.get(viewerId);
-            if (top == null || idxMap == null) return;
+        cycle++;
 
-            for (int i = 0; i < Math.min(slots.size(), pageTeams.size()); i++) {
-                int slot = Menus.clampSlot(slots.get(i), invSize);
-                Team team = pageTeams.get(i);
-                if (team == null || team.getId() == null) continue;
+        for (Iterator<Map.Entry<UUID, MemberSession>> it = memberSessions.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<UUID, MemberSession> e = it.next();
+            if (!tickMember(e.getKey(), e.getValue())) it.remove();
+        }
 
-                List<UUID> members = memberList.apply(team);
-                if (members.isEmpty()) continue;
+        Set<BrowseFrameKey> used = new HashSet<>();
+        for (Iterator<BrowseSession> it = browseSessions.values().iterator(); it.hasNext(); ) {
+            if (!tickBrowse(it.next(), used)) it.remove();
+        }
+        browseFrames.keySet().retainAll(used);
+    }
 
-                int idx = idxMap.getOrDefault(team.getId(), 0);
-                int next = (idx + 1) % members.size();
-                idxMap.put(team.getId(), next);
+    /** @return false when the session should end */
+    private boolean tickMember(UUID viewerId, MemberSession s) {
+        Inventory top = openTop(s.viewer(), s.holder());
+        if (top == null) return false;
 
-                String owner = nameOf.apply(team.getOwner());
-                String membersCountStr = String.valueOf(memberCount.applyAsInt(team));
+        if (!"team_info".equalsIgnoreCase(s.holder().menuKey())) return false;
 
-                ItemStack head = skulls.buildBrowseTeamCycleHead(viewer, team, next, nameTemplate, loreTemplate, owner, membersCountStr);
-                top.setItem(slot, head);
-            }
+        Team team = plugin.teams().getTeamByPlayer(viewerId).orElse(null);
+        if (team == null) return false;
 
-        }, 1L, BROWSE_HEAD_CYCLE_TICKS).getTaskId();
+        List<UUID> members = MenuTeams.uniqueTeamMembers(team);
+        if (members.isEmpty()) return true;
 
-        browseCycleTasks.put(viewerId, taskId);
+        int idx = (int) Math.floorMod(cycle, (long) members.size());
+
+        // name/lore are resolved against the viewer (placeholders), so this one is per-session
+        ItemStack head = skulls.buildMemberCycleHead(s.viewer(), team, s.membersHeadSec(), idx);
+        top.setItem(s.slot(), head);
+        return true;
     }
 
-    public void stopCycling(UUID viewerId) {
-        if (viewerId == null) return;
+    /** @return false when the session should end */
+    private boolean tickBrowse(BrowseSession s, Set<BrowseFrameKey> used) {
+        Inventory top = openTop(s.viewer, s.holder);
+        if (top == null) return false;
+
+        if (!"browse_teams".equalsIgnoreCase(s.holder.menuKey())) return false;
+
+        for (int i = 0; i < s.written.length; i++) {
+            Team team = s.pageTeams.get(i);
+            if (team == null || team.getId() == null) continue;
+
+            List<UUID> members = s.memberList.apply(team);
+            if (members.isEmpty()) continue;
+
+            UUID shown = members.get((int) Math.floorMod(cycle, (long) members.size()));
+
+            BrowseFrameKey key = new BrowseFrameKey(
+                    team.getId(),
+                    shown,
+                    skulls.hasCachedProfile(shown),
+                    team.getName(),
+                    s.nameOf.apply(team.getOwner()),
+                    String.valueOf(s.memberCount.applyAsInt(team)),
+                    plugin.teams().countOnlineMembers(team.getId()),
+                    s.nameTemplate,
+                    s.loreTemplate
+            );
+            used.add(key);
+
+            ItemStack frame = browseFrames.get(key);
+            if (frame == null) {
+                frame = skulls.buildBrowseTeamCycleHead(s.viewer, team, members.indexOf(shown),
+                        s.nameTemplate, s.loreTemplate, key.owner(), key.membersCount());
+                browseFrames.put(key, frame);
+            }
 
-        Integer t1 = memberCycleTasks.remove(viewerId);
-        if (t1 != null) {
-            try { Bukkit.getScheduler().cancelTask(t1); } catch (Exception ignored) {}
-        }
-        memberCycleIndex.remove(viewerId);
+            if (s.written[i] == frame) continue;
 
-        Integer t2 = browseCycleTasks.remove(viewerId);
-        if (t2 != null) {
-            try { Bukkit.getScheduler().cancelTask(t2); } catch (Exception ignored) {}
+            top.setItem(Menus.clampSlot(s.slots.get(i), s.invSize), frame);
+            s.written[i] = frame;
         }
-        browseCycleIndexByTeam.remove(viewerId);
+        return true;
+    }
+
+    private static Inventory openTop(Player viewer, MenuHolder holder) {
+        if (viewer == null || !viewer.isOnline()) return null;
+        if (viewer.getOpenInventory() == null) return null;
+
+        Inventory top = viewer.getOpenInventory().getTopInventory();
+        if (top == null || top.getHolder() != holder) return null;
+        return top;
     }
 }
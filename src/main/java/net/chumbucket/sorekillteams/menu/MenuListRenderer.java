@@ -120,11 +120,10 @@ public final class MenuListRenderer {
                 // never break menu rendering
             }
 
-            List<Team> teams = new ArrayList<>();
-            if (plugin.teams() instanceof SimpleTeamService sts) teams.addAll(sts.allTeams());
-            teams.sort(Comparator.comparing(t -> (t.getName() == null ? "" : t.getName().toLowerCase(Locale.ROOT))));
-
-            List<Team> pageItems = slice(teams, start, perPage);
+            // ✅ name-ordered index: only this page is copied
+            List<Team> pageItems = (plugin.teams() instanceof SimpleTeamService sts)
+                    ? sts.pageOfTeams(start, perPage)
+                    : List.of();
 
             for (int i = 0; i < Math.min(slots.size(), pageItems.size()); i++) {
                 int slot = Menus.clampSlot(slots.get(i), size);
@@ -145,7 +144,8 @@ public final class MenuListRenderer {
                             lore.stream()
                                     .map(x -> Msg.color(x.replace("{team}", Msg.color(teamName))
                                             .replace("{owner}", owner)
-                                            .replace("{members}", membersCount)))
+                                            .replace("{members}", membersCount)
+                                            .replace("{online}", String.valueOf(plugin.teams().countOnlineMembers(t.getId())))))
                                     .toList()
                     );
                     inv.setItem(slot, it);
@@ -282,7 +282,7 @@ public final class MenuListRenderer {
         int total = 0;
 
         if (type.equals("INVITES")) total = plugin.teams().getInvites(viewer.getUniqueId()).size();
-        if (type.equals("TEAMS") && plugin.teams() instanceof SimpleTeamService sts) total = sts.allTeams().size();
+        if (type.equals("TEAMS") && plugin.teams() instanceof SimpleTeamService sts) total = sts.teamCount();
 
         if (type.equals("TEAM_MEMBERS")) {
             Team targetTeam = viewerTeam;
@@ -55,6 +55,16 @@ public final class MenuRouter {
         cycler.stopCycling(viewerId);
     }
 
+    /** Seeds the skin cache from a joining player's own (already textured) profile. */
+    public void cacheOnlineProfile(Player p) {
+        skulls.cacheOnlineProfile(p);
+    }
+
+    /** Flushes the skin texture cache (plugin disable). */
+    public void shutdown() {
+        skulls.shutdown();
+    }
+
     // =========================================================
     // ✅ Menu state helpers (refresh/close)
     // =========================================================
@@ -283,13 +293,11 @@ public final class MenuRouter {
                     cycler.startMemberHeadCycling(p, holder, slot, mh);
                 }
 
-                // ✅ FIX: homes can be set on other backends; refresh homes snapshot before rendering bed.
-                // This ensures the menu always shows the current SQL state (no stale cache).
+                // ✅ Homes can be set on other backends: render from cache now and pull this team's
+                // homes off-thread; the menu is refreshed only if they turn out to differ.
                 try {
                     if (plugin.teamHomes() != null) {
-                        // This method exists in your plugin already (used at startup).
-                        // It should load from the active home storage (SQL/YAML) safely.
-                        plugin.loadHomesBestEffort("menu_open");
+                        plugin.refreshTeamHomesAsync(viewerTeam.getId());
                     }
                 } catch (Throwable ignored) {}
 
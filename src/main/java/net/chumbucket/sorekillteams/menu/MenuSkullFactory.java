@@ -24,7 +24,10 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.SkullMeta;
 
 import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -44,6 +47,9 @@ import java.util.concurrent.TimeUnit;
  *   If Paper returns a profile without textures, we fall back to SkullMeta#setOwningPlayer
  *   (which uses the server's cached skin data and is why it "worked before refactor").
  * - Supports refresh callbacks so non-cycling menus can update when textures arrive.
+ * - Skin URLs live in {@link SkinTextureCache} (bounded, persisted, shared over Redis); profile
+ *   objects are rebuilt from them on demand and only a small hot set is kept.
+ * - Remote fetches are de-duplicated per player, rate-limited, and not retried right after a miss.
  */
 public final class MenuSkullFactory {
 
@@ -63,16 +69,50 @@ public final class MenuSkullFactory {
     private final SorekillTeamsPlugin plugin;
     private final MenuText text;
 
-    // uuid -> completed PlayerProfile object (Paper only)
-    private final Map<UUID, Object> profileCache = new ConcurrentHashMap<>();
+    private static final int MAX_HOT_PROFILES = 512;
+    private static final int MAX_CALLBACKS_PER_PLAYER = 16;
+    private static final long MISS_RETRY_MS = 10L * 60L * 1000L;
+
+    // uuid -> skin URL (bounded + persisted + shared)
+    private final SkinTextureCache textures;
+
+    // uuid -> PlayerProfile built from a cached skin URL (hot set only; guarded by itself)
+    private final LinkedHashMap<UUID, Object> hotProfiles = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Object> eldest) {
+            return size() > MAX_HOT_PROFILES;
+        }
+    };
+
     private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
 
+    // uuid -> when a fetch last came back without a skin (bounded by clearing)
+    private final Map<UUID, Long> missedAt = new ConcurrentHashMap<>();
+
+    // fixed one-minute window for remote profile fetches
+    private final int fetchesPerMinute;
+    private long fetchWindowStartMs = 0L;
+    private int fetchesInWindow = 0;
+
     // uuid -> callbacks to run once completed (sync on main thread)
     private final Map<UUID, List<Runnable>> refreshCallbacks = new ConcurrentHashMap<>();
 
     public MenuSkullFactory(SorekillTeamsPlugin plugin, MenuText text) {
         this.plugin = plugin;
         this.text = text;
+        this.textures = new SkinTextureCache(plugin);
+        this.fetchesPerMinute = Math.max(1, plugin.getConfig().getInt("menus.skins.fetches_per_minute", 60));
+        this.textures.start();
+    }
+
+    /** Final save of the texture cache (plugin disable). */
+    public void shutdown() {
+        textures.shutdown();
+    }
+
+    /** True once a skin is cached for this player (heads built from now on show the skin). */
+    public boolean hasCachedProfile(UUID uuid) {
+        return uuid != null && textures.contains(uuid);
     }
 
     /**
@@ -85,9 +125,13 @@ public final class MenuSkullFactory {
 
         try {
             Object prof = PLAYER_GET_PROFILE.invoke(p);
-            if (prof != null && profileHasSkin(prof)) {
-                profileCache.put(p.getUniqueId(), prof);
-                runRefreshCallbacks(p.getUniqueId());
+            String url = skinUrlOf(prof);
+            if (url != null) {
+                UUID uuid = p.getUniqueId();
+                putHot(uuid, prof);
+                missedAt.remove(uuid);
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> textures.putFetched(uuid, url));
+                runRefreshCallbacks(uuid);
             }
         } catch (Throwable ignored) {
         }
@@ -119,12 +163,14 @@ public final class MenuSkullFactory {
 
         String teamName = (team.getName() == null ? "Team" : team.getName());
         String builtName = Msg.color(nameTemplate.replace("{team}", Msg.color(teamName)));
+        String online = String.valueOf(plugin.teams().countOnlineMembers(team.getId()));
 
         List<String> builtLore = loreTemplate.stream()
                 .map(x -> Msg.color(
                         x.replace("{team}", Msg.color(teamName))
                                 .replace("{owner}", ownerName)
                                 .replace("{members}", membersCount)
+                                .replace("{online}", online)
                 ))
                 .toList();
 
@@ -149,7 +195,7 @@ public final class MenuSkullFactory {
         boolean appliedPaperProfileWithSkin = false;
 
         if (paperAvailable) {
-            Object cached = profileCache.get(owningUuid);
+            Object cached = cachedProfile(owningUuid);
             if (cached != null) {
                 // ✅ Only count Paper as "applied" if the cached profile actually has a skin
                 boolean applied = applyProfile(skull, cached);
@@ -158,7 +204,7 @@ public final class MenuSkullFactory {
                 if (refreshWhenReady != null) {
                     refreshCallbacks.compute(owningUuid, (k, v) -> {
                         if (v == null) v = new ArrayList<>();
-                        v.add(refreshWhenReady);
+                        if (v.size() < MAX_CALLBACKS_PER_PLAYER) v.add(refreshWhenReady);
                         return v;
                     });
                 }
@@ -201,40 +247,135 @@ public final class MenuSkullFactory {
     private void warmProfileAsync(UUID uuid, String nameHint) {
         if (plugin == null || uuid == null) return;
 
-        if (profileCache.containsKey(uuid)) {
+        if (textures.contains(uuid)) {
             runRefreshCallbacks(uuid);
             return;
         }
+
+        Long missed = missedAt.get(uuid);
+        if (missed != null && System.currentTimeMillis() - missed < MISS_RETRY_MS) return;
+
+        // ✅ one fetch per player at a time
         if (!inFlight.add(uuid)) return;
 
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
             boolean cachedNow = false;
             try {
+                // Another backend may already have fetched it
+                if (textures.fetchShared(uuid) != null) {
+                    cachedNow = true;
+                    return;
+                }
+
+                if (!tryAcquireFetch()) return; // over budget: a later render retries
+
                 Object profile = createProfile(uuid, nameHint);
                 if (profile == null) return;
 
                 // ✅ Prefer update() if present, but only cache if it actually has a skin.
                 Object updated = tryUpdateReturningProfile(profile);
-                if (updated != null && profileHasSkin(updated)) {
-                    profileCache.put(uuid, updated);
+                String url = skinUrlOf(updated);
+                Object usable = updated;
+
+                if (url == null && tryComplete(profile)) {
+                    // fallback to complete(), again only cache if skin exists
+                    url = skinUrlOf(profile);
+                    usable = profile;
+                }
+
+                if (url != null) {
+                    putHot(uuid, usable);
+                    textures.putFetched(uuid, url);
+                    missedAt.remove(uuid);
                     cachedNow = true;
                 } else {
-                    // fallback to complete(), again only cache if skin exists
-                    if (tryComplete(profile) && profileHasSkin(profile)) {
-                        profileCache.put(uuid, profile);
-                        cachedNow = true;
-                    }
+                    if (missedAt.size() > 4096) missedAt.clear();
+                    missedAt.put(uuid, System.currentTimeMillis());
                 }
             } catch (Throwable ignored) {
             } finally {
                 inFlight.remove(uuid);
-                if (cachedNow || profileCache.containsKey(uuid)) {
+                if (cachedNow || textures.contains(uuid)) {
                     runRefreshCallbacks(uuid);
                 }
             }
         });
     }
 
+    private synchronized boolean tryAcquireFetch() {
+        long now = System.currentTimeMillis();
+        if (now - fetchWindowStartMs >= 60_000L) {
+            fetchWindowStartMs = now;
+            fetchesInWindow = 0;
+        }
+        if (fetchesInWindow >= fetchesPerMinute) return false;
+        fetchesInWindow++;
+        return true;
+    }
+
+    // --------------------
+    // Profile <-> skin URL
+    // --------------------
+
+    /** Hot profile, or one rebuilt from the cached skin URL; null if no skin is known yet. */
+    private Object cachedProfile(UUID uuid) {
+        SkinTextureCache.Texture tex = textures.get(uuid);
+        if (tex == null) {
+            synchronized (hotProfiles) { hotProfiles.remove(uuid); }
+            return null;
+        }
+
+        synchronized (hotProfiles) {
+            Object hot = hotProfiles.get(uuid);
+            if (hot != null) return hot;
+        }
+
+        Object rebuilt = profileFromSkinUrl(uuid, tex.skinUrl());
+        if (rebuilt != null) putHot(uuid, rebuilt);
+        return rebuilt;
+    }
+
+    private void putHot(UUID uuid, Object profile) {
+        if (uuid == null || profile == null) return;
+        synchronized (hotProfiles) { hotProfiles.put(uuid, profile); }
+    }
+
+    private Object profileFromSkinUrl(UUID uuid, String skinUrl) {
+        try {
+            Object profile = createProfile(uuid, null);
+            if (profile == null) return null;
+
+            Object tex = profile.getClass().getMethod("getTextures").invoke(profile);
+            if (tex == null) return null;
+
+            URL url = URI.create(skinUrl).toURL();
+            tex.getClass().getMethod("setSkin", URL.class).invoke(tex, url);
+
+            for (Method m : profile.getClass().getMethods()) {
+                if (!m.getName().equals("setTextures") || m.getParameterCount() != 1) continue;
+                if (!m.getParameterTypes()[0].isInstance(tex)) continue;
+                m.invoke(profile, tex);
+                break;
+            }
+
+            return profileHasSkin(profile) ? profile : null;
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
+    /** Skin URL of a profile, or null when it has none. */
+    private String skinUrlOf(Object profile) {
+        if (profile == null || !profileHasSkin(profile)) return null;
+        try {
+            Object tex = profile.getClass().getMethod("getTextures").invoke(profile);
+            Object skin = (tex == null) ? null : tex.getClass().getMethod("getSkin").invoke(tex);
+            return (skin == null) ? null : skin.toString();
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+
     private Object createProfile(UUID uuid, String nameHint) {
         Object p = null;
 
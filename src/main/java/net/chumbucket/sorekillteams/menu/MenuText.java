@@ -50,6 +50,7 @@ public final class MenuText {
         String teamName = (team == null || team.getName() == null ? "None" : Msg.color(team.getName()));
         String ownerName = "None";
         String members = (team == null ? "0" : String.valueOf(uniqueMemberCount(team)));
+        String online = (team == null ? "0" : String.valueOf(plugin.teams().countOnlineMembers(team.getId())));
 
         if (team != null && team.getOwner() != null) ownerName = nameOf(team.getOwner());
 
@@ -60,6 +61,7 @@ public final class MenuText {
         out = out.replace("{team}", teamName);
         out = out.replace("{owner}", ownerName);
         out = out.replace("{members}", members);
+        out = out.replace("{online}", online);
         out = out.replace("{invite_count}", String.valueOf(inviteCount));
         out = out.replace("{ff}", Msg.color(ff));
         out = out.replace("{chat}", Msg.color(chat));
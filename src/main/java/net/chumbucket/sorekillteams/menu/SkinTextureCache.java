@@ -0,0 +1,302 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.menu;
+
+import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
+import net.chumbucket.sorekillteams.network.RedisConnections;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import redis.clients.jedis.Jedis;
+
+import java.io.File;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ✅ Skin texture URLs for menu heads: size- and age-bounded, persisted, optionally shared over Redis.
+ * <p>
+ * Only the skin URL is stored (that's all a head needs); MenuSkullFactory turns it back into a
+ * profile. Layers, fastest first:
+ * <ol>
+ *   <li>in-memory LRU (max entries + max age)</li>
+ *   <li>{@code skin-cache.yml} in the plugin folder (loaded async at startup, saved when dirty)</li>
+ *   <li>Redis keys {@code <prefix>:skin:<uuid>} when the network is on, so one backend's fetch serves all;
+ *       each key expires with the cache max age, so the shared set stays bounded</li>
+ * </ol>
+ * Safe from any thread; Redis and file IO must stay off the main thread.
+ */
+final class SkinTextureCache {
+
+    private static final String FILE_NAME = "skin-cache.yml";
+    private static final String REDIS_KEY_PREFIX = "skin:";
+    // pre-TTL layout (one unbounded hash); dropped on start
+    private static final String LEGACY_REDIS_HASH = "skins";
+
+    record Texture(String skinUrl, long fetchedAtMs) {
+        String encode() {
+            return fetchedAtMs + "|" + skinUrl;
+        }
+
+        static Texture decode(String raw) {
+            if (raw == null) return null;
+            int bar = raw.indexOf('|');
+            if (bar <= 0 || bar == raw.length() - 1) return null;
+            try {
+                return new Texture(raw.substring(bar + 1), Long.parseLong(raw.substring(0, bar)));
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private final SorekillTeamsPlugin plugin;
+
+    private final int maxEntries;
+    private final long maxAgeMs;
+    private final boolean persist;
+    private final boolean shareViaRedis;
+
+    // access-ordered LRU; guarded by itself
+    private final LinkedHashMap<UUID, Texture> lru;
+
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private int saveTaskId = -1;
+
+    SkinTextureCache(SorekillTeamsPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+
+        ConfigurationSection sec = plugin.getConfig().getConfigurationSection("menus.skins");
+        this.maxEntries = Math.max(16, (sec == null) ? 2000 : sec.getInt("cache_max_entries", 2000));
+        this.maxAgeMs = Math.max(1L, (sec == null) ? 72L : sec.getLong("cache_max_age_hours", 72L)) * 3_600_000L;
+        this.persist = (sec == null) || sec.getBoolean("persist", true);
+        this.shareViaRedis = (sec == null) || sec.getBoolean("share_via_redis", true);
+
+        this.lru = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Texture> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // =========================
+    // Lifecycle
+    // =========================
+
+    /** Loads the file async and schedules periodic saves of new entries. */
+    void start() {
+        if (redis() != null) Bukkit.getScheduler().runTaskAsynchronously(plugin, this::dropLegacyHash);
+
+        if (!persist) return;
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, this::loadFile);
+
+        long period = 20L * 60L * 5L; // 5 min
+        saveTaskId = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            if (dirty.get()) saveFile();
+        }, period, period).getTaskId();
+    }
+
+    /** Synchronous final save (plugin disable). */
+    void shutdown() {
+        if (saveTaskId != -1) {
+            try { Bukkit.getScheduler().cancelTask(saveTaskId); } catch (Exception ignored) {}
+            saveTaskId = -1;
+        }
+        if (persist && dirty.get()) saveFile();
+    }
+
+    // =========================
+    // Memory layer
+    // =========================
+
+    /** Fresh in-memory texture, or null. */
+    Texture get(UUID uuid) {
+        if (uuid == null) return null;
+        synchronized (lru) {
+            Texture t = lru.get(uuid);
+            if (t == null) return null;
+            if (expired(t, System.currentTimeMillis())) {
+                lru.remove(uuid);
+                return null;
+            }
+            return t;
+        }
+    }
+
+    boolean contains(UUID uuid) {
+        return get(uuid) != null;
+    }
+
+    /** Stores a texture that was just fetched here: memory, file (later) and Redis. Call off-main. */
+    void putFetched(UUID uuid, String skinUrl) {
+        if (uuid == null || skinUrl == null || skinUrl.isBlank()) return;
+
+        Texture t = new Texture(skinUrl, System.currentTimeMillis());
+        putLocal(uuid, t);
+
+        RedisConnections r = redis();
+        if (r == null) return;
+        try (Jedis j = r.resource()) {
+            j.setex(redisKey(r, uuid), Math.max(1L, maxAgeMs / 1000L), t.encode());
+        } catch (Throwable t2) {
+            r.markFailure();
+        }
+    }
+
+    private void putLocal(UUID uuid, Texture t) {
+        synchronized (lru) {
+            Texture prev = lru.get(uuid);
+            if (prev != null && prev.fetchedAtMs() >= t.fetchedAtMs()) return;
+            lru.put(uuid, t);
+        }
+        dirty.set(true);
+    }
+
+    // =========================
+    // Redis layer
+    // =========================
+
+    /** Reads a texture another backend fetched (and keeps it locally). Call off-main. */
+    Texture fetchShared(UUID uuid) {
+        RedisConnections r = redis();
+        if (r == null || uuid == null) return null;
+
+        try (Jedis j = r.resource()) {
+            Texture t = Texture.decode(j.get(redisKey(r, uuid)));
+            // the TTL covers this backend's max age; a shorter local setting still applies
+            if (t == null || expired(t, System.currentTimeMillis())) return null;
+
+            putLocal(uuid, t);
+            return t;
+        } catch (Throwable t) {
+            r.markFailure();
+            return null;
+        }
+    }
+
+    private static String redisKey(RedisConnections r, UUID uuid) {
+        return r.key(REDIS_KEY_PREFIX + uuid);
+    }
+
+    private void dropLegacyHash() {
+        RedisConnections r = redis();
+        if (r == null) return;
+        try (Jedis j = r.resource()) {
+            j.del(r.key(LEGACY_REDIS_HASH));
+        } catch (Throwable t) {
+            r.markFailure();
+        }
+    }
+
+    private RedisConnections redis() {
+        if (!shareViaRedis) return null;
+        RedisConnections r = plugin.redis();
+        return (r == null || r.isClosed()) ? null : r;
+    }
+
+    // =========================
+    // File layer
+    // =========================
+
+    private void loadFile() {
+        File file = new File(plugin.getDataFolder(), FILE_NAME);
+        if (!file.exists()) return;
+
+        try {
+            YamlConfiguration yml = YamlConfiguration.loadConfiguration(file);
+            long now = System.currentTimeMillis();
+            int loaded = 0;
+
+            for (String k : yml.getKeys(false)) {
+                UUID uuid;
+                try {
+                    uuid = UUID.fromString(k);
+                } catch (IllegalArgumentException ignored) {
+                    continue;
+                }
+
+                Texture t = Texture.decode(yml.getString(k));
+                if (t == null || expired(t, now)) continue;
+
+                synchronized (lru) {
+                    // entries fetched since startup win
+                    if (lru.containsKey(uuid) || lru.size() >= maxEntries) continue;
+                    lru.put(uuid, t);
+                }
+                loaded++;
+            }
+
+            if (plugin.debug() != null && plugin.debug().enabled()) {
+                plugin.getLogger().info("[SKINS] Loaded " + loaded + " cached skin textures from " + FILE_NAME);
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load " + FILE_NAME + ": " + e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private synchronized void saveFile() {
+        dirty.set(false);
+
+        List<Map.Entry<UUID, Texture>> snapshot;
+        synchronized (lru) {
+            snapshot = new ArrayList<>(lru.entrySet().size());
+            long now = System.currentTimeMillis();
+            for (Iterator<Map.Entry<UUID, Texture>> it = lru.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<UUID, Texture> e = it.next();
+                if (expired(e.getValue(), now)) {
+                    it.remove();
+                    continue;
+                }
+                snapshot.add(Map.entry(e.getKey(), e.getValue()));
+            }
+        }
+
+        YamlConfiguration yml = new YamlConfiguration();
+        for (Map.Entry<UUID, Texture> e : snapshot) {
+            yml.set(e.getKey().toString(), e.getValue().encode());
+        }
+
+        File folder = plugin.getDataFolder();
+        if (!folder.exists() && !folder.mkdirs()) return;
+
+        File file = new File(folder, FILE_NAME);
+        File tmp = new File(folder, FILE_NAME + ".tmp");
+
+        try {
+            yml.save(tmp);
+            try {
+                Files.move(tmp.toPath(), file.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ignored) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            dirty.set(true);
+            plugin.getLogger().warning("Failed to save " + FILE_NAME + ": " + e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private boolean expired(Texture t, long now) {
+        return now - t.fetchedAtMs() > maxAgeMs;
+    }
+}
@@ -10,22 +10,29 @@
 
 package net.chumbucket.sorekillteams.model;
 
+import org.bukkit.ChatColor;
+
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 public final class Team {
 
     private static final String DEFAULT_NAME = "Team";
+    private static final Pattern MULTI_SPACE = Pattern.compile("\\s{2,}");
 
     private final UUID id;
     private final long createdAtMs;
 
-    private String name;
+    private volatile String name;
     private UUID owner;
 
+    // Display cache: name with '&' color codes translated (recomputed by setName)
+    private volatile String coloredName;
+
     // LinkedHashSet for deterministic order (stable saves / display)
     private final Set<UUID> members = new LinkedHashSet<>();
 
@@ -63,8 +70,18 @@ public final class Team {
      * Keeps it safe even if null/blank is passed.
      * Strict validation belongs in TeamNameValidator / service layer.
      */
-    public void setName(String name) {
-        this.name = sanitizeName(name);
+    public synchronized void setName(String name) {
+        final String sanitized = sanitizeName(name);
+        // both written together under the lock: a reader never caches a colored form of an older name
+        this.coloredName = ChatColor.translateAlternateColorCodes('&', sanitized);
+        this.name = sanitized;
+    }
+
+    /**
+     * Name with '&' color codes translated, computed once per rename (chat/broadcast hot paths).
+     */
+    public String getColoredName() {
+        return coloredName;
     }
 
     public UUID getOwner() {
@@ -106,7 +123,7 @@ public final class Team {
     }
 
     /** Convenience helper if you want it. Returns the previous (sanitized) name. */
-    public String renameTo(String newName) {
+    public synchronized String renameTo(String newName) {
         final String old = this.name;
         setName(newName);
         return old;
@@ -115,7 +132,7 @@ public final class Team {
     private static String sanitizeName(String input) {
         if (input == null) return DEFAULT_NAME;
 
-        final String cleaned = input.trim().replaceAll("\\s{2,}", " ");
+        final String cleaned = MULTI_SPACE.matcher(input.trim()).replaceAll(" ");
         return cleaned.isBlank() ? DEFAULT_NAME : cleaned;
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.network;
+
+import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
+import org.bukkit.Bukkit;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ Main-thread inbox for inbound network packets.
+ * <p>
+ * Subscriber threads enqueue work into a lock-free MPSC queue; one repeating sync task drains it every
+ * tick until the per-tick time budget is spent (the rest waits for the next tick), so a flood never turns
+ * into thousands of scheduler tasks or one long tick.
+ * <p>
+ * Work submitted with a coalesce key supersedes any not-yet-run work with the same key
+ * (e.g. repeated presence updates for one UUID): only the newest runs.
+ */
+public final class InboundDispatcher {
+
+    private static final class Entry {
+        final String key;
+        final Runnable task;
+
+        Entry(String key, Runnable task) {
+            this.key = key;
+            this.task = task;
+        }
+    }
+
+    private final SorekillTeamsPlugin plugin;
+    private final long budgetNanos;
+
+    private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, Entry> latestByKey = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private volatile boolean running = false;
+    private int taskId = -1;
+
+    // =========================
+    // Metrics
+    // =========================
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong overBudgetTicks = new AtomicLong();
+    private volatile int highWater = 0;
+
+    public InboundDispatcher(SorekillTeamsPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+
+        long budgetMicros = Math.max(250L, plugin.getConfig().getLong("redis.inbound.tick_budget_micros", 5_000L));
+        this.budgetNanos = budgetMicros * 1_000L;
+    }
+
+    public void start() {
+        if (running) return;
+        running = true;
+        taskId = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L).getTaskId();
+    }
+
+    public void stop() {
+        running = false;
+        if (taskId >= 0) {
+            try { Bukkit.getScheduler().cancelTask(taskId); } catch (Exception ignored) {}
+            taskId = -1;
+        }
+        queue.clear();
+        latestByKey.clear();
+        depth.set(0);
+    }
+
+    /** Runs {@code task} on the main thread in arrival order. */
+    public void submit(Runnable task) {
+        submit(null, task);
+    }
+
+    /**
+     * Runs {@code task} on the main thread unless newer work with the same {@code coalesceKey}
+     * is submitted before it gets its turn.
+     */
+    public void submit(String coalesceKey, Runnable task) {
+        if (task == null || !running) return;
+
+        Entry e = new Entry(coalesceKey, task);
+        if (coalesceKey != null) {
+            Entry prev = latestByKey.put(coalesceKey, e);
+            if (prev != null) superseded.incrementAndGet();
+        }
+
+        queue.add(e);
+        submitted.incrementAndGet();
+
+        int d = depth.incrementAndGet();
+        if (d > highWater) highWater = d;
+    }
+
+    private void drain() {
+        if (queue.isEmpty()) return;
+
+        long deadline = System.nanoTime() + budgetNanos;
+
+        Entry e;
+        while ((e = queue.poll()) != null) {
+            depth.decrementAndGet();
+
+            // a newer entry with the same key is queued behind this one
+            if (e.key != null && !latestByKey.remove(e.key, e)) continue;
+
+            try {
+                e.task.run();
+            } catch (Throwable t) {
+                plugin.getLogger().warning("Inbound network handler failed: " + t.getClass().getSimpleName() + ": " + t.getMessage());
+            }
+            executed.incrementAndGet();
+
+            if (System.nanoTime() >= deadline) {
+                if (!queue.isEmpty()) overBudgetTicks.incrementAndGet();
+                break;
+            }
+        }
+    }
+
+    // =========================
+    // Metrics
+    // =========================
+
+    public int depth() { return Math.max(0, depth.get()); }
+    public int highWater() { return highWater; }
+    public long submitted() { return submitted.get(); }
+    public long executed() { return executed.get(); }
+    public long superseded() { return superseded.get(); }
+    public long overBudgetTicks() { return overBudgetTicks.get(); }
+
+    public String statsLine() {
+        return "depth=" + depth() +
+                " highWater=" + highWater +
+                " submitted=" + submitted() +
+                " executed=" + executed() +
+                " superseded=" + superseded() +
+                " overBudgetTicks=" + overBudgetTicks() +
+                " budgetUs=" + (budgetNanos / 1_000L);
+    }
+}
@@ -147,6 +147,58 @@ public final class InvitePacket {
         return new InvitePacket(origin, type, teamId, teamName, inviterUuid, inviterName, inviteeUuid, inviteeName, createdAt, expiresAt);
     }
 
+    // =========================
+    // ✅ Binary wire format (see WireCodec)
+    // =========================
+
+    public byte[] toBytes() {
+        return WireCodec.writer(WireCodec.KIND_INVITE, 112)
+                .writeString(originServer)
+                .writeEnum(type)
+                .writeUuid(teamId)
+                .writeString(teamName)
+                .writeUuid(inviterUuid)
+                .writeString(inviterName)
+                .writeUuid(inviteeUuid)
+                .writeString(inviteeName)
+                .writeVarLong(createdAtMs)
+                .writeVarLong(expiresAtMs)
+                .toBytes();
+    }
+
+    /**
+     * Decodes a raw pub/sub payload: binary frames via {@link #fromBytes}, anything else as legacy text.
+     */
+    public static InvitePacket decode(byte[] raw) {
+        if (raw == null || raw.length == 0) return null;
+        if (WireCodec.isBinary(raw)) return fromBytes(raw);
+        return decode(WireCodec.utf8(raw));
+    }
+
+    public static InvitePacket fromBytes(byte[] raw) {
+        WireCodec.Reader r = WireCodec.reader(raw, WireCodec.KIND_INVITE);
+        if (r == null) return null;
+
+        try {
+            String origin = r.readString();
+            Type type = r.readEnum(Type.class);
+            UUID teamId = r.readUuid();
+            String teamName = r.readString();
+            UUID inviterUuid = r.readUuid();
+            String inviterName = r.readString();
+            UUID inviteeUuid = r.readUuid();
+            String inviteeName = r.readString();
+            long createdAt = r.readVarLong();
+            long expiresAt = r.readVarLong();
+
+            if (origin.isBlank() || teamId == null || inviterUuid == null || inviteeUuid == null) return null;
+
+            return new InvitePacket(origin, type, teamId, teamName, inviterUuid, inviterName, inviteeUuid, inviteeName, createdAt, expiresAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private static UUID safeUuid(String s) {
         if (s == null || s.isBlank()) return null;
         try { return UUID.fromString(s.trim()); }
@@ -54,6 +54,47 @@ public final class InviteTogglePacket {
         return new InviteTogglePacket(origin, uuid, name, enabled, at);
     }
 
+    // =========================
+    // ✅ Binary wire format (see WireCodec)
+    // =========================
+
+    public byte[] toBytes() {
+        return WireCodec.writer(WireCodec.KIND_INVITE_TOGGLE, 48)
+                .writeString(originServer)
+                .writeUuid(playerUuid)
+                .writeString(playerName)
+                .writeBool(enabled)
+                .writeVarLong(atMs)
+                .toBytes();
+    }
+
+    /**
+     * Decodes a raw pub/sub payload: binary frames via {@link #fromBytes}, anything else as legacy text.
+     */
+    public static InviteTogglePacket decode(byte[] raw) {
+        if (raw == null || raw.length == 0) return null;
+        if (WireCodec.isBinary(raw)) return fromBytes(raw);
+        return decode(WireCodec.utf8(raw));
+    }
+
+    public static InviteTogglePacket fromBytes(byte[] raw) {
+        WireCodec.Reader r = WireCodec.reader(raw, WireCodec.KIND_INVITE_TOGGLE);
+        if (r == null) return null;
+
+        try {
+            String origin = r.readString();
+            UUID uuid = r.readUuid();
+            String name = r.readString();
+            boolean enabled = r.readBool();
+            long at = r.readVarLong();
+
+            if (origin.isBlank() || uuid == null) return null;
+            return new InviteTogglePacket(origin, uuid, name, enabled, at);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private static UUID safeUuid(String s) {
         if (s == null || s.isBlank()) return null;
         try { return UUID.fromString(s.trim()); } catch (Exception e) { return null; }
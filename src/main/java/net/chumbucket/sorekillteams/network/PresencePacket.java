@@ -94,6 +94,50 @@ public final class PresencePacket {
         return new PresencePacket(origin, type, uuid, name, serverId, atMs);
     }
 
+    // =========================
+    // ✅ Binary wire format (see WireCodec)
+    // =========================
+
+    public byte[] toBytes() {
+        return WireCodec.writer(WireCodec.KIND_PRESENCE, 56)
+                .writeString(originServer)
+                .writeEnum(type)
+                .writeUuid(playerUuid)
+                .writeString(playerName)
+                .writeString(serverId)
+                .writeVarLong(atMs)
+                .toBytes();
+    }
+
+    /**
+     * Decodes a raw pub/sub payload: binary frames via {@link #fromBytes}, anything else as legacy text.
+     */
+    public static PresencePacket decode(byte[] raw) {
+        if (raw == null || raw.length == 0) return null;
+        if (WireCodec.isBinary(raw)) return fromBytes(raw);
+        return decode(WireCodec.utf8(raw));
+    }
+
+    public static PresencePacket fromBytes(byte[] raw) {
+        WireCodec.Reader r = WireCodec.reader(raw, WireCodec.KIND_PRESENCE);
+        if (r == null) return null;
+
+        try {
+            String origin = r.readString();
+            Type type = r.readEnum(Type.class);
+            UUID uuid = r.readUuid();
+            String name = r.readString();
+            String serverId = r.readString();
+            long atMs = r.readVarLong();
+
+            if (origin.isBlank() || uuid == null) return null;
+
+            return new PresencePacket(origin, type, uuid, name, serverId, atMs);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private static UUID safeUuid(String s) {
         if (s == null || s.isBlank()) return null;
         try { return UUID.fromString(s.trim()); }
@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.network;
+
+import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisPool;
+
+/**
+ * ✅ Shared Redis connections for every bus.
+ * <p>
+ * Configured once from the {@code redis:} section. Publishes and KV commands borrow a long-lived
+ * connection from a {@link JedisPool} (no TLS handshake / AUTH per call). Subscribers block their
+ * connection for its lifetime, so they get a dedicated one via {@link #newSubscriberConnection()}
+ * instead of pinning a pool slot.
+ */
+public final class RedisConnections {
+
+    private final SorekillTeamsPlugin plugin;
+
+    private final String prefix;
+    private final HostAndPort address;
+    private final JedisClientConfig clientConfig;
+    private final JedisPool pool;
+    private final int maxTotal;
+    private final boolean binaryWire;
+
+    // =========================
+    // Metrics
+    // =========================
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong publishes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public RedisConnections(SorekillTeamsPlugin plugin, ConfigurationSection sec) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+        if (sec == null) throw new IllegalArgumentException("redis section missing");
+
+        String p = sec.getString("channel_prefix", "sorekillteams");
+        this.prefix = (p == null || p.isBlank()) ? "sorekillteams" : p;
+
+        String host = sec.getString("host", "127.0.0.1");
+        int port = Math.max(1, sec.getInt("port", 6379));
+        int timeoutMs = Math.max(1000, sec.getInt("timeout_ms", 5000));
+
+        DefaultJedisClientConfig.Builder b = DefaultJedisClientConfig.builder()
+                .ssl(sec.getBoolean("use_ssl", false))
+                .connectionTimeoutMillis(timeoutMs)
+                .socketTimeoutMillis(timeoutMs)
+                .database(Math.max(0, sec.getInt("database", 0)));
+
+        String username = sec.getString("username", "");
+        String password = sec.getString("password", "");
+        String clientName = sec.getString("client_name", "");
+        if (username != null && !username.isBlank()) b.user(username);
+        if (password != null && !password.isBlank()) b.password(password);
+        if (clientName != null && !clientName.isBlank()) b.clientName(clientName);
+
+        this.address = new HostAndPort(host, port);
+        this.clientConfig = b.build();
+
+        this.maxTotal = Math.max(1, sec.getInt("pool.max_total", 8));
+
+        // "text" keeps mixed-version networks working; switch to "binary" once every backend understands it
+        this.binaryWire = "binary".equalsIgnoreCase(sec.getString("wire_format", "text"));
+
+        GenericObjectPoolConfig<Jedis> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxIdle(Math.max(0, Math.min(maxTotal, sec.getInt("pool.max_idle", maxTotal))));
+        poolConfig.setMinIdle(Math.max(0, Math.min(maxTotal, sec.getInt("pool.min_idle", 1))));
+        poolConfig.setBlockWhenExhausted(true);
+        poolConfig.setMaxWait(Duration.ofMillis(Math.max(100L, sec.getLong("pool.max_wait_ms", 2000L))));
+        poolConfig.setTestWhileIdle(true);
+        poolConfig.setTimeBetweenEvictionRuns(Duration.ofSeconds(30));
+        poolConfig.setJmxEnabled(false);
+
+        this.pool = new JedisPool(poolConfig, address, clientConfig);
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    /** e.g. {@code channel("team_events") -> "sorekillteams:team_events"} */
+    public String channel(String suffix) {
+        return prefix + ":" + suffix;
+    }
+
+    /** Same namespace for KV keys, e.g. {@code key("invites_disabled")}. */
+    public String key(String suffix) {
+        return prefix + ":" + suffix;
+    }
+
+    /** True when packets should be published in the compact binary format ({@link WireCodec}). */
+    public boolean binaryWire() {
+        return binaryWire;
+    }
+
+    /**
+     * Borrows a pooled connection. Always use try-with-resources: {@code close()} returns it to the pool.
+     */
+    public Jedis resource() {
+        borrows.incrementAndGet();
+        return pool.getResource();
+    }
+
+    /**
+     * A dedicated (non-pooled) connection for a blocking subscribe loop.
+     */
+    public Jedis newSubscriberConnection() {
+        return new Jedis(address, clientConfig);
+    }
+
+    /**
+     * Best-effort publish on a Bukkit async thread using a pooled connection.
+     */
+    public void publishAsync(String channel, String message) {
+        if (channel == null || message == null) return;
+        if (pool.isClosed()) return;
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> publishNow(channel, message));
+    }
+
+    /**
+     * Binary-safe variant of {@link #publishAsync(String, String)}.
+     */
+    public void publishAsync(String channel, byte[] message) {
+        if (channel == null || message == null) return;
+        if (pool.isClosed()) return;
+
+        byte[] ch = channel.getBytes(StandardCharsets.UTF_8);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try (Jedis jedis = resource()) {
+                jedis.publish(ch, message);
+                publishes.incrementAndGet();
+            } catch (Throwable t) {
+                failures.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Synchronous publish on the calling thread (never call from the main thread).
+     */
+    public boolean publishNow(String channel, String message) {
+        if (channel == null || message == null) return false;
+        try (Jedis jedis = resource()) {
+            jedis.publish(channel, message);
+            publishes.incrementAndGet();
+            return true;
+        } catch (Throwable t) {
+            failures.incrementAndGet();
+            return false;
+        }
+    }
+
+    /** Record a failed pooled command (callers that swallow their own exceptions). */
+    public void markFailure() {
+        failures.incrementAndGet();
+    }
+
+    public void close() {
+        try { pool.close(); } catch (Exception ignored) {}
+    }
+
+    public boolean isClosed() {
+        return pool.isClosed();
+    }
+
+    // =========================
+    // Metrics
+    // =========================
+
+    public int active() { return pool.getNumActive(); }
+    public int idle() { return pool.getNumIdle(); }
+    public int waiters() { return pool.getNumWaiters(); }
+    public long borrows() { return borrows.get(); }
+    public long publishes() { return publishes.get(); }
+    public long failures() { return failures.get(); }
+
+    public String statsLine() {
+        return "active=" + active() + "/" + maxTotal +
+                " idle=" + idle() +
+                " waiters=" + waiters() +
+                " borrows=" + borrows() +
+                " publishes=" + publishes() +
+                " failures=" + failures() +
+                " meanBorrowWaitMs=" + pool.getMeanBorrowWaitTimeMillis() +
+                " maxBorrowWaitMs=" + pool.getMaxBorrowWaitTimeMillis();
+    }
+}
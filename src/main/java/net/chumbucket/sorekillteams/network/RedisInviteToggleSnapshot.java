@@ -13,42 +13,30 @@ package net.chumbucket.sorekillteams.network;
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
 import net.chumbucket.sorekillteams.service.SimpleTeamService;
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.ConfigurationSection;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import redis.clients.jedis.Jedis;
+
 public final class RedisInviteToggleSnapshot {
 
     private RedisInviteToggleSnapshot() {}
 
-    public static void loadAsync(SorekillTeamsPlugin plugin, ConfigurationSection sec) {
-        if (plugin == null || sec == null) return;
+    public static void loadAsync(SorekillTeamsPlugin plugin, RedisConnections redis) {
+        if (plugin == null || redis == null) return;
         if (!(plugin.teams() instanceof SimpleTeamService simple)) return;
 
-        String prefix = sec.getString("channel_prefix", "sorekillteams");
-        if (prefix == null || prefix.isBlank()) prefix = "sorekillteams";
-        String key = prefix + ":invites_disabled";
+        String key = redis.key("invites_disabled");
 
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
             Set<String> raw;
-            try (var jedis = new redis.clients.jedis.Jedis(
-                    new redis.clients.jedis.HostAndPort(
-                            sec.getString("host", "127.0.0.1"),
-                            Math.max(1, sec.getInt("port", 6379))
-                    ),
-                    redis.clients.jedis.DefaultJedisClientConfig.builder()
-                            .ssl(sec.getBoolean("use_ssl", false))
-                            .connectionTimeoutMillis(Math.max(1000, sec.getInt("timeout_ms", 5000)))
-                            .socketTimeoutMillis(Math.max(1000, sec.getInt("timeout_ms", 5000)))
-                            .user(sec.getString("username", ""))
-                            .password(sec.getString("password", ""))
-                            .build()
-            )) {
+            try (Jedis jedis = redis.resource()) {
                 raw = jedis.smembers(key);
             } catch (Throwable t) {
+                redis.markFailure();
                 raw = null;
             }
 
@@ -12,23 +12,24 @@ package net.chumbucket.sorekillteams.network;
 
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import redis.clients.jedis.DefaultJedisClientConfig;
-import redis.clients.jedis.HostAndPort;
 import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.params.ScanParams;
 import redis.clients.jedis.resps.ScanResult;
 
 public final class RedisPresenceBus {
 
     private static final String ONLINE_KEY_PREFIX = "online:";
+    private static final String ONLINE_INDEX_KEY = "online_index";
+    private static final String ONLINE_NAMES_KEY = "online_names";
 
     // server + name are stored in the redis value.
     // using a rarely-used ASCII unit separator so names like "a|b" won't break parsing
@@ -38,18 +39,16 @@ public final class RedisPresenceBus {
     private final String originServer;
 
     private final String channel;
+    private final byte[] channelBytes;
     private final String keyPrefix; // e.g. sorekillteams:online:<uuid>
+    private final String indexKey;  // ZSET uuid -> last heartbeat ms (live set without SCAN)
+    private final String namesKey;  // HASH uuid -> server+SEP+name
 
-    private final String host;
-    private final int port;
-    private final String username;
-    private final String password;
-    private final boolean ssl;
-    private final int timeoutMs;
+    private final RedisConnections redis;
+    private final RedisSubscriptionMux mux;
 
     private final AtomicBoolean running = new AtomicBoolean(false);
-    private Thread subThread;
-    private JedisPubSub pubSub;
+    private RedisSubscriptionMux.Handler handler;
 
     private int heartbeatTaskId = -1;
     private int snapshotTaskId = -1;
@@ -57,66 +56,52 @@ public final class RedisPresenceBus {
     // ✅ Cached view for tab completion and other fast lookups
     private final Map<UUID, String> cachedNamesByUuid = new ConcurrentHashMap<>();
 
-    public RedisPresenceBus(SorekillTeamsPlugin plugin, ConfigurationSection sec, String originServer) {
+    public RedisPresenceBus(SorekillTeamsPlugin plugin, RedisConnections redis, RedisSubscriptionMux mux, String originServer) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
         this.originServer = (originServer == null || originServer.isBlank()) ? "default" : originServer.trim();
 
-        if (sec == null) throw new IllegalArgumentException("redis section missing");
+        this.redis = Objects.requireNonNull(redis, "redis");
+        this.mux = Objects.requireNonNull(mux, "mux");
 
-        this.host = sec.getString("host", "127.0.0.1");
-        this.port = Math.max(1, sec.getInt("port", 6379));
-        this.username = sec.getString("username", "");
-        this.password = sec.getString("password", "");
-        this.ssl = sec.getBoolean("use_ssl", false);
-        this.timeoutMs = Math.max(1000, sec.getInt("timeout_ms", 5000));
-
-        String prefix = sec.getString("channel_prefix", "sorekillteams");
-        if (prefix == null || prefix.isBlank()) prefix = "sorekillteams";
+        String prefix = redis.prefix();
 
         this.channel = prefix + ":presence";
+        this.channelBytes = channel.getBytes(StandardCharsets.UTF_8);
         this.keyPrefix = prefix + ":" + ONLINE_KEY_PREFIX; // e.g. sorekillteams:online:<uuid>
+        this.indexKey = prefix + ":" + ONLINE_INDEX_KEY;
+        this.namesKey = prefix + ":" + ONLINE_NAMES_KEY;
     }
 
     public void start() {
         if (!running.compareAndSet(false, true)) return;
 
-        pubSub = new JedisPubSub() {
-            @Override
-            public void onMessage(String ch, String message) {
-                if (!running.get()) return;
-                if (message == null || message.isBlank()) return;
+        handler = this::onMessage;
+        mux.register(channel, handler);
 
-                PresencePacket pkt = PresencePacket.decode(message);
-                if (pkt == null) return;
+        startHeartbeatTask();
+        startSnapshotTask(); // ✅ so new backends learn current online users
 
-                // ignore self-origin
-                if (originServer.equalsIgnoreCase(pkt.originServer())) return;
+        plugin.getLogger().info("PresenceBus=Redis routing '" + channel + "' as server='" + originServer + "'");
+    }
 
-                // ✅ update our local cache immediately (tab completion needs this)
-                applyPacketToCache(pkt);
+    private void onMessage(byte[] message) {
+        if (!running.get()) return;
+        if (message == null || message.length == 0) return;
 
-                // keep your existing hook for other behaviors
-                Bukkit.getScheduler().runTask(plugin, () -> plugin.onRemotePresence(pkt));
-            }
-        };
-
-        subThread = new Thread(() -> {
-            while (running.get()) {
-                try (Jedis jedis = newJedis()) {
-                    jedis.subscribe(pubSub, channel);
-                } catch (Throwable t) {
-                    try { Thread.sleep(1000L); } catch (InterruptedException ignored) {}
-                }
-            }
-        }, "SorekillTeams-RedisPresenceSub");
+        PresencePacket pkt = PresencePacket.decode(message);
+        if (pkt == null) return;
 
-        subThread.setDaemon(true);
-        subThread.start();
+        // ignore self-origin
+        if (originServer.equalsIgnoreCase(pkt.originServer())) return;
 
-        startHeartbeatTask();
-        startSnapshotTask(); // ✅ so new backends learn current online users
+        // ✅ update our local cache immediately (tab completion needs this)
+        applyPacketToCache(pkt);
 
-        plugin.getLogger().info("PresenceBus=Redis subscribed to '" + channel + "' as server='" + originServer + "'");
+        // keep your existing hook for other behaviors
+        // ✅ only the newest presence state per player AND origin reaches the main thread: a server
+        // switch sends OFFLINE from the old backend and ONLINE from the new one, and both must apply
+        String key = (pkt.playerUuid() == null) ? null : "presence:" + pkt.originServer() + ":" + pkt.playerUuid();
+        mux.runOnMain(key, () -> plugin.onRemotePresence(pkt));
     }
 
     public void stop() {
@@ -132,12 +117,8 @@ public final class RedisPresenceBus {
             snapshotTaskId = -1;
         }
 
-        try { if (pubSub != null) pubSub.unsubscribe(); } catch (Exception ignored) {}
-        if (subThread != null) {
-            try { subThread.interrupt(); } catch (Exception ignored) {}
-            subThread = null;
-        }
-        pubSub = null;
+        mux.unregister(channel, handler);
+        handler = null;
 
         cachedNamesByUuid.clear();
     }
@@ -156,6 +137,13 @@ public final class RedisPresenceBus {
         return out;
     }
 
+    /**
+     * UUIDs currently known online network-wide (from heartbeats, snapshots and packets).
+     */
+    public Set<UUID> cachedOnlineUuids() {
+        return new HashSet<>(cachedNamesByUuid.keySet());
+    }
+
     /**
      * Mark a player online:
      * ✅ Only publish ONLINE if they were NOT already online network-wide.
@@ -175,24 +163,31 @@ public final class RedisPresenceBus {
         int ttlSeconds = Math.max(10, plugin.getConfig().getInt("redis.presence_ttl_seconds", 25));
 
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (Jedis jedis = newJedis()) {
+            try (Jedis jedis = redis.resource()) {
                 final String key = keyPrefix + u;
+                final String value = encodeValue(originServer, playerName);
 
-                boolean alreadyOnline = jedis.exists(key);
-
+                // ✅ one round-trip: existence check + ownership refresh + index update
+                Pipeline pipe = jedis.pipelined();
+                Response<Boolean> existed = pipe.exists(key);
                 // Always refresh/take ownership so future OFFLINE ownership checks are correct
-                jedis.setex(key, ttlSeconds, encodeValue(originServer, playerName));
+                pipe.setex(key, ttlSeconds, value);
+                pipe.zadd(indexKey, System.currentTimeMillis(), u.toString());
+                pipe.hset(namesKey, u.toString(), value);
+                pipe.sync();
+
+                boolean alreadyOnline = Boolean.TRUE.equals(existed.get());
 
                 // ✅ Edge-trigger: only publish ONLINE if key did not exist
                 if (!alreadyOnline) {
-                    jedis.publish(channel, new PresencePacket(
+                    publish(jedis, new PresencePacket(
                             originServer,
                             PresencePacket.Type.ONLINE,
                             u,
                             playerName,
                             originServer,
                             System.currentTimeMillis()
-                    ).encode());
+                    ));
                 }
             } catch (Throwable ignored) {}
         });
@@ -227,7 +222,7 @@ public final class RedisPresenceBus {
         cachedNamesByUuid.remove(uuid);
 
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (Jedis jedis = newJedis()) {
+            try (Jedis jedis = redis.resource()) {
                 String key = keyPrefix + uuid;
 
                 // If another backend already claimed this player, do NOT publish offline.
@@ -240,16 +235,22 @@ public final class RedisPresenceBus {
                     return;
                 }
 
-                jedis.del(key);
-
-                jedis.publish(channel, new PresencePacket(
+                PresencePacket pkt = new PresencePacket(
                         originServer,
                         PresencePacket.Type.OFFLINE,
                         uuid,
                         safe(nameHint),
                         originServer,
                         System.currentTimeMillis()
-                ).encode());
+                );
+
+                Pipeline pipe = jedis.pipelined();
+                pipe.del(key);
+                pipe.zrem(indexKey, uuid.toString());
+                pipe.hdel(namesKey, uuid.toString());
+                if (redis.binaryWire()) pipe.publish(channelBytes, pkt.toBytes());
+                else pipe.publish(channel, pkt.encode());
+                pipe.sync();
             } catch (Throwable ignored) {}
         });
     }
@@ -259,7 +260,7 @@ public final class RedisPresenceBus {
      */
     public boolean isOnlineNetwork(UUID uuid) {
         if (!running.get() || uuid == null) return false;
-        try (Jedis jedis = newJedis()) {
+        try (Jedis jedis = redis.resource()) {
             return jedis.exists(keyPrefix + uuid);
         } catch (Throwable t) {
             return false;
@@ -268,7 +269,7 @@ public final class RedisPresenceBus {
 
     public String serverFor(UUID uuid) {
         if (!running.get() || uuid == null) return null;
-        try (Jedis jedis = newJedis()) {
+        try (Jedis jedis = redis.resource()) {
             return parseServer(jedis.get(keyPrefix + uuid));
         } catch (Throwable t) {
             return null;
@@ -280,34 +281,67 @@ public final class RedisPresenceBus {
 
         long periodTicks = Math.max(40L, plugin.getConfig().getLong("redis.presence_heartbeat_period_ticks", 200L));
 
-        heartbeatTaskId = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+        // snapshot the player list on the main thread, write it off-thread
+        heartbeatTaskId = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
             if (!running.get()) return;
 
-            int ttlSeconds = Math.max(10, plugin.getConfig().getInt("redis.presence_ttl_seconds", 25));
+            Map<UUID, String> online = new HashMap<>();
+            for (Player p : Bukkit.getOnlinePlayers()) {
+                if (p == null) continue;
+                UUID u = p.getUniqueId();
+                if (u == null) continue;
 
-            try (Jedis jedis = newJedis()) {
-                for (Player p : Bukkit.getOnlinePlayers()) {
-                    if (p == null) continue;
-                    UUID u = p.getUniqueId();
-                    if (u == null) continue;
+                String name = safe(p.getName());
+                if (!name.isBlank()) cachedNamesByUuid.put(u, name);
+                online.put(u, name);
+            }
 
-                    String name = safe(p.getName());
-                    if (!name.isBlank()) cachedNamesByUuid.put(u, name);
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> writeHeartbeat(online));
+        }, periodTicks, periodTicks).getTaskId();
+    }
+
+    /**
+     * ✅ One pipelined round-trip per heartbeat regardless of player count:
+     * refresh each owned key, bump last-seen scores in the index, and trim expired index entries.
+     */
+    private void writeHeartbeat(Map<UUID, String> online) {
+        if (!running.get()) return;
+
+        int ttlSeconds = Math.max(10, plugin.getConfig().getInt("redis.presence_ttl_seconds", 25));
+        long now = System.currentTimeMillis();
+
+        try (Jedis jedis = redis.resource()) {
+            Pipeline pipe = jedis.pipelined();
+
+            if (!online.isEmpty()) {
+                Map<String, String> names = new HashMap<>(online.size() * 2);
+                for (Map.Entry<UUID, String> e : online.entrySet()) {
+                    String id = e.getKey().toString();
+                    String value = encodeValue(originServer, e.getValue());
 
                     // refresh and keep ownership updated
-                    jedis.setex(keyPrefix + u, ttlSeconds, encodeValue(originServer, name));
+                    pipe.setex(keyPrefix + id, ttlSeconds, value);
+                    pipe.zadd(indexKey, now, id);
+                    names.put(id, value);
                 }
-            } catch (Throwable ignored) {}
+                pipe.hset(namesKey, names);
+            }
 
-        }, periodTicks, periodTicks).getTaskId();
+            // any backend's heartbeat expires entries nobody refreshed within the TTL
+            pipe.zremrangeByScore(indexKey, 0, now - ttlSeconds * 1000L);
+            pipe.sync();
+        } catch (Throwable ignored) {
+            redis.markFailure();
+        }
     }
 
     /**
-     * ✅ Periodically SCAN redis for online keys and hydrate the cache.
+     * ✅ Periodically read the online index and hydrate the cache (no SCAN).
      *
      * This solves the “backend started later” problem:
      * - markOnline is edge-triggered (won't republish every heartbeat)
      * - without snapshots, a new backend wouldn't learn existing online names
+     * The live set (scores within the TTL) and the names hash are read in one pipelined round-trip.
      */
     private void startSnapshotTask() {
         if (!running.get()) return;
@@ -317,50 +351,105 @@ public final class RedisPresenceBus {
         snapshotTaskId = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
             if (!running.get()) return;
 
-            Map<UUID, String> snap = new HashMap<>();
+            int ttlSeconds = Math.max(10, plugin.getConfig().getInt("redis.presence_ttl_seconds", 25));
+            long now = System.currentTimeMillis();
+
+            List<String> live;
+            Map<String, String> names;
+
+            try (Jedis jedis = redis.resource()) {
+                Pipeline pipe = jedis.pipelined();
+                Response<List<String>> liveRes = pipe.zrangeByScore(indexKey, now - ttlSeconds * 1000L, Double.POSITIVE_INFINITY);
+                Response<Map<String, String>> namesRes = pipe.hgetAll(namesKey);
+                pipe.sync();
+
+                live = liveRes.get();
+                names = namesRes.get();
+
+                // drop name entries whose index entry already expired (rare; only costs a write when needed)
+                if (names != null && !names.isEmpty()) {
+                    Set<String> liveSet = (live == null) ? Set.of() : new HashSet<>(live);
+                    List<String> stale = new ArrayList<>();
+                    for (String id : names.keySet()) {
+                        if (!liveSet.contains(id)) stale.add(id);
+                    }
+                    if (!stale.isEmpty()) jedis.hdel(namesKey, stale.toArray(new String[0]));
+                }
 
-            try (Jedis jedis = newJedis()) {
-                String cursor = "0";
-                ScanParams params = new ScanParams()
-                        .match(keyPrefix + "*")
-                        .count(200);
+                if (plugin.getConfig().getBoolean("redis.presence_legacy_scan", false)) {
+                    live = (live == null) ? new ArrayList<>() : new ArrayList<>(live);
+                    names = (names == null) ? new HashMap<>() : new HashMap<>(names);
+                    addLegacyOnlineKeys(jedis, live, names);
+                }
+            } catch (Throwable t) {
+                // If redis unreachable, don't nuke cache; just keep what we have.
+                redis.markFailure();
+                return;
+            }
 
-                // safety cap so huge redis doesn't stall
-                int loops = 0;
+            Map<UUID, String> snap = new HashMap<>();
+            Map<UUID, String> remoteServers = new HashMap<>();
+            if (live != null) {
+                for (String id : live) {
+                    UUID uuid = safeUuid(id);
+                    if (uuid == null) continue;
+
+                    String value = (names == null) ? null : names.get(id);
+                    String name = parseName(value);
+                    if (name != null && !name.isBlank()) snap.put(uuid, name);
+
+                    String server = parseServer(value);
+                    if (server == null || !server.equalsIgnoreCase(originServer)) {
+                        remoteServers.put(uuid, server == null ? "" : server);
+                    }
+                }
+            }
 
-                do {
-                    ScanResult<String> res = jedis.scan(cursor, params);
-                    cursor = res.getCursor();
+            // merge snap into cache, but also drop stale entries not present in snap
+            cachedNamesByUuid.keySet().retainAll(snap.keySet());
+            cachedNamesByUuid.putAll(snap);
 
-                    for (String key : res.getResult()) {
-                        if (key == null) continue;
+            // ✅ re-baseline the team online index (corrects any missed/out-of-order packets)
+            mux.runOnMain("presence_snapshot", () -> plugin.onPresenceSnapshot(remoteServers));
 
-                        // key format: <keyPrefix><uuid>
-                        String idPart = key.substring(keyPrefix.length());
-                        UUID uuid = safeUuid(idPart);
-                        if (uuid == null) continue;
+        }, periodTicks, periodTicks).getTaskId();
+    }
 
-                        String raw = jedis.get(key);
-                        String name = parseName(raw);
-                        if (name != null && !name.isBlank()) {
-                            snap.put(uuid, name);
-                        }
-                    }
+    /**
+     * Mixed-version networks: backends from before the online index only write {@code online:<uuid>}
+     * keys. SCAN those (capped like the old snapshot) and MGET the ones missing from the index.
+     */
+    private void addLegacyOnlineKeys(Jedis jedis, List<String> live, Map<String, String> names) {
+        Set<String> indexed = new HashSet<>(live);
+        List<String> keys = new ArrayList<>();
+
+        ScanParams params = new ScanParams().match(keyPrefix + "*").count(200);
+        String cursor = "0";
+        int loops = 0;
+        do {
+            ScanResult<String> res = jedis.scan(cursor, params);
+            cursor = res.getCursor();
+            for (String key : res.getResult()) {
+                if (key != null && !indexed.contains(key.substring(keyPrefix.length()))) keys.add(key);
+            }
+        } while (!"0".equals(cursor) && ++loops < 10);
 
-                    loops++;
-                    if (loops >= 10) break; // cap work per run
-                } while (!"0".equals(cursor));
-            } catch (Throwable ignored) {}
+        if (keys.isEmpty()) return;
 
-            if (!snap.isEmpty()) {
-                // merge snap into cache, but also drop stale entries not present in snap
-                cachedNamesByUuid.keySet().retainAll(snap.keySet());
-                cachedNamesByUuid.putAll(snap);
-            } else {
-                // If redis unreachable, don't nuke cache; just keep what we have.
-            }
+        List<String> values = jedis.mget(keys.toArray(new String[0]));
+        for (int i = 0; i < keys.size() && i < values.size(); i++) {
+            String value = values.get(i);
+            if (value == null) continue; // expired between SCAN and MGET
 
-        }, periodTicks, periodTicks).getTaskId();
+            String id = keys.get(i).substring(keyPrefix.length());
+            live.add(id);
+            names.put(id, value);
+        }
+    }
+
+    private void publish(Jedis jedis, PresencePacket pkt) {
+        if (redis.binaryWire()) jedis.publish(channelBytes, pkt.toBytes());
+        else jedis.publish(channel, pkt.encode());
     }
 
     private void applyPacketToCache(PresencePacket pkt) {
@@ -403,16 +492,4 @@ public final class RedisPresenceBus {
         if (idx + 1 >= raw.length()) return "";
         return raw.substring(idx + 1);
     }
-
-    private Jedis newJedis() {
-        DefaultJedisClientConfig.Builder b = DefaultJedisClientConfig.builder()
-                .ssl(ssl)
-                .connectionTimeoutMillis(timeoutMs)
-                .socketTimeoutMillis(timeoutMs);
-
-        if (username != null && !username.isBlank()) b.user(username);
-        if (password != null && !password.isBlank()) b.password(password);
-
-        return new Jedis(new HostAndPort(host, port), b.build());
-    }
 }
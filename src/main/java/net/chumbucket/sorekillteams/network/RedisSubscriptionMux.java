@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.network;
+
+import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import redis.clients.jedis.BinaryJedisPubSub;
+import redis.clients.jedis.Jedis;
+
+/**
+ * ✅ One Redis subscriber for every bus.
+ * <p>
+ * A single dedicated connection pattern-subscribes to {@code <channel_prefix>:*} and dispatches each
+ * message by channel to the handler a bus registered. Handlers run on the subscriber thread (decode /
+ * filter only) and hand main-thread work to {@link #runOnMain}, which goes through the per-tick
+ * {@link InboundDispatcher} instead of one scheduler task per message.
+ */
+public final class RedisSubscriptionMux {
+
+    /**
+     * Called on the subscriber thread with the raw payload (binary frame or legacy UTF-8 text).
+     * Must not block; use {@link #runOnMain} for Bukkit work.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        void onMessage(byte[] message);
+    }
+
+    private final SorekillTeamsPlugin plugin;
+    private final RedisConnections redis;
+    private final String pattern;
+    private final byte[] patternBytes;
+
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private Thread subThread;
+    // guards the running check + pubSub hand-off, so no pubSub is published after stop() took it
+    private final Object pubSubLock = new Object();
+    private BinaryJedisPubSub pubSub;
+
+    // ✅ main-thread hops (drained once per tick under a time budget)
+    private final InboundDispatcher inbound;
+
+    // =========================
+    // Metrics
+    // =========================
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong unrouted = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+
+    public RedisSubscriptionMux(SorekillTeamsPlugin plugin, RedisConnections redis) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+        this.redis = Objects.requireNonNull(redis, "redis");
+        this.pattern = redis.channel("*");
+        this.patternBytes = pattern.getBytes(StandardCharsets.UTF_8);
+
+        this.baseDelayMs = Math.max(250L, plugin.getConfig().getLong("redis.reconnect_delay_ms", 2000L));
+        this.maxDelayMs = Math.max(baseDelayMs, plugin.getConfig().getLong("redis.reconnect_max_delay_ms", 30_000L));
+
+        this.inbound = new InboundDispatcher(plugin);
+    }
+
+    /**
+     * Routes messages published to {@code channel} to {@code handler}. Replaces any previous handler.
+     */
+    public void register(String channel, Handler handler) {
+        if (channel == null || handler == null) return;
+        handlers.put(channel, handler);
+    }
+
+    public void unregister(String channel, Handler handler) {
+        if (channel == null) return;
+        if (handler == null) handlers.remove(channel);
+        else handlers.remove(channel, handler);
+    }
+
+    public void start() {
+        if (!running.compareAndSet(false, true)) return;
+
+        inbound.start();
+
+        subThread = new Thread(this::runLoop, "SorekillTeams-RedisSub");
+        subThread.setDaemon(true);
+        subThread.start();
+
+        plugin.getLogger().info("Redis subscriber listening on '" + pattern + "'");
+    }
+
+    public void stop() {
+        BinaryJedisPubSub ps;
+        synchronized (pubSubLock) {
+            running.set(false);
+            ps = this.pubSub;
+            this.pubSub = null;
+        }
+        try { if (ps != null) ps.punsubscribe(); } catch (Exception ignored) {}
+
+        Thread t = this.subThread;
+        this.subThread = null;
+        if (t != null) {
+            try { t.interrupt(); } catch (Exception ignored) {}
+        }
+
+        handlers.clear();
+        inbound.stop();
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Queues work for the main thread (arrival order, drained once per tick).
+     */
+    public void runOnMain(Runnable r) {
+        if (!running.get()) return;
+        inbound.submit(r);
+    }
+
+    /**
+     * Like {@link #runOnMain(Runnable)}, but superseded by newer work with the same key that arrives
+     * before it runs (e.g. {@code "presence:" + uuid}).
+     */
+    public void runOnMain(String coalesceKey, Runnable r) {
+        if (!running.get()) return;
+        inbound.submit(coalesceKey, r);
+    }
+
+    // =========================
+    // Subscriber thread
+    // =========================
+
+    private void runLoop() {
+        int failures = 0;
+
+        while (running.get()) {
+            BinaryJedisPubSub ps = newPubSub();
+            synchronized (pubSubLock) {
+                if (!running.get()) break;
+                this.pubSub = ps;
+            }
+
+            try (Jedis jedis = redis.newSubscriberConnection()) {
+                jedis.psubscribe(ps, patternBytes);
+                failures = 0; // clean unsubscribe (stop or server-side close)
+            } catch (Throwable t) {
+                if (!running.get()) break;
+                failures++;
+                reconnects.incrementAndGet();
+
+                if (failures == 1 || failures % 10 == 0) {
+                    plugin.getLogger().warning("Redis subscriber disconnected (attempt " + failures + "): " +
+                            t.getClass().getSimpleName() + ": " + t.getMessage());
+                }
+            }
+
+            if (!running.get()) break;
+
+            try {
+                Thread.sleep(backoffMs(failures));
+            } catch (InterruptedException ignored) {
+                if (!running.get()) break;
+            }
+        }
+    }
+
+    /**
+     * Exponential backoff with full jitter: a random delay in [base/2, min(max, base * 2^(n-1))].
+     */
+    private long backoffMs(int failures) {
+        if (failures <= 0) return baseDelayMs / 2L;
+
+        int shift = Math.min(failures - 1, 16);
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << shift);
+        long floor = baseDelayMs / 2L;
+        if (ceiling <= floor) return floor;
+
+        return ThreadLocalRandom.current().nextLong(floor, ceiling + 1L);
+    }
+
+    private BinaryJedisPubSub newPubSub() {
+        return new BinaryJedisPubSub() {
+            @Override
+            public void onPSubscribe(byte[] pat, int subscribedChannels) {
+                // stop() ran while we were connecting: its punsubscribe() had nothing to act on yet
+                if (!running.get()) {
+                    try { punsubscribe(); } catch (Exception ignored) {}
+                }
+            }
+
+            @Override
+            public void onPMessage(byte[] pat, byte[] channelRaw, byte[] message) {
+                if (!running.get()) return;
+                if (channelRaw == null || message == null || message.length == 0) return;
+
+                received.incrementAndGet();
+
+                String channel = new String(channelRaw, StandardCharsets.UTF_8);
+                Handler h = handlers.get(channel);
+                if (h == null) {
+                    unrouted.incrementAndGet();
+                    return;
+                }
+
+                try {
+                    h.onMessage(message);
+                } catch (Throwable t) {
+                    plugin.getLogger().warning("Redis handler for '" + channel + "' failed: " +
+                            t.getClass().getSimpleName() + ": " + t.getMessage());
+                }
+            }
+        };
+    }
+
+    // =========================
+    // Metrics
+    // =========================
+
+    public long received() { return received.get(); }
+    public long unrouted() { return unrouted.get(); }
+    public long reconnects() { return reconnects.get(); }
+    public InboundDispatcher inbound() { return inbound; }
+
+    public String statsLine() {
+        return "channels=" + handlers.size() +
+                " received=" + received() +
+                " unrouted=" + unrouted() +
+                " reconnects=" + reconnects() +
+                " inbound[" + inbound.statsLine() + "]";
+    }
+}
@@ -1,97 +1,59 @@
 package net.chumbucket.sorekillteams.network;
 
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
-import org.bukkit.Bukkit;
-import org.bukkit.configuration.ConfigurationSection;
 
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import redis.clients.jedis.DefaultJedisClientConfig;
-import redis.clients.jedis.HostAndPort;
-import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPubSub;
-
 public final class RedisTeamHomeBus implements TeamHomeBus {
 
     private final SorekillTeamsPlugin plugin;
     private final String originServer;
     private final String channel;
 
-    private final String host;
-    private final int port;
-    private final String username;
-    private final String password;
-    private final boolean ssl;
-    private final int timeoutMs;
+    private final RedisConnections redis;
+    private final RedisSubscriptionMux mux;
 
     private final AtomicBoolean running = new AtomicBoolean(false);
-    private Thread subThread;
-    private JedisPubSub pubSub;
+    private RedisSubscriptionMux.Handler handler;
 
-    public RedisTeamHomeBus(SorekillTeamsPlugin plugin, ConfigurationSection sec, String originServer) {
+    public RedisTeamHomeBus(SorekillTeamsPlugin plugin, RedisConnections redis, RedisSubscriptionMux mux, String originServer) {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
         this.originServer = (originServer == null || originServer.isBlank()) ? "default" : originServer.trim();
 
-        if (sec == null) throw new IllegalArgumentException("redis section missing");
-
-        this.host = sec.getString("host", "127.0.0.1");
-        this.port = Math.max(1, sec.getInt("port", 6379));
-        this.username = sec.getString("username", "");
-        this.password = sec.getString("password", "");
-        this.ssl = sec.getBoolean("use_ssl", false);
-        this.timeoutMs = Math.max(1000, sec.getInt("timeout_ms", 5000));
+        this.redis = Objects.requireNonNull(redis, "redis");
+        this.mux = Objects.requireNonNull(mux, "mux");
 
-        String prefix = sec.getString("channel_prefix", "sorekillteams");
-        if (prefix == null || prefix.isBlank()) prefix = "sorekillteams";
-        this.channel = prefix + ":teamhome";
+        this.channel = redis.channel("teamhome");
     }
 
     @Override
     public void start() {
         if (!running.compareAndSet(false, true)) return;
 
-        pubSub = new JedisPubSub() {
-            @Override
-            public void onMessage(String ch, String message) {
-                if (!running.get()) return;
-                if (message == null || message.isBlank()) return;
-
-                TeamHomeTeleportPacket pkt = TeamHomeTeleportPacket.decode(message);
-                if (pkt == null) return;
+        handler = this::onMessage;
+        mux.register(channel, handler);
 
-                if (originServer.equalsIgnoreCase(pkt.originServer())) return;
+        plugin.getLogger().info("TeamHomeBus=Redis routing '" + channel + "' as server='" + originServer + "'");
+    }
 
-                Bukkit.getScheduler().runTask(plugin, () -> plugin.onRemoteTeamHomeTeleport(pkt));
-            }
-        };
+    private void onMessage(byte[] message) {
+        if (!running.get()) return;
+        if (message == null || message.length == 0) return;
 
-        subThread = new Thread(() -> {
-            while (running.get()) {
-                try (Jedis jedis = newJedis()) {
-                    jedis.subscribe(pubSub, channel);
-                } catch (Throwable t) {
-                    if (!running.get()) break;
-                    try { Thread.sleep(1000L); } catch (InterruptedException ignored) {}
-                }
-            }
-        }, "SorekillTeams-RedisTeamHomeSub");
+        TeamHomeTeleportPacket pkt = TeamHomeTeleportPacket.decode(message);
+        if (pkt == null) return;
 
-        subThread.setDaemon(true);
-        subThread.start();
+        if (originServer.equalsIgnoreCase(pkt.originServer())) return;
 
-        plugin.getLogger().info("TeamHomeBus=Redis subscribed to '" + channel + "' as server='" + originServer + "'");
+        mux.runOnMain(() -> plugin.onRemoteTeamHomeTeleport(pkt));
     }
 
     @Override
     public void stop() {
         running.set(false);
-        try { if (pubSub != null) pubSub.unsubscribe(); } catch (Exception ignored) {}
-        if (subThread != null) {
-            try { subThread.interrupt(); } catch (Exception ignored) {}
-            subThread = null;
-        }
-        pubSub = null;
+        mux.unregister(channel, handler);
+        handler = null;
     }
 
     @Override
@@ -102,22 +64,7 @@ public final class RedisTeamHomeBus implements TeamHomeBus {
         if (pkt == null) return;
         if (!running.get()) return;
 
-        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (Jedis jedis = newJedis()) {
-                jedis.publish(channel, pkt.encode());
-            } catch (Throwable ignored) {}
-        });
-    }
-
-    private Jedis newJedis() {
-        DefaultJedisClientConfig.Builder b = DefaultJedisClientConfig.builder()
-                .ssl(ssl)
-                .connectionTimeoutMillis(timeoutMs)
-                .socketTimeoutMillis(timeoutMs);
-
-        if (username != null && !username.isBlank()) b.user(username);
-        if (password != null && !password.isBlank()) b.password(password);
-
-        return new Jedis(new HostAndPort(host, port), b.build());
+        if (redis.binaryWire()) redis.publishAsync(channel, pkt.toBytes());
+        else redis.publishAsync(channel, pkt.encode());
     }
 }
@@ -81,6 +81,50 @@ public final class TeamChatPacket {
         return new TeamChatPacket(origin, teamId, sender, senderName, coloredMessage, sentAt);
     }
 
+    // =========================
+    // ✅ Binary wire format (see WireCodec)
+    // =========================
+
+    public byte[] toBytes() {
+        return WireCodec.writer(WireCodec.KIND_TEAM_CHAT, 64 + coloredMessage.length())
+                .writeString(originServer)
+                .writeUuid(teamId)
+                .writeUuid(senderUuid)
+                .writeString(senderName)
+                .writeString(coloredMessage)
+                .writeVarLong(sentAtMs)
+                .toBytes();
+    }
+
+    /**
+     * Decodes a raw pub/sub payload: binary frames via {@link #fromBytes}, anything else as legacy text.
+     */
+    public static TeamChatPacket decode(byte[] raw) {
+        if (raw == null || raw.length == 0) return null;
+        if (WireCodec.isBinary(raw)) return fromBytes(raw);
+        return decode(WireCodec.utf8(raw));
+    }
+
+    public static TeamChatPacket fromBytes(byte[] raw) {
+        WireCodec.Reader r = WireCodec.reader(raw, WireCodec.KIND_TEAM_CHAT);
+        if (r == null) return null;
+
+        try {
+            String origin = r.readString();
+            UUID teamId = r.readUuid();
+            UUID sender = r.readUuid();
+            String senderName = r.readString();
+            String coloredMessage = r.readString();
+            long sentAt = r.readVarLong();
+
+            if (origin.isBlank() || teamId == null || sender == null) return null;
+
+            return new TeamChatPacket(origin, teamId, sender, senderName, coloredMessage, sentAt);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private static UUID safeUuid(String s) {
         if (s == null || s.isBlank()) return null;
         try { return UUID.fromString(s.trim()); }
@@ -9,11 +9,24 @@ import java.util.UUID;
  * Minimal wire format for cross-server team events.
  *
  * Format (pipe-delimited, escaped with backslash):
- * v1|origin|type|teamId|teamName|actorUuid|actorName|targetUuid|targetName|atMs
+ * v2|origin|type|teamId|teamName|actorUuid|actorName|targetUuid|targetName|atMs|epoch|seq|ownerUuid|ff
+ *
+ * v2 adds the state needed to apply an event without a SQL round-trip:
+ * - epoch + seq: per-team sequence of the origin backend (epoch = origin boot time, so restarts start a new stream)
+ * - ownerUuid: team owner after the event (empty for disband)
+ * - ff: team friendly-fire flag after the event ("1" / "0", empty = unknown)
+ * The membership delta is targetUuid (MEMBER_JOINED adds it, MEMBER_LEFT/KICKED remove it).
+ *
+ * Home events carry the raw home name in targetName; receivers normalize it to the home key.
+ *
+ * v1 packets (no sequence/state) are still decoded; seq() is 0 for them.
+ * Backends from before v2 reject v2 text frames, so text mode publishes {@link #encodeV1()} unless
+ * redis.team_events.text_format is "v2" (set that only once every backend decodes v2).
  */
 public final class TeamEventPacket {
 
-    public static final String VERSION = "v1";
+    public static final String VERSION = "v2";
+    private static final String VERSION_V1 = "v1";
 
     public enum Type {
         MEMBER_JOINED,
@@ -22,6 +35,7 @@ public final class TeamEventPacket {
         TEAM_DISBANDED,
         TEAM_RENAMED,
         OWNER_TRANSFERRED,
+        FRIENDLY_FIRE_CHANGED,
 
         // ✅ Homes (new)
         HOME_SET,
@@ -43,6 +57,11 @@ public final class TeamEventPacket {
 
     private final long atMs;
 
+    private final long epoch;
+    private final long seq;          // 0 = unsequenced (v1 / not stamped yet)
+    private final UUID ownerUuid;    // nullable
+    private final Boolean friendlyFire; // nullable
+
     public TeamEventPacket(String originServer,
                            Type type,
                            UUID teamId,
@@ -52,6 +71,23 @@ public final class TeamEventPacket {
                            UUID targetUuid,
                            String targetName,
                            long atMs) {
+        this(originServer, type, teamId, teamName, actorUuid, actorName, targetUuid, targetName, atMs,
+                0L, 0L, null, null);
+    }
+
+    public TeamEventPacket(String originServer,
+                           Type type,
+                           UUID teamId,
+                           String teamName,
+                           UUID actorUuid,
+                           String actorName,
+                           UUID targetUuid,
+                           String targetName,
+                           long atMs,
+                           long epoch,
+                           long seq,
+                           UUID ownerUuid,
+                           Boolean friendlyFire) {
 
         this.originServer = Objects.requireNonNull(originServer, "originServer");
         this.type = Objects.requireNonNull(type, "type");
@@ -66,6 +102,19 @@ public final class TeamEventPacket {
         this.targetName = (targetName == null ? "" : targetName);
 
         this.atMs = atMs > 0 ? atMs : System.currentTimeMillis();
+
+        this.epoch = Math.max(0L, epoch);
+        this.seq = Math.max(0L, seq);
+        this.ownerUuid = ownerUuid;
+        this.friendlyFire = friendlyFire;
+    }
+
+    /**
+     * Copy stamped with the origin's per-team sequence and the team state after the event.
+     */
+    public TeamEventPacket withState(long epoch, long seq, UUID ownerUuid, Boolean friendlyFire) {
+        return new TeamEventPacket(originServer, type, teamId, teamName, actorUuid, actorName, targetUuid, targetName, atMs,
+                epoch, seq, ownerUuid, friendlyFire);
     }
 
     public String originServer() { return originServer; }
@@ -82,8 +131,35 @@ public final class TeamEventPacket {
 
     public long atMs() { return atMs; }
 
+    public long epoch() { return epoch; }
+    public long seq() { return seq; }
+    public boolean isSequenced() { return seq > 0L; }
+    public UUID ownerUuid() { return ownerUuid; }
+    public Boolean friendlyFire() { return friendlyFire; }
+
     public String encode() {
         return VERSION + "|" +
+                esc(originServer) + "|" +
+                type.name() + "|" +
+                teamId + "|" +
+                esc(teamName) + "|" +
+                actorUuid + "|" +
+                esc(actorName) + "|" +
+                (targetUuid == null ? "" : targetUuid.toString()) + "|" +
+                esc(targetName) + "|" +
+                atMs + "|" +
+                epoch + "|" +
+                seq + "|" +
+                (ownerUuid == null ? "" : ownerUuid.toString()) + "|" +
+                (friendlyFire == null ? "" : (friendlyFire ? "1" : "0"));
+    }
+
+    /**
+     * Legacy v1 frame (no sequence/state): receivers apply it via a single-team SQL read.
+     * Event types an old backend does not know are dropped there, as before.
+     */
+    public String encodeV1() {
+        return VERSION_V1 + "|" +
                 esc(originServer) + "|" +
                 type.name() + "|" +
                 teamId + "|" +
@@ -98,10 +174,11 @@ public final class TeamEventPacket {
     public static TeamEventPacket decode(String raw) {
         if (raw == null || raw.isBlank()) return null;
 
-        List<String> parts = splitEscaped(raw, '|', 10);
-        if (parts.size() != 10) return null;
+        List<String> parts = splitEscaped(raw, '|', 14);
 
-        if (!VERSION.equals(parts.get(0))) return null;
+        boolean v2 = VERSION.equals(parts.get(0));
+        if (v2 && parts.size() != 14) return null;
+        if (!v2 && (!VERSION_V1.equals(parts.get(0)) || parts.size() != 10)) return null;
 
         String origin = parts.get(1);
         Type type;
@@ -122,33 +199,86 @@ public final class TeamEventPacket {
         if (origin == null || origin.isBlank()) return null;
         if (teamId == null || actorUuid == null) return null;
 
-        return new TeamEventPacket(origin, type, teamId, teamName, actorUuid, actorName, targetUuid, targetName, atMs);
+        if (!v2) {
+            return new TeamEventPacket(origin, type, teamId, teamName, actorUuid, actorName, targetUuid, targetName, atMs);
+        }
+
+        long epoch = safeLong(parts.get(10));
+        long seq = safeLong(parts.get(11));
+        UUID ownerUuid = safeUuidOrNull(parts.get(12));
+
+        String ffRaw = parts.get(13);
+        Boolean ff = (ffRaw == null || ffRaw.isBlank()) ? null : "1".equals(ffRaw.trim());
+
+        return new TeamEventPacket(origin, type, teamId, teamName, actorUuid, actorName, targetUuid, targetName, atMs,
+                epoch, seq, ownerUuid, ff);
     }
 
-    private static String esc(String s) {
-        if (s == null || s.isEmpty()) return "";
-        return s.replace("\\", "\\\\").replace("|", "\\|");
+    // =========================
+    // ✅ Binary wire format (see WireCodec)
+    // =========================
+
+    public byte[] toBytes() {
+        return WireCodec.writer(WireCodec.KIND_TEAM_EVENT, 96)
+                .writeString(originServer)
+                .writeEnum(type)
+                .writeUuid(teamId)
+                .writeString(teamName)
+                .writeUuid(actorUuid)
+                .writeString(actorName)
+                .writeUuid(targetUuid)
+                .writeString(targetName)
+                .writeVarLong(atMs)
+                .writeVarLong(epoch)
+                .writeVarLong(seq)
+                .writeUuid(ownerUuid)
+                .writeOptBool(friendlyFire)
+                .toBytes();
     }
 
-    private static String unesc(String s) {
-        if (s == null || s.isEmpty()) return "";
-        StringBuilder sb = new StringBuilder(s.length());
-        boolean escaping = false;
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (escaping) {
-                sb.append(c);
-                escaping = false;
-            } else if (c == '\\') {
-                escaping = true;
-            } else {
-                sb.append(c);
-            }
+    /**
+     * Decodes a raw pub/sub payload: binary frames via {@link #fromBytes}, anything else as legacy text.
+     */
+    public static TeamEventPacket decode(byte[] raw) {
+        if (raw == null || raw.length == 0) return null;
+        if (WireCodec.isBinary(raw)) return fromBytes(raw);
+        return decode(WireCodec.utf8(raw));
+    }
+
+    public static TeamEventPacket fromBytes(byte[] raw) {
+        WireCodec.Reader r = WireCodec.reader(raw, WireCodec.KIND_TEAM_EVENT);
+        if (r == null) return null;
+
+        try {
+            String origin = r.readString();
+            Type type = r.readEnum(Type.class);
+            UUID teamId = r.readUuid();
+            String teamName = r.readString();
+            UUID actorUuid = r.readUuid();
+            String actorName = r.readString();
+            UUID targetUuid = r.readUuid();
+            String targetName = r.readString();
+            long atMs = r.readVarLong();
+            long epoch = r.readVarLong();
+            long seq = r.readVarLong();
+            UUID ownerUuid = r.readUuid();
+            Boolean ff = r.readOptBool();
+
+            if (origin.isBlank() || teamId == null || actorUuid == null) return null;
+
+            return new TeamEventPacket(origin, type, teamId, teamName, actorUuid, actorName, targetUuid, targetName, atMs,
+                    epoch, seq, ownerUuid, ff);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        if (escaping) sb.append('\\');
-        return sb.toString();
     }
 
+    private static String esc(String s) {
+        if (s == null || s.isEmpty()) return "";
+        return s.replace("\\", "\\\\").replace("|", "\\|");
+    }
+
+    // Splits on unescaped delimiters and consumes the escapes, so parts come back as plain text
     private static List<String> splitEscaped(String raw, char delim, int expectedParts) {
         List<String> out = new ArrayList<>(expectedParts);
 
@@ -170,7 +300,7 @@ public final class TeamEventPacket {
             }
 
             if (c == delim) {
-                out.add(unesc(cur.toString()));
+                out.add(cur.toString());
                 cur.setLength(0);
                 continue;
             }
@@ -178,7 +308,7 @@ public final class TeamEventPacket {
             cur.append(c);
         }
 
-        out.add(unesc(cur.toString()));
+        out.add(cur.toString());
         return out;
     }
 
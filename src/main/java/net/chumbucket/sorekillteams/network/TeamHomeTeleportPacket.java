@@ -105,30 +105,62 @@ public final class TeamHomeTeleportPacket {
         return new TeamHomeTeleportPacket(origin, target, teamId, homeKey, homeDisplay, playerUuid, playerName, requestId, atMs);
     }
 
-    private static String esc(String s) {
-        if (s == null || s.isEmpty()) return "";
-        return s.replace("\\", "\\\\").replace("|", "\\|");
+    // =========================
+    // ✅ Binary wire format (see WireCodec)
+    // =========================
+
+    public byte[] toBytes() {
+        return WireCodec.writer(WireCodec.KIND_TEAM_HOME_TELEPORT, 96)
+                .writeString(originServer)
+                .writeString(targetServer)
+                .writeUuid(teamId)
+                .writeString(homeKey)
+                .writeString(homeDisplay)
+                .writeUuid(playerUuid)
+                .writeString(playerName)
+                .writeString(requestId)
+                .writeVarLong(atMs)
+                .toBytes();
     }
 
-    private static String unesc(String s) {
-        if (s == null || s.isEmpty()) return "";
-        StringBuilder sb = new StringBuilder(s.length());
-        boolean escaping = false;
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            if (escaping) {
-                sb.append(c);
-                escaping = false;
-            } else if (c == '\\') {
-                escaping = true;
-            } else {
-                sb.append(c);
-            }
+    /**
+     * Decodes a raw pub/sub payload: binary frames via {@link #fromBytes}, anything else as legacy text.
+     */
+    public static TeamHomeTeleportPacket decode(byte[] raw) {
+        if (raw == null || raw.length == 0) return null;
+        if (WireCodec.isBinary(raw)) return fromBytes(raw);
+        return decode(WireCodec.utf8(raw));
+    }
+
+    public static TeamHomeTeleportPacket fromBytes(byte[] raw) {
+        WireCodec.Reader r = WireCodec.reader(raw, WireCodec.KIND_TEAM_HOME_TELEPORT);
+        if (r == null) return null;
+
+        try {
+            String origin = r.readString();
+            String target = r.readString();
+            UUID teamId = r.readUuid();
+            String homeKey = r.readString();
+            String homeDisplay = r.readString();
+            UUID playerUuid = r.readUuid();
+            String playerName = r.readString();
+            String requestId = r.readString();
+            long atMs = r.readVarLong();
+
+            if (origin.isBlank() || target.isBlank() || teamId == null || playerUuid == null) return null;
+
+            return new TeamHomeTeleportPacket(origin, target, teamId, homeKey, homeDisplay, playerUuid, playerName, requestId, atMs);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        if (escaping) sb.append('\\');
-        return sb.toString();
     }
 
+    private static String esc(String s) {
+        if (s == null || s.isEmpty()) return "";
+        return s.replace("\\", "\\\\").replace("|", "\\|");
+    }
+
+    // Splits on unescaped delimiters and consumes the escapes, so parts come back as plain text
     private static List<String> splitEscaped(String raw, char delim, int expectedParts) {
         List<String> out = new ArrayList<>(expectedParts);
         StringBuilder cur = new StringBuilder(raw.length());
@@ -149,7 +181,7 @@ public final class TeamHomeTeleportPacket {
             }
 
             if (c == delim) {
-                out.add(unesc(cur.toString()));
+                out.add(cur.toString());
                 cur.setLength(0);
                 continue;
             }
@@ -157,7 +189,7 @@ public final class TeamHomeTeleportPacket {
             cur.append(c);
         }
 
-        out.add(unesc(cur.toString()));
+        out.add(cur.toString());
         return out;
     }
 
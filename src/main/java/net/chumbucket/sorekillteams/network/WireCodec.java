@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.network;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * ✅ Compact binary wire format shared by all packets.
+ * <p>
+ * Layout: {@code MAGIC | version | kind | fields...}
+ * <ul>
+ *   <li>UUID: presence byte + two fixed 64-bit longs (17 bytes instead of 36 chars)</li>
+ *   <li>long: unsigned LEB128 varint (timestamps ~6 bytes)</li>
+ *   <li>String: varint byte length + UTF-8</li>
+ * </ul>
+ * {@link #MAGIC} can never start a UTF-8 text packet, so receivers tell binary from legacy
+ * pipe-delimited text by the first byte and decode either.
+ */
+public final class WireCodec {
+
+    /** 0xFE is never valid in UTF-8, so no legacy text packet starts with it. */
+    public static final byte MAGIC = (byte) 0xFE;
+    public static final byte VERSION = 1;
+
+    // packet kinds
+    public static final byte KIND_TEAM_EVENT = 1;
+    public static final byte KIND_TEAM_CHAT = 2;
+    public static final byte KIND_INVITE = 3;
+    public static final byte KIND_INVITE_TOGGLE = 4;
+    public static final byte KIND_PRESENCE = 5;
+    public static final byte KIND_TEAM_HOME_TELEPORT = 6;
+
+    /** Hard cap for a single string field (chat messages are far below this). */
+    private static final int MAX_STRING_BYTES = 64 * 1024;
+
+    private WireCodec() {}
+
+    public static boolean isBinary(byte[] raw) {
+        return raw != null && raw.length >= 3 && raw[0] == MAGIC;
+    }
+
+    /** Packet kind of a binary frame, or -1 if it is not one this version understands. */
+    public static int kindOf(byte[] raw) {
+        if (!isBinary(raw) || raw[1] != VERSION) return -1;
+        return raw[2];
+    }
+
+    public static String utf8(byte[] raw) {
+        return raw == null ? null : new String(raw, StandardCharsets.UTF_8);
+    }
+
+    public static Writer writer(byte kind, int sizeHint) {
+        Writer w = new Writer(Math.max(16, sizeHint));
+        w.writeByte(MAGIC);
+        w.writeByte(VERSION);
+        w.writeByte(kind);
+        return w;
+    }
+
+    /**
+     * Reader positioned after the header, or null if {@code raw} is not a frame of {@code kind}.
+     */
+    public static Reader reader(byte[] raw, byte kind) {
+        if (kindOf(raw) != kind) return null;
+        return new Reader(raw, 3);
+    }
+
+    // =========================
+    // Writer
+    // =========================
+
+    public static final class Writer {
+        private byte[] buf;
+        private int len;
+
+        private Writer(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        private void ensure(int extra) {
+            int need = len + extra;
+            if (need <= buf.length) return;
+            buf = Arrays.copyOf(buf, Math.max(need, buf.length * 2));
+        }
+
+        public Writer writeByte(int b) {
+            ensure(1);
+            buf[len++] = (byte) b;
+            return this;
+        }
+
+        public Writer writeBool(boolean b) {
+            return writeByte(b ? 1 : 0);
+        }
+
+        /** Tri-state boolean: 0 = null, 1 = false, 2 = true. */
+        public Writer writeOptBool(Boolean b) {
+            return writeByte(b == null ? 0 : (b ? 2 : 1));
+        }
+
+        public Writer writeVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0L) {
+                buf[len++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[len++] = (byte) v;
+            return this;
+        }
+
+        public Writer writeLong(long v) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[len++] = (byte) (v >>> shift);
+            }
+            return this;
+        }
+
+        public Writer writeUuid(UUID u) {
+            if (u == null) return writeByte(0);
+            writeByte(1);
+            writeLong(u.getMostSignificantBits());
+            return writeLong(u.getLeastSignificantBits());
+        }
+
+        public Writer writeString(String s) {
+            byte[] b = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+            writeVarLong(b.length);
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, len, b.length);
+            len += b.length;
+            return this;
+        }
+
+        public Writer writeEnum(Enum<?> e) {
+            return writeString(e.name());
+        }
+
+        public byte[] toBytes() {
+            return Arrays.copyOf(buf, len);
+        }
+    }
+
+    // =========================
+    // Reader
+    // =========================
+
+    /**
+     * Bounds-checked reader. Any malformed input throws {@link IllegalArgumentException};
+     * packet decoders catch it and return null.
+     */
+    public static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        private Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        private void need(int n) {
+            if (n < 0 || pos + n > buf.length) throw new IllegalArgumentException("truncated frame");
+        }
+
+        public int readByte() {
+            need(1);
+            return buf[pos++] & 0xFF;
+        }
+
+        public boolean readBool() {
+            return readByte() != 0;
+        }
+
+        public Boolean readOptBool() {
+            int b = readByte();
+            return b == 0 ? null : (b == 2);
+        }
+
+        public long readVarLong() {
+            long out = 0L;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                out |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return out;
+            }
+            throw new IllegalArgumentException("varint too long");
+        }
+
+        public long readLong() {
+            need(8);
+            long v = 0L;
+            for (int i = 0; i < 8; i++) {
+                v = (v << 8) | (buf[pos++] & 0xFFL);
+            }
+            return v;
+        }
+
+        public UUID readUuid() {
+            int present = readByte();
+            if (present == 0) return null;
+            if (present != 1) throw new IllegalArgumentException("bad uuid marker");
+            long msb = readLong();
+            long lsb = readLong();
+            return new UUID(msb, lsb);
+        }
+
+        public String readString() {
+            long n = readVarLong();
+            if (n < 0 || n > MAX_STRING_BYTES) throw new IllegalArgumentException("string too long");
+            need((int) n);
+            String s = new String(buf, pos, (int) n, StandardCharsets.UTF_8);
+            pos += (int) n;
+            return s;
+        }
+
+        /** Enums travel by name so adding constants never shifts meaning between versions. */
+        public <E extends Enum<E>> E readEnum(Class<E> type) {
+            return Enum.valueOf(type, readString());
+        }
+    }
+}
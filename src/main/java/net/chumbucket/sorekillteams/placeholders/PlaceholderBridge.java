@@ -30,6 +30,7 @@ import java.lang.reflect.Method;
 public final class PlaceholderBridge {
 
     private final SorekillTeamsPlugin plugin;
+    private final PlaceholderCache cache;
 
     private boolean papiHooked = false;
     private boolean miniHooked = false;
@@ -39,8 +40,12 @@ public final class PlaceholderBridge {
 
     public PlaceholderBridge(SorekillTeamsPlugin plugin) {
         this.plugin = plugin;
+        this.cache = new PlaceholderCache(plugin);
     }
 
+    /** Result cache shared by the registered expansion(s). */
+    public PlaceholderCache cache() { return cache; }
+
     public boolean papiEnabled() {
         return plugin.getConfig().getBoolean("integrations.placeholderapi", true);
     }
@@ -105,7 +110,7 @@ public final class PlaceholderBridge {
             if (papi == null || !papi.isEnabled()) return;
 
             // Register expansion (real class, not proxy)
-            SorekillTeamsExpansion exp = new SorekillTeamsExpansion(plugin);
+            SorekillTeamsExpansion exp = new SorekillTeamsExpansion(plugin, cache);
             boolean ok = exp.register();
 
             if (ok) {
@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.placeholders;
+
+import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
+import net.chumbucket.sorekillteams.model.Team;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * ✅ Per-player placeholder result cache (no PlaceholderAPI types, so the plugin can own it safely).
+ * <p>
+ * Every entry is stamped with {@link SorekillTeamsPlugin#stateVersion()} as read BEFORE the value
+ * was computed, plus the viewer's team at that moment. A hit is only served while neither that
+ * player nor that team was bumped since ({@link SorekillTeamsPlugin#isStateUnchangedSince}), so a
+ * change on one team no longer invalidates every other team's placeholders. A per-placeholder TTL is
+ * the safety net for values the versions do not cover (e.g. owner names). A hit returns the stored
+ * String as-is.
+ */
+public final class PlaceholderCache {
+
+    // Caps so PAPI requests for arbitrary offline players / home names can't grow this unbounded
+    private static final int MAX_PLAYERS = 4096;
+    private static final int MAX_ENTRIES_PER_PLAYER = 64;
+
+    private static final String HOME_PREFIX = "home_";
+
+    private static final class Entry {
+        final String value;
+        final UUID teamId; // viewer's team when computed (nullable)
+        final long version;
+        final long expiresAtMs;
+
+        Entry(String value, UUID teamId, long version, long expiresAtMs) {
+            this.value = value;
+            this.teamId = teamId;
+            this.version = version;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+
+    private final SorekillTeamsPlugin plugin;
+
+    // viewer -> (raw params -> entry)
+    private final Map<UUID, ConcurrentHashMap<String, Entry>> byPlayer = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile boolean enabled = true;
+    private volatile long defaultTtlMs = 5000L;
+    // lowercased placeholder -> ttl; "home_" covers every home_<name>
+    private volatile Map<String, Long> ttlByKey = Map.of();
+
+    public PlaceholderCache(SorekillTeamsPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+    }
+
+    /** Re-reads placeholders.cache.* and drops everything cached under the old settings. */
+    public void reload() {
+        enabled = plugin.getConfig().getBoolean("placeholders.cache.enabled", true);
+        defaultTtlMs = Math.max(0L, plugin.getConfig().getLong("placeholders.cache.default_ttl_ms", 5000L));
+
+        Map<String, Long> ttl = new HashMap<>();
+        ConfigurationSection sec = plugin.getConfig().getConfigurationSection("placeholders.cache.ttl_ms");
+        if (sec != null) {
+            for (String k : sec.getKeys(false)) {
+                if (k == null || k.isBlank()) continue;
+                ttl.put(k.trim().toLowerCase(Locale.ROOT), Math.max(0L, sec.getLong(k, defaultTtlMs)));
+            }
+        }
+        ttlByKey = Map.copyOf(ttl);
+
+        clear();
+    }
+
+    /**
+     * Returns the cached value for (viewer, params) when still valid, otherwise computes it with
+     * {@code compute} and stores it. Safe from any thread.
+     */
+    public String get(UUID viewer, String params, BiFunction<UUID, String, String> compute) {
+        if (!enabled || viewer == null || params == null) return compute.apply(viewer, params);
+
+        final long version = plugin.stateVersion();
+
+        ConcurrentHashMap<String, Entry> entries = byPlayer.get(viewer);
+        if (entries != null) {
+            Entry e = entries.get(params);
+            if (e != null
+                    && System.currentTimeMillis() < e.expiresAtMs
+                    && plugin.isStateUnchangedSince(viewer, e.teamId, e.version)) {
+                hits.incrementAndGet();
+                return e.value;
+            }
+        }
+
+        misses.incrementAndGet();
+        // read after the version: a membership change in between bumps the player and fails the next hit
+        final UUID teamId = viewerTeamId(viewer);
+        String value = compute.apply(viewer, params);
+
+        long ttl = ttlFor(params);
+        if (ttl <= 0L || value == null) return value;
+
+        if (entries == null) {
+            if (byPlayer.size() >= MAX_PLAYERS) return value;
+            entries = byPlayer.computeIfAbsent(viewer, __ -> new ConcurrentHashMap<>());
+        }
+        if (entries.size() >= MAX_ENTRIES_PER_PLAYER && !entries.containsKey(params)) return value;
+
+        entries.put(params, new Entry(value, teamId, version, System.currentTimeMillis() + ttl));
+        return value;
+    }
+
+    public void invalidate(UUID viewer) {
+        if (viewer == null) return;
+        byPlayer.remove(viewer);
+    }
+
+    public void clear() {
+        byPlayer.clear();
+    }
+
+    public long hits() { return hits.get(); }
+    public long misses() { return misses.get(); }
+
+    public String statsLine() {
+        long h = hits.get();
+        long m = misses.get();
+        long total = h + m;
+        long pct = (total == 0L) ? 0L : (h * 100L) / total;
+        return (enabled ? "on" : "off") +
+                " hits=" + h +
+                " misses=" + m +
+                " hitRate=" + pct + "%" +
+                " players=" + byPlayer.size();
+    }
+
+    private UUID viewerTeamId(UUID viewer) {
+        try {
+            if (plugin.teams() == null) return null;
+            return plugin.teams().getTeamByPlayer(viewer).map(Team::getId).orElse(null);
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    // Only consulted on a miss
+    private long ttlFor(String params) {
+        Map<String, Long> ttl = ttlByKey;
+        if (ttl.isEmpty()) return defaultTtlMs;
+
+        String key = params.toLowerCase(Locale.ROOT);
+        Long v = ttl.get(key);
+        if (v == null && key.startsWith(HOME_PREFIX) && !key.equals("home_count") && !key.equals("home_list")) {
+            v = ttl.get(HOME_PREFIX);
+        }
+        return (v == null) ? defaultTtlMs : v;
+    }
+}
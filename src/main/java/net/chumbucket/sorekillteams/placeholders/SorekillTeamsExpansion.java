@@ -14,7 +14,6 @@ import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
 import net.chumbucket.sorekillteams.model.Team;
 import net.chumbucket.sorekillteams.model.TeamHome;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
@@ -23,6 +22,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.function.BiFunction;
 
 /**
  * PlaceholderAPI expansion identifier: sorekillteams
@@ -54,13 +54,19 @@ import java.util.UUID;
  *
  * Notes:
  * - home_<name> key is normalized like TeamHome: lowercase, trim, collapse spaces
+ * - results are served from {@link PlaceholderCache} (version-stamped, per-placeholder TTL)
  */
 public final class SorekillTeamsExpansion extends PlaceholderExpansion {
 
     private final SorekillTeamsPlugin plugin;
+    private final PlaceholderCache cache;
 
-    public SorekillTeamsExpansion(SorekillTeamsPlugin plugin) {
+    // Held once so cache lookups don't allocate a method reference per request
+    private final BiFunction<UUID, String, String> compute = this::compute;
+
+    public SorekillTeamsExpansion(SorekillTeamsPlugin plugin, PlaceholderCache cache) {
         this.plugin = plugin;
+        this.cache = cache;
     }
 
     @Override public String getIdentifier() { return "sorekillteams"; }
@@ -88,6 +94,11 @@ public final class SorekillTeamsExpansion extends PlaceholderExpansion {
 
     private String resolve(UUID viewer, String params) {
         if (viewer == null) return "";
+        return (cache != null) ? cache.get(viewer, params, compute) : compute(viewer, params);
+    }
+
+    private String compute(UUID viewer, String params) {
+        if (viewer == null || params == null) return "";
 
         final Team team = plugin.teams().getTeamByPlayer(viewer).orElse(null);
         final String key = params.toLowerCase(Locale.ROOT);
@@ -144,15 +155,10 @@ public final class SorekillTeamsExpansion extends PlaceholderExpansion {
         };
     }
 
+    /** O(1) from the service's online-member index (network-wide when Redis presence is on). */
     private int countOnline(Team t) {
-        if (t == null) return 0;
-        int online = 0;
-        for (UUID u : uniqueTeamMembers(t)) {
-            if (u == null) continue;
-            Player p = Bukkit.getPlayer(u);
-            if (p != null && p.isOnline()) online++;
-        }
-        return online;
+        if (t == null || plugin.teams() == null) return 0;
+        return plugin.teams().countOnlineMembers(t.getId());
     }
 
     private int countHomes(Team t) {
@@ -219,12 +225,21 @@ public final class SorekillTeamsExpansion extends PlaceholderExpansion {
         return s.trim().toLowerCase(Locale.ROOT).replaceAll("\\s{2,}", " ");
     }
 
+    /** Members are de-duplicated on load/apply, so only the owner may need adding (no set copy). */
     private static int uniqueMemberCount(Team t) {
         if (t == null) return 0;
-        LinkedHashSet<UUID> set = new LinkedHashSet<>();
-        if (t.getOwner() != null) set.add(t.getOwner());
-        if (t.getMembers() != null) for (UUID u : t.getMembers()) if (u != null) set.add(u);
-        return set.size();
+        int n = 0;
+        boolean ownerListed = false;
+        UUID owner = t.getOwner();
+        if (t.getMembers() != null) {
+            for (UUID u : t.getMembers()) {
+                if (u == null) continue;
+                n++;
+                if (u.equals(owner)) ownerListed = true;
+            }
+        }
+        if (owner != null && !ownerListed) n++;
+        return n;
     }
 
     private static List<UUID> uniqueTeamMembers(Team t) {
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ teamId -> members currently online, kept in step with presence and membership changes.
+ * <p>
+ * Writes happen on the main thread (join/quit, membership mutations, presence packets);
+ * reads are safe from any thread and never touch {@code Team#getMembers()}.
+ */
+final class OnlineMemberIndex {
+
+    private final Set<UUID> online = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Set<UUID>> byTeam = new ConcurrentHashMap<>();
+
+    boolean isOnline(UUID player) {
+        return player != null && online.contains(player);
+    }
+
+    void setOnline(UUID player, UUID teamId) {
+        if (player == null) return;
+        online.add(player);
+        add(teamId, player);
+    }
+
+    void setOffline(UUID player, UUID teamId) {
+        if (player == null) return;
+        online.remove(player);
+        remove(teamId, player);
+    }
+
+    /** Membership changed: move an online player between team buckets. */
+    void moved(UUID player, UUID oldTeam, UUID newTeam) {
+        if (player == null || !online.contains(player)) return;
+        remove(oldTeam, player);
+        add(newTeam, player);
+    }
+
+    /** Replaces the online set and rebuilds every bucket from {@code playerToTeam}. */
+    void reset(Collection<UUID> players, Map<UUID, UUID> playerToTeam) {
+        online.clear();
+        if (players != null) {
+            for (UUID u : players) if (u != null) online.add(u);
+        }
+        rebuild(playerToTeam);
+    }
+
+    /** Rebuilds every bucket from {@code playerToTeam} (after a bulk membership swap). */
+    void rebuild(Map<UUID, UUID> playerToTeam) {
+        byTeam.clear();
+        for (UUID u : online) {
+            add(playerToTeam.get(u), u);
+        }
+    }
+
+    /** Live read-only view (empty if nobody on that team is online). */
+    Set<UUID> members(UUID teamId) {
+        if (teamId == null) return Set.of();
+        Set<UUID> set = byTeam.get(teamId);
+        return (set == null) ? Set.of() : Collections.unmodifiableSet(set);
+    }
+
+    int count(UUID teamId) {
+        if (teamId == null) return 0;
+        Set<UUID> set = byTeam.get(teamId);
+        return (set == null) ? 0 : set.size();
+    }
+
+    Set<UUID> onlinePlayers() {
+        return Collections.unmodifiableSet(online);
+    }
+
+    private void add(UUID teamId, UUID player) {
+        if (teamId == null) return;
+        byTeam.computeIfAbsent(teamId, k -> ConcurrentHashMap.newKeySet()).add(player);
+    }
+
+    private void remove(UUID teamId, UUID player) {
+        if (teamId == null) return;
+        byTeam.computeIfPresent(teamId, (k, set) -> {
+            set.remove(player);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -15,6 +15,7 @@ import net.chumbucket.sorekillteams.model.TeamHome;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 public final class SimpleTeamHomeService implements TeamHomeService {
 
@@ -30,6 +31,30 @@ public final class SimpleTeamHomeService implements TeamHomeService {
     // If we legitimately deleted/cleared to empty, allow one empty save to delete DB rows.
     private final AtomicBoolean allowEmptyWriteOnce = new AtomicBoolean(false);
 
+    // ✅ What changed since the last successful save, so storage can flush just those rows.
+    // Guarded by pendingLock; "full" = the whole cache was replaced (load / clearAll) -> rewrite everything.
+    private final Object pendingLock = new Object();
+    private final Set<HomeKey> pendingUpserts = new HashSet<>();
+    private final Set<HomeKey> pendingDeletes = new HashSet<>();
+    private final Set<UUID> pendingClearedTeams = new HashSet<>();
+    private boolean pendingFull = false;
+
+    /** (teamId, normalized home name) */
+    public record HomeKey(UUID teamId, String name) {}
+
+    /**
+     * Changes drained for one save. Apply order: cleared teams, then deletes, then upserts.
+     * Upserts are keys only; the row is read from the cache at flush time.
+     */
+    public record PendingChanges(boolean full, Set<HomeKey> upserts, Set<HomeKey> deletes, Set<UUID> clearedTeams) {
+        public boolean isEmpty() {
+            return !full && upserts.isEmpty() && deletes.isEmpty() && clearedTeams.isEmpty();
+        }
+    }
+
+    // Invoked with the affected teamId after any in-memory change (null = every team); never null
+    private volatile Consumer<UUID> changeListener = __ -> {};
+
     // -----------------------------
     // Dirty helpers
     // -----------------------------
@@ -39,10 +64,54 @@ public final class SimpleTeamHomeService implements TeamHomeService {
     }
 
     public void markClean() {
-        dirty.set(false);
+        synchronized (pendingLock) {
+            dirty.set(false);
+            pendingUpserts.clear();
+            pendingDeletes.clear();
+            pendingClearedTeams.clear();
+            pendingFull = false;
+        }
         // do NOT reset allowEmptyWriteOnce here; it's consumed by storage when needed
     }
 
+    /**
+     * Takes every pending change and marks the service clean. If the save then fails, hand the
+     * result back via {@link #restoreChanges} so nothing is lost; changes made meanwhile win.
+     */
+    public PendingChanges drainChanges() {
+        synchronized (pendingLock) {
+            PendingChanges out = new PendingChanges(
+                    pendingFull,
+                    Set.copyOf(pendingUpserts),
+                    Set.copyOf(pendingDeletes),
+                    Set.copyOf(pendingClearedTeams)
+            );
+            pendingUpserts.clear();
+            pendingDeletes.clear();
+            pendingClearedTeams.clear();
+            pendingFull = false;
+            dirty.set(false);
+            return out;
+        }
+    }
+
+    public void restoreChanges(PendingChanges failed, boolean allowEmptyWrite) {
+        if (failed == null) return;
+
+        synchronized (pendingLock) {
+            pendingFull |= failed.full();
+            pendingClearedTeams.addAll(failed.clearedTeams());
+            for (HomeKey k : failed.upserts()) {
+                if (!pendingDeletes.contains(k)) pendingUpserts.add(k);
+            }
+            for (HomeKey k : failed.deletes()) {
+                if (!pendingUpserts.contains(k)) pendingDeletes.add(k);
+            }
+            if (!failed.isEmpty()) dirty.set(true);
+        }
+        if (allowEmptyWrite) allowEmptyWriteOnce.set(true);
+    }
+
     /**
      * If homes are empty, we only want to write that emptiness to SQL when it was intentional
      * (e.g., user deleted the last home, cleared a team, etc.). This flag is "one-shot".
@@ -51,8 +120,74 @@ public final class SimpleTeamHomeService implements TeamHomeService {
         return allowEmptyWriteOnce.getAndSet(false);
     }
 
-    private void markDirty() {
+    /**
+     * Hands one keyed change to the direct per-home write path: the key leaves the pending sets so
+     * {@code saveAll} does not write it a second time (possibly with an older value, out of order).
+     * If that write fails, call {@link #restorePending} so the next save retries it.
+     */
+    public void takePending(UUID teamId, String name) {
+        if (teamId == null) return;
+        HomeKey k = new HomeKey(teamId, normalize(name));
+        synchronized (pendingLock) {
+            pendingUpserts.remove(k);
+            pendingDeletes.remove(k);
+        }
+    }
+
+    /**
+     * A direct write taken with {@link #takePending} failed: marks the key again from the cache's
+     * current state (the newest value is what must end up in storage).
+     */
+    public void restorePending(UUID teamId, String name) {
+        if (teamId == null) return;
+        String key = normalize(name);
+        if (key.isBlank()) return;
+
+        HomeKey k = new HomeKey(teamId, key);
+        Map<String, TeamHome> inner = homes.get(teamId);
+        boolean exists = inner != null && inner.containsKey(key);
+        synchronized (pendingLock) {
+            if (exists) {
+                pendingDeletes.remove(k);
+                pendingUpserts.add(k);
+            } else {
+                pendingUpserts.remove(k);
+                pendingDeletes.add(k);
+            }
+            dirty.set(true);
+        }
+    }
+
+    public void setChangeListener(Consumer<UUID> listener) {
+        this.changeListener = (listener == null) ? __ -> {} : listener;
+    }
+
+    private void markDirty(UUID teamId) {
         dirty.set(true);
+        changeListener.accept(teamId);
+    }
+
+    // TeamHome#equals only compares (team, name); a remote edit can move a home under the same key
+    private static boolean sameHomes(Map<String, TeamHome> a, Map<String, TeamHome> b) {
+        int sizeA = (a == null) ? 0 : a.size();
+        int sizeB = (b == null) ? 0 : b.size();
+        if (sizeA != sizeB) return false;
+        if (sizeA == 0) return true;
+
+        for (Map.Entry<String, TeamHome> e : a.entrySet()) {
+            TeamHome x = e.getValue();
+            TeamHome y = b.get(e.getKey());
+            if (y == null) return false;
+            if (x.getCreatedAtMs() != y.getCreatedAtMs()
+                    || x.getX() != y.getX() || x.getY() != y.getY() || x.getZ() != y.getZ()
+                    || x.getYaw() != y.getYaw() || x.getPitch() != y.getPitch()
+                    || !Objects.equals(x.getWorld(), y.getWorld())
+                    || !Objects.equals(x.getDisplayName(), y.getDisplayName())
+                    || !Objects.equals(x.getServerName(), y.getServerName())) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static String normalize(String s) {
@@ -77,13 +212,60 @@ public final class SimpleTeamHomeService implements TeamHomeService {
         homes.computeIfAbsent(teamId, __ -> new ConcurrentHashMap<>())
                 .put(key, home);
         // NOTE: loading from storage should NOT mark dirty.
+        changeListener.accept(teamId);
+    }
+
+    @Override
+    public boolean replaceLoadedTeam(UUID teamId, Collection<TeamHome> loaded) {
+        if (teamId == null) return false;
+
+        Map<String, TeamHome> fresh = new ConcurrentHashMap<>();
+        if (loaded != null) {
+            for (TeamHome h : loaded) {
+                if (h == null || !teamId.equals(h.getTeamId())) continue;
+                String key = normalize(h.getName());
+                if (!key.isBlank()) fresh.put(key, h);
+            }
+        }
+
+        Map<String, TeamHome> current = homes.get(teamId);
+        if (sameHomes(current, fresh)) return false;
+
+        if (fresh.isEmpty()) homes.remove(teamId);
+        else homes.put(teamId, fresh);
+
+        changeListener.accept(teamId);
+        return true;
+    }
+
+    @Override
+    public boolean removeLoadedHome(UUID teamId, String name) {
+        if (teamId == null) return false;
+
+        String key = normalize(name);
+        if (key.isBlank()) return false;
+
+        Map<String, TeamHome> inner = homes.get(teamId);
+        if (inner == null || inner.remove(key) == null) return false;
+
+        if (inner.isEmpty()) {
+            homes.remove(teamId, inner);
+        }
+        changeListener.accept(teamId);
+        return true;
     }
 
     @Override
     public void clearAll() {
         homes.clear();
         lastTeleportMs.clear();
-        markDirty();
+        synchronized (pendingLock) {
+            pendingUpserts.clear();
+            pendingDeletes.clear();
+            pendingClearedTeams.clear();
+            pendingFull = true;
+        }
+        markDirty(null);
         allowEmptyWriteOnce.set(true); // legitimate empty state
     }
 
@@ -141,7 +323,12 @@ public final class SimpleTeamHomeService implements TeamHomeService {
         }
 
         inner.put(key, home);
-        markDirty();
+        synchronized (pendingLock) {
+            HomeKey k = new HomeKey(teamId, key);
+            pendingDeletes.remove(k);
+            pendingUpserts.add(k);
+        }
+        markDirty(teamId);
         return true;
     }
 
@@ -162,7 +349,12 @@ public final class SimpleTeamHomeService implements TeamHomeService {
         }
 
         if (removed != null) {
-            markDirty();
+            synchronized (pendingLock) {
+                HomeKey k = new HomeKey(teamId, key);
+                pendingUpserts.remove(k);
+                pendingDeletes.add(k);
+            }
+            markDirty(teamId);
 
             // If this deletion resulted in NO homes globally, allow an empty SQL write (to delete rows)
             if (homes.isEmpty()) {
@@ -178,7 +370,13 @@ public final class SimpleTeamHomeService implements TeamHomeService {
         if (teamId == null) return;
         homes.remove(teamId);
         lastTeleportMs.remove(teamId);
-        markDirty();
+        synchronized (pendingLock) {
+            // the team-wide delete covers every key of this team
+            pendingUpserts.removeIf(k -> teamId.equals(k.teamId()));
+            pendingDeletes.removeIf(k -> teamId.equals(k.teamId()));
+            pendingClearedTeams.add(teamId);
+        }
+        markDirty(teamId);
 
         if (homes.isEmpty()) {
             allowEmptyWriteOnce.set(true);
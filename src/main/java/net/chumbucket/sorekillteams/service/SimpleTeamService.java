@@ -15,23 +15,45 @@ import net.chumbucket.sorekillteams.model.Team;
 import net.chumbucket.sorekillteams.model.TeamInvite;
 import net.chumbucket.sorekillteams.model.TeamInvites;
 import net.chumbucket.sorekillteams.network.InvitePacket;
+import net.chumbucket.sorekillteams.network.RedisConnections;
+import net.chumbucket.sorekillteams.network.RedisPresenceBus;
 import net.chumbucket.sorekillteams.network.TeamChatPacket;
 import net.chumbucket.sorekillteams.network.TeamEventPacket;
+import net.chumbucket.sorekillteams.storage.TeamDelta;
 import net.chumbucket.sorekillteams.storage.TeamStorage;
+import net.chumbucket.sorekillteams.storage.TeamWriteBehindQueue;
 import net.chumbucket.sorekillteams.storage.sql.SqlTeamInviteStorage;
 import net.chumbucket.sorekillteams.util.Msg;
+import net.chumbucket.sorekillteams.util.Platform;
+import net.chumbucket.sorekillteams.util.Settings;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.PermissionAttachmentInfo;
+import redis.clients.jedis.Jedis;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 public final class SimpleTeamService implements TeamService {
 
     private static final String MAX_PERM_PREFIX = "sorekillteams.max.";
     private static final String SPY_PERMISSION = "sorekillteams.spy";
+    private static final Pattern MULTI_SPACE = Pattern.compile("\\s{2,}");
+
+    // pre-colored once instead of per message
+    private static final String LOCAL_DEBUG_TAG = Msg.color(" &8[&aLOCAL&8]");
 
     private final SorekillTeamsPlugin plugin;
     private final TeamStorage storage;
@@ -42,7 +64,35 @@ public final class SimpleTeamService implements TeamService {
     private final Map<UUID, Team> teams = new ConcurrentHashMap<>();
     private final Map<UUID, UUID> playerToTeam = new ConcurrentHashMap<>();
 
+    // ✅ teamId -> online members: players on THIS server / this server + remote presence
+    private final OnlineMemberIndex localOnline = new OnlineMemberIndex();
+    private final OnlineMemberIndex networkOnline = new OnlineMemberIndex();
+    // remote player -> server it was last seen on ("" if only known from a snapshot)
+    private final Map<UUID, String> remoteServerByPlayer = new ConcurrentHashMap<>();
+
+    // ✅ normalized team name -> teamId (O(1) name lookups / uniqueness checks)
+    private final Map<String, UUID> nameIndex = new ConcurrentHashMap<>();
+
+    // ✅ Browse order for the TEAMS menu: "lowercase name \0 teamId" -> team, kept in step with the name index
+    private final ConcurrentSkipListMap<String, Team> browseIndex = new ConcurrentSkipListMap<>();
+    private final Map<UUID, String> browseKeyById = new ConcurrentHashMap<>();
+    // Flat copy of browseIndex, rebuilt lazily after a change so paging is a plain array slice
+    private final AtomicLong browseVersion = new AtomicLong();
+    private volatile BrowseSnapshot browseSnapshot = new BrowseSnapshot(-1L, new Team[0]);
+
+    private record BrowseSnapshot(long version, Team[] teams) {}
+
     private final Set<UUID> teamChatToggled = ConcurrentHashMap.newKeySet();
+
+    // ✅ SQL mode: invitee -> active invites (refreshed off-thread) + in-flight loads
+    private static final long SQL_INVITE_CACHE_REFRESH_MS = 30_000L;
+    private final Map<UUID, CachedInvites> sqlInviteCache = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<List<TeamInvite>>> sqlInviteFetches = new ConcurrentHashMap<>();
+    // invitee -> generation, bumped on every invalidation; a fetch that started before the bump is stale
+    private final Map<UUID, Long> sqlInviteGeneration = new ConcurrentHashMap<>();
+
+    // Continuations of async storage work resume here
+    private final Executor mainThread = this::runOnMainThread;
     private final Map<UUID, Long> inviteCooldownUntil = new ConcurrentHashMap<>();
 
     // spyPlayer -> set of teamIds being spied
@@ -51,6 +101,35 @@ public final class SimpleTeamService implements TeamService {
     // ✅ Only write to storage when THIS backend actually changed something
     private final AtomicBoolean dirty = new AtomicBoolean(false);
 
+    // ✅ Which teams changed since the last save (SQL writes only these rows)
+    private final Set<UUID> dirtyTeams = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> deletedTeams = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean fullRewrite = new AtomicBoolean(false);
+    private final Object saveLock = new Object();
+
+    // ✅ Drains are numbered on the main thread and written strictly in that order (saveLock)
+    private final Object inFlightLock = new Object();
+    private long nextDrainTicket = 0L;   // inFlightLock
+    private int savesInFlight = 0;       // inFlightLock
+    private long nextWriteTicket = 0L;   // saveLock
+    // Newest local write clock persisted per team / by a full rewrite; older records are skipped (saveLock)
+    private final Map<UUID, Long> writtenSeqByTeam = new HashMap<>();
+    private long fullWrittenSeq = 0L;
+
+    // Teams disbanded on another backend -> when; local upserts still queued for them are dropped
+    private final Map<UUID, Long> remotelyDisbanded = new ConcurrentHashMap<>();
+    // outlives any pending local write (autosave interval / write-behind retry)
+    private static final long REMOTE_DISBAND_MEMORY_MS = 10L * 60L * 1000L;
+    private static final long DRAIN_ON_MAIN_TIMEOUT_MS = 10_000L;
+
+    // ✅ Local writes not yet in SQL: ids of the delta being saved, plus a clock so a SQL read
+    // that started before a local write never overwrites it (see isSqlRefreshSafe)
+    private final Set<UUID> savingTeams = ConcurrentHashMap.newKeySet();
+    private volatile boolean fullSaveInFlight = false;
+    private final AtomicLong localWriteClock = new AtomicLong();
+    private final Map<UUID, Long> lastLocalWriteAt = new ConcurrentHashMap<>();
+    private volatile long lastFullMarkAt = 0L;
+
     //Invite Toggle
     private final Set<UUID> invitesDisabled = ConcurrentHashMap.newKeySet();
 
@@ -58,6 +137,21 @@ public final class SimpleTeamService implements TeamService {
         this.plugin = Objects.requireNonNull(plugin, "plugin");
         this.storage = Objects.requireNonNull(storage, "storage");
         this.invites = Objects.requireNonNull(plugin.invites(), "invites");
+
+        // reload creates a fresh service: seed presence so the index is right before teams load
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            if (p == null) continue;
+            localOnline.setOnline(p.getUniqueId(), null);
+            networkOnline.setOnline(p.getUniqueId(), null);
+        }
+        RedisPresenceBus pb = plugin.presenceBus();
+        if (pb != null) {
+            for (UUID u : pb.cachedOnlineUuids()) {
+                if (localOnline.isOnline(u)) continue;
+                remoteServerByPlayer.put(u, "");
+                networkOnline.setOnline(u, null);
+            }
+        }
     }
 
     private boolean isSqlMode() {
@@ -72,10 +166,454 @@ public final class SimpleTeamService implements TeamService {
     // Dirty tracking
     // =========================
 
-    public void markDirty() { dirty.set(true); }
+    /**
+     * Marks the whole snapshot dirty (scope unknown) -> next save rewrites everything.
+     * Prefer {@link #markTeamDirty(UUID)} / {@link #markTeamDeleted(UUID)}.
+     */
+    public void markDirty() {
+        lastFullMarkAt = localWriteClock.incrementAndGet();
+        fullRewrite.set(true);
+        dirty.set(true);
+        plugin.bumpStateVersion();
+    }
+
+    /**
+     * Records a created/changed team.
+     * With write-behind enabled a detached copy is queued (taken here, on the mutating thread);
+     * if the queue is off or full the id lands in the dirty set for the next save instead.
+     * Both paths are stamped with the local write clock, so whichever lands second cannot
+     * overwrite a newer row with an older snapshot.
+     */
+    public void markTeamDirty(UUID teamId) {
+        if (teamId == null) return;
+        long seq = localWriteClock.incrementAndGet();
+        lastLocalWriteAt.put(teamId, seq);
+        plugin.bumpTeamVersion(teamId);
+
+        TeamWriteBehindQueue q = plugin.teamWriteBehind();
+        if (q != null && q.isAccepting()) {
+            Team copy;
+            try {
+                copy = copyOf(teams.get(teamId));
+            } catch (RuntimeException e) {
+                markTeamDirtyForRetry(teamId);
+                throw e;
+            }
+            if (copy != null && q.offerUpsert(copy, seq)) return;
+        }
+
+        markTeamDirtyForRetry(teamId);
+    }
+
+    public void markTeamDeleted(UUID teamId) {
+        if (teamId == null) return;
+        long seq = localWriteClock.incrementAndGet();
+        lastLocalWriteAt.put(teamId, seq);
+        plugin.bumpTeamVersion(teamId);
+
+        TeamWriteBehindQueue q = plugin.teamWriteBehind();
+        if (q != null && q.isAccepting() && q.offerDelete(teamId, seq)) return;
+
+        markTeamDeletedForRetry(teamId);
+    }
+
+    /** Dirty-set only (no queueing): used for overflow and by the writer when a flush fails. */
+    public void markTeamDirtyForRetry(UUID teamId) {
+        if (teamId == null) return;
+        deletedTeams.remove(teamId);
+        dirtyTeams.add(teamId);
+        dirty.set(true);
+    }
+
+    public void markTeamDeletedForRetry(UUID teamId) {
+        if (teamId == null) return;
+        dirtyTeams.remove(teamId);
+        deletedTeams.add(teamId);
+        dirty.set(true);
+    }
+
+    /** Records a team change and persists it (write-behind when available). */
+    public void persistTeam(UUID teamId) {
+        markTeamDirty(teamId);
+        safeSave();
+    }
+
     public boolean isDirty() { return dirty.get(); }
     public boolean consumeDirty() { return dirty.getAndSet(false); }
 
+    /** Current local-write clock; SQL refreshes capture it before reading (main thread). */
+    public long localWriteClock() { return localWriteClock.get(); }
+
+    /**
+     * True while a local change to this team may not be in SQL yet:
+     * dirty/deleted sets, a save in progress, or a queued write-behind record.
+     */
+    public boolean hasUnflushedWrites(UUID teamId) {
+        if (teamId == null) return false;
+        if (fullRewrite.get() || fullSaveInFlight) return true;
+        if (dirtyTeams.contains(teamId) || deletedTeams.contains(teamId) || savingTeams.contains(teamId)) return true;
+
+        TeamWriteBehindQueue q = plugin.teamWriteBehind();
+        return q != null && q.hasPending(teamId);
+    }
+
+    /** True while any local change may not be in SQL yet. */
+    public boolean hasAnyUnflushedWrites() {
+        if (fullRewrite.get() || fullSaveInFlight) return true;
+        if (!dirtyTeams.isEmpty() || !deletedTeams.isEmpty() || !savingTeams.isEmpty()) return true;
+
+        TeamWriteBehindQueue q = plugin.teamWriteBehind();
+        return q != null && q.hasAnyPending();
+    }
+
+    /**
+     * ✅ Whether SQL data read after {@code readStartedAt} (a {@link #localWriteClock()} value)
+     * may replace the cached copy of this team: nothing pending, and no local write since the read began.
+     */
+    public boolean isSqlRefreshSafe(UUID teamId, long readStartedAt) {
+        if (teamId == null) return true;
+        if (hasUnflushedWrites(teamId)) return false;
+        if (lastFullMarkAt > readStartedAt) return false;
+        return lastLocalWriteAt.getOrDefault(teamId, 0L) <= readStartedAt;
+    }
+
+    /** A drained delta waiting for its write; writes commit in drain order. */
+    public record DrainedSave(long ticket, TeamDelta delta, long drainedAt) {}
+
+    /**
+     * ✅ Drains pending changes into a detached delta for one save.
+     * Main thread only: members are mutated there, so this is the one place a copy cannot race a
+     * mutation. Hand the result to {@link #writeDrained} (any thread).
+     * Drained ids stay visible to {@link #hasUnflushedWrites(UUID)} until every drained save is written.
+     * If a copy fails nothing is lost: the drained ids go back to the dirty sets and the error is rethrown.
+     *
+     * @return null when nothing is pending
+     */
+    public DrainedSave drainForSave() {
+        if (!Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException("drainForSave must run on the main thread");
+        }
+
+        synchronized (inFlightLock) {
+            if (!consumeDirty()) return null;
+            savesInFlight++;
+            final long drainedAt = localWriteClock.get();
+
+            TeamDelta delta;
+            try {
+                delta = drainDelta();
+            } catch (RuntimeException e) {
+                if (--savesInFlight == 0) clearInFlight();
+                dirty.set(true);
+                throw e;
+            }
+
+            if (delta.isEmpty()) {
+                if (--savesInFlight == 0) clearInFlight();
+                return null;
+            }
+            return new DrainedSave(nextDrainTicket++, delta, drainedAt);
+        }
+    }
+
+    // Caller holds inFlightLock
+    private TeamDelta drainDelta() {
+        boolean full = fullRewrite.getAndSet(false);
+        if (full) fullSaveInFlight = true;
+
+        // copies taken now reflect every local write up to this clock value
+        final long seq = localWriteClock.get();
+        Map<UUID, Long> seqs = new HashMap<>();
+
+        List<Team> upserts = new ArrayList<>();
+        Set<UUID> deletes = new HashSet<>();
+        try {
+            for (UUID id : new ArrayList<>(dirtyTeams)) {
+                savingTeams.add(id);
+
+                Team t = teams.get(id);
+                Team copy = (t == null) ? null : copyOf(t); // null team: disbanded meanwhile (tracked in deletedTeams)
+                dirtyTeams.remove(id);
+                if (copy != null) {
+                    upserts.add(copy);
+                    seqs.put(id, seq);
+                }
+            }
+
+            for (UUID id : new ArrayList<>(deletedTeams)) {
+                savingTeams.add(id);
+                deletedTeams.remove(id);
+                deletes.add(id);
+                seqs.put(id, seq);
+            }
+        } catch (RuntimeException e) {
+            // ids not drained yet are still in the dirty sets; put back what was
+            requeueDelta(new TeamDelta(upserts, deletes, full));
+            throw e;
+        }
+
+        return new TeamDelta(upserts, deletes, full, seqs);
+    }
+
+    // Caller holds inFlightLock; only once no drained save is left unwritten
+    private void clearInFlight() {
+        fullSaveInFlight = false;
+        savingTeams.clear();
+    }
+
+    /**
+     * Puts a failed delta back so the next save retries it.
+     * Newer marks win (a team deleted after the drain is not re-upserted).
+     */
+    public void requeueDelta(TeamDelta delta) {
+        if (delta == null) return;
+
+        if (delta.fullRewrite()) fullRewrite.set(true);
+
+        for (Team t : delta.upserts()) {
+            UUID id = t.getId();
+            if (id != null && !deletedTeams.contains(id)) dirtyTeams.add(id);
+        }
+        for (UUID id : delta.deletes()) {
+            if (id == null) continue;
+            // a dirty mark only outranks the delete while the team is still cached (ids are never reused)
+            if (dirtyTeams.contains(id) && teams.containsKey(id)) continue;
+            dirtyTeams.remove(id);
+            deletedTeams.add(id);
+        }
+
+        dirty.set(true);
+    }
+
+    /**
+     * Writes a drained save through {@link TeamStorage#saveDelta}, waiting for every save drained
+     * before it, so an older delta can never commit after a newer one. On failure it is requeued.
+     */
+    public void writeDrained(DrainedSave save) throws Exception {
+        if (save == null) return;
+
+        synchronized (saveLock) {
+            boolean interrupted = false;
+            while (save.ticket() != nextWriteTicket) {
+                try {
+                    saveLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true; // the turn must still be taken, or later saves stall
+                }
+            }
+
+            try {
+                TeamDelta delta = save.delta();
+                if (delta.fullRewrite()) {
+                    storage.saveAll(this);
+                    recordFullWrite(save.drainedAt());
+                } else {
+                    writeUnsuperseded(delta);
+                }
+            } catch (Exception e) {
+                requeueDelta(save.delta());
+                throw e;
+            } finally {
+                nextWriteTicket++;
+                saveLock.notifyAll();
+                synchronized (inFlightLock) {
+                    if (--savesInFlight == 0) clearInFlight();
+                }
+                if (interrupted) Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * ✅ Drains and writes pending changes. From any thread: off the main thread the drain hops
+     * there (team copies are only taken on the main thread) and the write stays on the caller.
+     */
+    public void saveDirtyNow() throws Exception {
+        writeDrained(drainOnMain());
+    }
+
+    private DrainedSave drainOnMain() throws Exception {
+        if (Bukkit.isPrimaryThread()) return drainForSave();
+
+        Future<DrainedSave> f = Bukkit.getScheduler().callSyncMethod(plugin, this::drainForSave);
+        try {
+            return f.get(DRAIN_ON_MAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (f.cancel(false)) throw e; // never ran: nothing was drained, the next save retries
+            return f.get();               // already running on main: its result must be written
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception ex) throw ex;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes an already-coalesced delta (write-behind writer thread).
+     * Shares the save lock with {@link #saveDirtyNow()} so the two paths never interleave.
+     */
+    public void writeDelta(TeamDelta delta) throws Exception {
+        if (delta == null || delta.isEmpty()) return;
+
+        synchronized (saveLock) {
+            writeUnsuperseded(delta);
+        }
+    }
+
+    // Caller holds saveLock. Drops records older than what was already written for their team
+    // (a queued snapshot vs. a newer one saved from the dirty set), writes the rest, records them.
+    private void writeUnsuperseded(TeamDelta delta) throws Exception {
+        List<Team> upserts = new ArrayList<>(delta.upserts().size());
+        for (Team t : delta.upserts()) {
+            if (!isSuperseded(t.getId(), delta) && !remotelyDisbanded.containsKey(t.getId())) upserts.add(t);
+        }
+        Set<UUID> deletes = new HashSet<>();
+        for (UUID id : delta.deletes()) {
+            if (!isSuperseded(id, delta)) deletes.add(id);
+        }
+
+        TeamDelta fresh = (upserts.size() == delta.upserts().size() && deletes.size() == delta.deletes().size())
+                ? delta
+                : new TeamDelta(upserts, deletes, false, delta.writeSeqs());
+        if (fresh.isEmpty()) return;
+
+        storage.saveDelta(this, fresh);
+        recordWritten(fresh);
+    }
+
+    private boolean isSuperseded(UUID teamId, TeamDelta delta) {
+        long seq = delta.writeSeq(teamId);
+        if (seq <= 0L) return false; // unstamped
+        if (seq <= fullWrittenSeq) return true;
+        Long written = writtenSeqByTeam.get(teamId);
+        return written != null && seq <= written;
+    }
+
+    // Caller holds saveLock
+    private void recordWritten(TeamDelta delta) {
+        for (Map.Entry<UUID, Long> e : delta.writeSeqs().entrySet()) {
+            writtenSeqByTeam.merge(e.getKey(), e.getValue(), Math::max);
+        }
+    }
+
+    // Caller holds saveLock. A full rewrite persisted every team as of (at least) drainedAt.
+    private void recordFullWrite(long drainedAt) {
+        if (drainedAt <= fullWrittenSeq) return;
+        fullWrittenSeq = drainedAt;
+        writtenSeqByTeam.values().removeIf(v -> v <= drainedAt);
+    }
+
+    // =========================
+    // Online-member index
+    // =========================
+
+    /** Every playerToTeam write goes through here so the online index follows membership. */
+    private void bindPlayer(UUID player, UUID teamId) {
+        if (player == null || teamId == null) return;
+        UUID prev = playerToTeam.put(player, teamId);
+        if (teamId.equals(prev)) return;
+        localOnline.moved(player, prev, teamId);
+        networkOnline.moved(player, prev, teamId);
+        plugin.bumpPlayerVersion(player);
+        plugin.bumpTeamVersion(prev);
+        plugin.bumpTeamVersion(teamId);
+    }
+
+    private void unbindPlayer(UUID player) {
+        if (player == null) return;
+        UUID prev = playerToTeam.remove(player);
+        if (prev == null) return;
+        localOnline.moved(player, prev, null);
+        networkOnline.moved(player, prev, null);
+        plugin.bumpPlayerVersion(player);
+        plugin.bumpTeamVersion(prev);
+    }
+
+    @Override
+    public Set<UUID> getLocalOnlineMembers(UUID teamId) {
+        return localOnline.members(teamId);
+    }
+
+    @Override
+    public int countLocalOnlineMembers(UUID teamId) {
+        return localOnline.count(teamId);
+    }
+
+    @Override
+    public int countOnlineMembers(UUID teamId) {
+        return networkOnline.count(teamId);
+    }
+
+    @Override
+    public void markPlayerOnline(UUID player) {
+        if (player == null) return;
+        UUID teamId = playerToTeam.get(player);
+        localOnline.setOnline(player, teamId);
+        networkOnline.setOnline(player, teamId);
+        remoteServerByPlayer.remove(player);
+        plugin.bumpTeamVersion(teamId);
+
+        // ✅ warm the invite list so menus/commands never wait on SQL
+        if (isSqlMode()) fetchSqlInvites(player);
+    }
+
+    @Override
+    public void markPlayerOffline(UUID player) {
+        if (player == null) return;
+        UUID teamId = playerToTeam.get(player);
+        localOnline.setOffline(player, teamId);
+        if (!remoteServerByPlayer.containsKey(player)) networkOnline.setOffline(player, teamId);
+        plugin.bumpTeamVersion(teamId);
+
+        sqlInviteCache.remove(player);
+    }
+
+    @Override
+    public void markRemotePresence(UUID player, String server, boolean online) {
+        if (player == null) return;
+        String srv = (server == null ? "" : server);
+        UUID teamId = playerToTeam.get(player);
+
+        if (online) {
+            remoteServerByPlayer.put(player, srv);
+            networkOnline.setOnline(player, teamId);
+            plugin.bumpTeamVersion(teamId);
+            return;
+        }
+
+        // a late OFFLINE from the previous server must not undo a server switch
+        String last = remoteServerByPlayer.get(player);
+        if (last != null && !last.isEmpty() && !last.equalsIgnoreCase(srv)) return;
+
+        remoteServerByPlayer.remove(player);
+        if (!localOnline.isOnline(player)) networkOnline.setOffline(player, teamId);
+        plugin.bumpTeamVersion(teamId);
+    }
+
+    @Override
+    public void resetRemotePresence(Map<UUID, String> remoteOnline) {
+        Set<UUID> before = new HashSet<>(networkOnline.onlinePlayers());
+        remoteServerByPlayer.clear();
+
+        Set<UUID> all = new HashSet<>(localOnline.onlinePlayers());
+        if (remoteOnline != null) {
+            for (Map.Entry<UUID, String> e : remoteOnline.entrySet()) {
+                UUID u = e.getKey();
+                if (u == null || all.contains(u)) continue;
+                remoteServerByPlayer.put(u, e.getValue() == null ? "" : e.getValue());
+                all.add(u);
+            }
+        }
+
+        networkOnline.reset(all, playerToTeam);
+
+        // only teams whose online count actually moved
+        for (UUID u : all) {
+            if (!before.remove(u)) plugin.bumpTeamVersion(playerToTeam.get(u));
+        }
+        for (UUID u : before) plugin.bumpTeamVersion(playerToTeam.get(u));
+    }
+
     // =========================
     // Cache hygiene / SQL refresh support
     // =========================
@@ -83,10 +621,11 @@ public final class SimpleTeamService implements TeamService {
     public void clearCachedMembership(UUID playerUuid) {
         if (playerUuid == null) return;
 
-        playerToTeam.remove(playerUuid);
+        unbindPlayer(playerUuid);
         teamChatToggled.remove(playerUuid);
         invites.clearTarget(playerUuid);
         invitesDisabled.remove(playerUuid);
+        plugin.bumpPlayerVersion(playerUuid);
     }
 
     public void evictCachedTeam(UUID teamId) {
@@ -98,11 +637,14 @@ public final class SimpleTeamService implements TeamService {
             return;
         }
 
+        unindexName(removed.getName(), teamId);
+        plugin.bumpTeamVersion(teamId);
+
         for (UUID m : new HashSet<>(removed.getMembers())) {
             if (m == null) continue;
             UUID mapped = playerToTeam.get(m);
             if (teamId.equals(mapped)) {
-                playerToTeam.remove(m);
+                unbindPlayer(m);
                 teamChatToggled.remove(m);
                 invites.clearTarget(m);
             }
@@ -112,8 +654,56 @@ public final class SimpleTeamService implements TeamService {
     }
 
     public void replaceTeamsSnapshot(Collection<Team> loadedTeams) {
+        swapSnapshot(loadedTeams);
+
+        dirty.set(false);
+        dirtyTeams.clear();
+        deletedTeams.clear();
+        fullRewrite.set(false);
+    }
+
+    /**
+     * ✅ Applies a full SQL snapshot without losing local writes SQL has not seen yet:
+     * a team with such writes keeps its cached state (or stays gone if it was disbanded here),
+     * and every pending save mark is kept so those writes still go out.
+     *
+     * @param readStartedAt {@link #localWriteClock()} captured before the snapshot was read
+     */
+    public void applyFullSnapshot(Collection<Team> loadedTeams, long readStartedAt) {
+        Map<UUID, Team> merged = new LinkedHashMap<>();
+
+        if (loadedTeams != null) {
+            for (Team t : loadedTeams) {
+                if (t == null || t.getId() == null) continue;
+                UUID id = t.getId();
+
+                if (isSqlRefreshSafe(id, readStartedAt)) {
+                    merged.put(id, t);
+                    continue;
+                }
+
+                Team cached = teams.get(id);
+                if (cached != null) merged.put(id, cached);
+                else if (!lastLocalWriteAt.containsKey(id)) merged.put(id, t); // never touched here
+                // else: disbanded here, delete not in SQL yet
+            }
+        }
+
+        for (Team cached : teams.values()) {
+            UUID id = cached.getId();
+            if (id == null || merged.containsKey(id)) continue;
+            // created/changed here and not in SQL yet
+            if (!isSqlRefreshSafe(id, readStartedAt)) merged.put(id, cached);
+        }
+
+        swapSnapshot(merged.values());
+    }
+
+    // Replaces the cache and every index; pending save marks are left to the caller
+    private void swapSnapshot(Collection<Team> loadedTeams) {
         Map<UUID, Team> newTeams = new HashMap<>();
         Map<UUID, UUID> newPlayerToTeam = new HashMap<>();
+        Map<String, UUID> newNameIndex = new HashMap<>();
 
         if (loadedTeams != null) {
             for (Team t : loadedTeams) {
@@ -126,6 +716,9 @@ public final class SimpleTeamService implements TeamService {
                 for (UUID m : t.getMembers()) {
                     if (m != null) newPlayerToTeam.put(m, t.getId());
                 }
+
+                String key = normalizeForCompare(t.getName());
+                if (!key.isBlank()) newNameIndex.putIfAbsent(key, t.getId());
             }
         }
 
@@ -135,6 +728,12 @@ public final class SimpleTeamService implements TeamService {
 
         playerToTeam.clear();
         playerToTeam.putAll(newPlayerToTeam);
+        localOnline.rebuild(playerToTeam);
+        networkOnline.rebuild(playerToTeam);
+
+        nameIndex.clear();
+        nameIndex.putAll(newNameIndex);
+        rebuildBrowseIndex();
 
         teamChatToggled.removeIf(u -> !playerToTeam.containsKey(u));
 
@@ -145,7 +744,7 @@ public final class SimpleTeamService implements TeamService {
             return watching.isEmpty();
         });
 
-        dirty.set(false);
+        plugin.bumpStateVersion();
     }
 
     // =========================
@@ -158,10 +757,146 @@ public final class SimpleTeamService implements TeamService {
         ensureOwnerInMembers(t);
         dedupeMembers(t);
 
-        teams.put(t.getId(), t);
+        Team prev = teams.put(t.getId(), t);
+        if (prev != null) unindexName(prev.getName(), prev.getId());
+        indexName(t);
+
         for (UUID m : t.getMembers()) {
-            if (m != null) playerToTeam.put(m, t.getId());
+            if (m != null) bindPlayer(m, t.getId());
+        }
+        plugin.bumpTeamVersion(t.getId());
+    }
+
+    /**
+     * ✅ Patches the cache in place with teams changed/removed on other backends (delta sync).
+     * Members dropped from a changed team lose their mapping only if it still points at that team.
+     */
+    public void applyTeamChanges(Collection<Team> changed, Collection<UUID> deleted) {
+        if (deleted != null) {
+            for (UUID id : deleted) applyRemoteDisband(id);
+        }
+        if (changed == null) return;
+
+        for (Team t : changed) {
+            if (t == null || t.getId() == null) continue;
+
+            Team prev = teams.get(t.getId());
+            if (prev != null) {
+                for (UUID m : new ArrayList<>(prev.getMembers())) {
+                    if (m == null || t.getMembers().contains(m)) continue;
+                    if (t.getId().equals(playerToTeam.get(m))) {
+                        unbindPlayer(m);
+                        teamChatToggled.remove(m);
+                    }
+                }
+            }
+
+            putLoadedTeam(t);
+        }
+    }
+
+    /**
+     * A team disbanded on another backend always goes, even with local writes pending:
+     * those are dropped so a queued upsert cannot bring the team back.
+     */
+    private void applyRemoteDisband(UUID teamId) {
+        if (teamId == null) return;
+
+        long now = System.currentTimeMillis();
+        remotelyDisbanded.put(teamId, now);
+        if (remotelyDisbanded.size() > 1024) {
+            remotelyDisbanded.values().removeIf(at -> now - at > REMOTE_DISBAND_MEMORY_MS);
+        }
+
+        dirtyTeams.remove(teamId);
+        evictCachedTeam(teamId);
+    }
+
+    /**
+     * Applies a rename that happened on another backend (keeps the name index in sync).
+     */
+    public void applyRemoteRename(UUID teamId, String newName) {
+        if (teamId == null || newName == null || newName.isBlank()) return;
+
+        Team t = teams.get(teamId);
+        if (t == null) return;
+
+        unindexName(t.getName(), teamId);
+        t.setName(newName);
+        indexName(t);
+        plugin.bumpTeamVersion(teamId);
+    }
+
+    /**
+     * ✅ Applies a remote team event from its payload alone (no SQL read).
+     * v2 packets also carry the owner / friendly-fire state after the event, which is converged last.
+     * Returns false when the team is not cached here (caller decides whether to fetch it).
+     */
+    public boolean applyRemoteTeamEvent(TeamEventPacket pkt) {
+        if (pkt == null || pkt.teamId() == null) return false;
+
+        if (pkt.type() == TeamEventPacket.Type.TEAM_DISBANDED) {
+            applyRemoteDisband(pkt.teamId());
+            return true;
+        }
+
+        Team t = teams.get(pkt.teamId());
+        if (t == null) return false;
+
+        UUID target = pkt.targetUuid();
+
+        switch (pkt.type()) {
+            case MEMBER_JOINED -> {
+                if (target != null) {
+                    // a stale mapping to another team would otherwise survive until the next full sync
+                    UUID prevTeam = playerToTeam.get(target);
+                    if (prevTeam != null && !prevTeam.equals(t.getId())) {
+                        Team prev = teams.get(prevTeam);
+                        if (prev != null) prev.getMembers().remove(target);
+                    }
+                    if (!t.getMembers().contains(target)) t.getMembers().add(target);
+                    bindPlayer(target, t.getId());
+                }
+            }
+            case MEMBER_LEFT, MEMBER_KICKED -> {
+                if (target != null) {
+                    t.getMembers().remove(target);
+                    if (t.getId().equals(playerToTeam.get(target))) {
+                        unbindPlayer(target);
+                        teamChatToggled.remove(target);
+                    }
+                }
+            }
+            case OWNER_TRANSFERRED -> {
+                if (target != null) {
+                    t.setOwner(target);
+                    bindPlayer(target, t.getId());
+                }
+            }
+            case TEAM_RENAMED -> applyRemoteRename(t.getId(), pkt.teamName());
+            case FRIENDLY_FIRE_CHANGED -> {
+                if (pkt.friendlyFire() != null) t.setFriendlyFireEnabled(pkt.friendlyFire());
+            }
+            default -> {}
+        }
+
+        // converge on the carried post-event state
+        if (pkt.ownerUuid() != null && !pkt.ownerUuid().equals(t.getOwner())) {
+            t.setOwner(pkt.ownerUuid());
+            bindPlayer(pkt.ownerUuid(), t.getId());
+        }
+        if (pkt.friendlyFire() != null) {
+            t.setFriendlyFireEnabled(pkt.friendlyFire());
         }
+        if (pkt.isSequenced() && pkt.teamName() != null && !pkt.teamName().isBlank()
+                && !pkt.teamName().equals(t.getName())) {
+            applyRemoteRename(t.getId(), pkt.teamName());
+        }
+
+        ensureOwnerInMembers(t);
+        dedupeMembers(t);
+        plugin.bumpTeamVersion(t.getId());
+        return true;
     }
 
     public void putAllTeams(Collection<Team> loadedTeams) {
@@ -172,6 +907,26 @@ public final class SimpleTeamService implements TeamService {
         return new ArrayList<>(teams.values());
     }
 
+    /** Number of loaded teams (no copy). */
+    public int teamCount() {
+        return teams.size();
+    }
+
+    /**
+     * One page of teams in browse order (name, case-insensitive). Only the requested slice is copied;
+     * the sorted view is rebuilt at most once per change to the team set or a team name.
+     */
+    public List<Team> pageOfTeams(int offset, int limit) {
+        if (limit <= 0) return List.of();
+
+        Team[] sorted = browseSorted();
+        int from = Math.max(0, offset);
+        if (from >= sorted.length) return List.of();
+
+        int to = (int) Math.min(sorted.length, (long) from + limit);
+        return List.of(Arrays.copyOfRange(sorted, from, to));
+    }
+
     // =========================
     // Lookup
     // =========================
@@ -195,14 +950,8 @@ public final class SimpleTeamService implements TeamService {
         String norm = normalizeForCompare(teamName);
         if (norm.isBlank()) return Optional.empty();
 
-        for (Team t : teams.values()) {
-            if (t == null) continue;
-            String n = t.getName();
-            if (n == null) continue;
-
-            if (normalizeForCompare(n).equals(norm)) return Optional.of(t);
-        }
-        return Optional.empty();
+        UUID id = nameIndex.get(norm);
+        return (id == null) ? Optional.empty() : Optional.ofNullable(teams.get(id));
     }
 
     // =========================
@@ -229,9 +978,10 @@ public final class SimpleTeamService implements TeamService {
         dedupeMembers(t);
 
         teams.put(id, t);
-        playerToTeam.put(owner, id);
+        bindPlayer(owner, id);
+        indexName(t);
 
-        markDirty();
+        markTeamDirty(id);
         safeSave();
         return t;
     }
@@ -256,11 +1006,10 @@ public final class SimpleTeamService implements TeamService {
 
         internalDisbandTeam(t);
 
-        markDirty();
         safeSave();
 
         if (isSqlMode()) {
-            try { sqlInvites().deleteAllForTeam(teamId); } catch (Exception ignored) {}
+            deleteSqlInvitesForTeamAsync(teamId);
         }
 
         // ✅ Local UI: close team menus on this backend for viewers of that team
@@ -306,12 +1055,12 @@ public final class SimpleTeamService implements TeamService {
         ensureOwnerInMembers(t);
         dedupeMembers(t);
 
-        playerToTeam.remove(player);
+        unbindPlayer(player);
         teamChatToggled.remove(player);
         invites.clearTarget(player);
         invitesDisabled.remove(player);
 
-        markDirty();
+        markTeamDirty(teamId);
         safeSave();
 
         broadcastToTeam(t, plugin.msg().format(
@@ -345,8 +1094,102 @@ public final class SimpleTeamService implements TeamService {
         ));
     }
 
+    /** Everything an invite needs once the in-memory checks (and cooldown) have passed. */
+    private record PreparedInvite(Team team, UUID inviter, UUID invitee, long now, long expiresAt,
+                                  String inviterName, String inviteeName) {}
+
+    /**
+     * @deprecated blocks on JDBC in SQL mode; use {@link #inviteAsync}. Refused on the main thread there.
+     */
+    @Deprecated
     @Override
     public void invite(UUID inviter, UUID invitee) {
+        requireOffMainInSqlMode("invite");
+        PreparedInvite req = prepareInvite(inviter, invitee);
+
+        if (isSqlMode()) {
+            try {
+                SqlTeamInviteStorage.CreateResult result = createInviteSql(req);
+                applySqlInviteResult(req, result);
+                return;
+            } catch (TeamServiceException te) {
+                throw te;
+            } catch (Exception e) {
+                plugin.getLogger().warning("SQL invite failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+
+        inviteLocal(req);
+    }
+
+    /**
+     * Same rules as {@link #invite}, but the SQL validation + write runs off the main thread
+     * (one pooled connection, one validation round-trip); the result is applied on the main thread.
+     */
+    @Override
+    public CompletableFuture<Void> inviteAsync(UUID inviter, UUID invitee) {
+        final PreparedInvite req;
+        try {
+            req = prepareInvite(inviter, invitee);
+            if (!isSqlMode()) {
+                inviteLocal(req);
+                return CompletableFuture.completedFuture(null);
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return sqlAsync(() -> createInviteSql(req)).handleAsync((result, err) -> {
+            if (err == null) {
+                // the round-trip took time: the team may have filled up or the invitee joined a team meanwhile
+                if (result == SqlTeamInviteStorage.CreateResult.CREATED) {
+                    try {
+                        recheckInvite(req);
+                    } catch (TeamServiceException te) {
+                        deleteSqlInviteAsync(req.invitee(), req.team().getId());
+                        throw te;
+                    }
+                }
+                applySqlInviteResult(req, result);
+                return null;
+            }
+
+            Throwable cause = unwrap(err);
+            plugin.getLogger().warning("SQL invite failed: " + cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            recheckInvite(req);
+            inviteLocal(req);
+            return null;
+        }, mainThread);
+    }
+
+    /** Main thread: re-validates a prepared invite against current state after an async hop. */
+    private void recheckInvite(PreparedInvite req) {
+        Team t = teams.get(req.team().getId());
+        if (t == null || !t.getOwner().equals(req.inviter())) {
+            throw new TeamServiceException(TeamError.ONLY_OWNER_CAN_INVITE, "team_not_owner");
+        }
+        if (t.isMember(req.invitee())) {
+            throw new TeamServiceException(TeamError.ALREADY_MEMBER, "team_already_member");
+        }
+        if (playerToTeam.containsKey(req.invitee())) {
+            throw new TeamServiceException(TeamError.INVITEE_IN_TEAM, "team_invitee_in_team");
+        }
+        if (uniqueMemberCount(t) >= getTeamMaxMembers(t)) {
+            throw new TeamServiceException(TeamError.TEAM_FULL, "team_team_full");
+        }
+        if (!isInvitesEnabled(req.invitee())) {
+            throw new TeamServiceException(TeamError.INVITES_DISABLED, "team_invite_target_disabled");
+        }
+    }
+
+    /** The blocking sync invite calls stay for API callers off the main thread; on it they would stall the server. */
+    private void requireOffMainInSqlMode(String op) {
+        if (isSqlMode() && Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException(op + " blocks on SQL; use " + op + "Async on the main thread");
+        }
+    }
+
+    private PreparedInvite prepareInvite(UUID inviter, UUID invitee) {
         if (inviter == null || invitee == null) {
             throw new TeamServiceException(TeamError.INVALID_PLAYER, "invalid_player");
         }
@@ -395,52 +1238,39 @@ public final class SimpleTeamService implements TeamService {
         int expirySeconds = Math.max(1, plugin.getConfig().getInt("invites.expiry_seconds", 300));
         long expiresAt = now + (expirySeconds * 1000L);
 
-        String inviterName = safeName(nameOf(inviter));
-        String inviteeName = safeName(nameOf(invitee));
+        return new PreparedInvite(t, inviter, invitee, now, expiresAt,
+                safeName(nameOf(inviter)), safeName(nameOf(invitee)));
+    }
 
-        if (isSqlMode()) {
-            SqlTeamInviteStorage sql = sqlInvites();
+    /** Blocking: one pooled connection for validation + upsert. */
+    private SqlTeamInviteStorage.CreateResult createInviteSql(PreparedInvite req) throws Exception {
+        int maxPending = Math.max(1, plugin.getConfig().getInt("invites.max_pending_per_player", 5));
+        int maxOutgoing = Math.max(1, plugin.getConfig().getInt("invites.max_outgoing_per_team", 10));
+        boolean allowMultiTeams = plugin.getConfig().getBoolean("invites.allow_multiple_from_different_teams", true);
 
-            try {
-                int maxPending = Math.max(1, plugin.getConfig().getInt("invites.max_pending_per_player", 5));
-                int pendingNow = sql.pendingForTarget(invitee, now);
-                if (pendingNow >= maxPending) {
-                    throw new TeamServiceException(TeamError.INVITE_TARGET_MAX_PENDING, "team_invite_target_max_pending");
-                }
+        return sqlInvites().createChecked(req.team().getId(), req.inviter(), req.invitee(), req.now(), req.expiresAt(),
+                maxPending, maxOutgoing, allowMultiTeams);
+    }
 
-                int maxOutgoing = Math.max(1, plugin.getConfig().getInt("invites.max_outgoing_per_team", 10));
-                int outgoingNow = sql.outgoingForTeam(t.getId(), now);
-                if (outgoingNow >= maxOutgoing) {
+    private void applySqlInviteResult(PreparedInvite req, SqlTeamInviteStorage.CreateResult result) {
+        switch (result) {
+            case TARGET_MAX_PENDING ->
+                    throw new TeamServiceException(TeamError.INVITE_TARGET_MAX_PENDING, "team_invite_target_max_pending");
+            case TEAM_MAX_OUTGOING ->
                     throw new TeamServiceException(TeamError.INVITE_TEAM_MAX_OUTGOING, "team_invite_team_max_outgoing");
-                }
-
-                boolean allowMultiTeams = plugin.getConfig().getBoolean("invites.allow_multiple_from_different_teams", true);
-                if (!allowMultiTeams && sql.hasInviteFromOtherTeam(invitee, t.getId(), now)) {
+            case ONLY_ONE_TEAM ->
                     throw new TeamServiceException(TeamError.INVITE_ONLY_ONE_TEAM, "team_invite_only_one_team");
-                }
+            case CREATED -> { }
+        }
 
-                sql.upsert(t.getId(), inviter, invitee, now, expiresAt);
-
-                plugin.publishInvite(new InvitePacket(
-                        plugin.networkServerName(),
-                        InvitePacket.Type.SENT,
-                        t.getId(),
-                        t.getName(),
-                        inviter,
-                        inviterName,
-                        invitee,
-                        inviteeName,
-                        now,
-                        expiresAt
-                ));
-                return;
+        invalidateSqlInvites(req.invitee());
+        publishInviteSent(req);
+    }
 
-            } catch (TeamServiceException te) {
-                throw te;
-            } catch (Exception e) {
-                plugin.getLogger().warning("SQL invite failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
-            }
-        }
+    private void inviteLocal(PreparedInvite req) {
+        Team t = req.team();
+        UUID invitee = req.invitee();
+        long now = req.now();
 
         int maxPending = Math.max(1, plugin.getConfig().getInt("invites.max_pending_per_player", 5));
         int pendingNow = invites.pendingForTarget(invitee, now);
@@ -462,28 +1292,17 @@ public final class SimpleTeamService implements TeamService {
         TeamInvite inv = new TeamInvite(
                 t.getId(),
                 t.getName(),
-                inviter,
+                req.inviter(),
                 invitee,
                 now,
-                expiresAt
+                req.expiresAt()
         );
 
         boolean refreshOnReinvite = plugin.getConfig().getBoolean("invites.reinvite_refreshes_expiry", true);
         if (refreshOnReinvite) {
             boolean refreshed = invites.refresh(invitee, t.getId(), inv, now);
             if (refreshed) {
-                plugin.publishInvite(new InvitePacket(
-                        plugin.networkServerName(),
-                        InvitePacket.Type.SENT,
-                        t.getId(),
-                        t.getName(),
-                        inviter,
-                        inviterName,
-                        invitee,
-                        inviteeName,
-                        now,
-                        expiresAt
-                ));
+                publishInviteSent(req);
                 return;
             }
         }
@@ -493,17 +1312,21 @@ public final class SimpleTeamService implements TeamService {
             throw new TeamServiceException(TeamError.INVITE_ALREADY_PENDING, "team_invite_already_pending");
         }
 
+        publishInviteSent(req);
+    }
+
+    private void publishInviteSent(PreparedInvite req) {
         plugin.publishInvite(new InvitePacket(
                 plugin.networkServerName(),
                 InvitePacket.Type.SENT,
-                t.getId(),
-                t.getName(),
-                inviter,
-                inviterName,
-                invitee,
-                inviteeName,
-                now,
-                expiresAt
+                req.team().getId(),
+                req.team().getName(),
+                req.inviter(),
+                req.inviterName(),
+                req.invitee(),
+                req.inviteeName(),
+                req.now(),
+                req.expiresAt()
         ));
     }
 
@@ -512,9 +1335,14 @@ public final class SimpleTeamService implements TeamService {
         return name;
     }
 
+    /**
+     * @deprecated blocks on JDBC in SQL mode; use {@link #acceptInviteAsync}. Refused on the main thread there.
+     */
+    @Deprecated
     @Override
     public Optional<TeamInvite> acceptInvite(UUID invitee, Optional<UUID> teamId) {
         if (invitee == null) return Optional.empty();
+        requireOffMainInSqlMode("acceptInvite");
 
         long now = System.currentTimeMillis();
 
@@ -524,121 +1352,118 @@ public final class SimpleTeamService implements TeamService {
         }
 
         if (isSqlMode()) {
-            SqlTeamInviteStorage sql = sqlInvites();
+            return acceptFromSql(invitee, teamId, listSqlInvitesBlocking(invitee, now), now);
+        }
 
-            List<TeamInvite> active;
-            try {
-                active = sql.listActive(invitee, now, id -> {
-                    Team t = teams.get(id);
-                    return (t == null ? "Team" : t.getName());
-                });
-            } catch (Exception e) {
-                plugin.getLogger().warning("SQL invite list failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
-                active = List.of();
+        List<TeamInvite> active = invites.listActive(invitee, now);
+        if (active.isEmpty()) return Optional.empty();
+
+        final TeamInvite inv;
+        if (teamId != null && teamId.isPresent()) {
+            UUID id = teamId.get();
+            inv = invites.get(invitee, id, now).orElse(null);
+            if (inv == null) return Optional.empty();
+        } else {
+            if (active.size() > 1) {
+                throw new TeamServiceException(TeamError.MULTIPLE_INVITES, "team_multiple_invites_hint");
             }
+            inv = active.get(0);
+        }
 
-            if (active.isEmpty()) return Optional.empty();
+        if (inv.isExpired(now)) {
+            invites.remove(invitee, inv.getTeamId());
+            throw new TeamServiceException(TeamError.INVITE_EXPIRED, "team_invite_expired");
+        }
 
-            final TeamInvite inv;
-            if (teamId != null && teamId.isPresent()) {
-                UUID id = teamId.get();
-                inv = active.stream().filter(i -> i.getTeamId().equals(id)).findFirst().orElse(null);
-                if (inv == null) return Optional.empty();
-            } else {
-                if (active.size() > 1) {
-                    throw new TeamServiceException(TeamError.MULTIPLE_INVITES, "team_multiple_invites_hint");
-                }
-                inv = active.get(0);
-            }
+        Team t = teams.get(inv.getTeamId());
+        if (t == null) {
+            invites.remove(invitee, inv.getTeamId());
+            throw new TeamServiceException(TeamError.INVITE_EXPIRED, "team_invite_expired");
+        }
 
-            Team t = teams.get(inv.getTeamId());
-            if (t == null) {
-                try { sql.delete(invitee, inv.getTeamId()); } catch (Exception ignored) {}
-                throw new TeamServiceException(TeamError.INVITE_EXPIRED, "team_invite_expired");
-            }
+        ensureOwnerInMembers(t);
+        dedupeMembers(t);
 
-            ensureOwnerInMembers(t);
-            dedupeMembers(t);
+        int max = getTeamMaxMembers(t);
+        if (uniqueMemberCount(t) >= max) {
+            throw new TeamServiceException(TeamError.TEAM_FULL, "team_team_full");
+        }
 
-            int max = getTeamMaxMembers(t);
-            if (uniqueMemberCount(t) >= max) {
-                throw new TeamServiceException(TeamError.TEAM_FULL, "team_team_full");
-            }
+        t.getMembers().add(invitee);
+        ensureOwnerInMembers(t);
+        dedupeMembers(t);
 
-            t.getMembers().add(invitee);
-            ensureOwnerInMembers(t);
-            dedupeMembers(t);
+        bindPlayer(invitee, t.getId());
+        invites.remove(invitee, inv.getTeamId());
 
-            playerToTeam.put(invitee, t.getId());
+        markTeamDirty(t.getId());
+        safeSave();
 
-            try { sql.delete(invitee, inv.getTeamId()); } catch (Exception ignored) {}
+        broadcastToTeam(t, plugin.msg().format(
+                "team_member_joined",
+                "{player}", nameOf(invitee),
+                "{team}", Msg.color(t.getName())
+        ));
 
-            markDirty();
-            safeSave();
+        plugin.publishInvite(new InvitePacket(
+                plugin.networkServerName(),
+                InvitePacket.Type.ACCEPTED,
+                t.getId(),
+                t.getName(),
+                inv.getInviter(),
+                safeName(nameOf(inv.getInviter())),
+                invitee,
+                safeName(nameOf(invitee)),
+                now,
+                0L
+        ));
 
-            broadcastToTeam(t, plugin.msg().format(
-                    "team_member_joined",
-                    "{player}", nameOf(invitee),
-                    "{team}", Msg.color(t.getName())
-            ));
+        if (plugin.menuRouter() != null) {
+            plugin.menuRouter().refreshTeamMenusForLocalViewers(t.getId());
+        }
 
-            plugin.publishInvite(new InvitePacket(
-                    plugin.networkServerName(),
-                    InvitePacket.Type.ACCEPTED,
-                    t.getId(),
-                    t.getName(),
-                    inv.getInviter(),
-                    safeName(nameOf(inv.getInviter())),
-                    invitee,
-                    safeName(nameOf(invitee)),
-                    now,
-                    0L
-            ));
+        // ✅ Redis: member joined
+        publishTeamEvent(new TeamEventPacket(
+                plugin.networkServerName(),
+                TeamEventPacket.Type.MEMBER_JOINED,
+                t.getId(),
+                t.getName(),
+                invitee,
+                safeName(nameOf(invitee)),
+                invitee,
+                safeName(nameOf(invitee)),
+                now
+        ));
 
-            // ✅ Local UI refresh for viewers of this team
-            if (plugin.menuRouter() != null) {
-                plugin.menuRouter().refreshTeamMenusForLocalViewers(t.getId());
-            }
+        return Optional.of(inv);
+    }
 
-            // ✅ Redis: member joined
-            publishTeamEvent(new TeamEventPacket(
-                    plugin.networkServerName(),
-                    TeamEventPacket.Type.MEMBER_JOINED,
-                    t.getId(),
-                    t.getName(),
-                    invitee,
-                    safeName(nameOf(invitee)),
-                    invitee,
-                    safeName(nameOf(invitee)),
-                    now
-            ));
+    @Override
+    public CompletableFuture<Optional<TeamInvite>> acceptInviteAsync(UUID invitee, Optional<UUID> teamId) {
+        if (!isSqlMode() || invitee == null) return TeamService.super.acceptInviteAsync(invitee, teamId);
 
-            return Optional.of(inv);
+        if (playerToTeam.containsKey(invitee)) {
+            invites.clearTarget(invitee);
+            return CompletableFuture.failedFuture(new TeamServiceException(TeamError.ALREADY_IN_TEAM, "team_already_in_team"));
         }
 
-        List<TeamInvite> active = invites.listActive(invitee, now);
-        if (active.isEmpty()) return Optional.empty();
+        return fetchSqlInvites(invitee).thenApplyAsync(
+                active -> acceptFromSql(invitee, teamId, active, System.currentTimeMillis()), mainThread);
+    }
 
-        final TeamInvite inv;
-        if (teamId != null && teamId.isPresent()) {
-            UUID id = teamId.get();
-            inv = invites.get(invitee, id, now).orElse(null);
-            if (inv == null) return Optional.empty();
-        } else {
-            if (active.size() > 1) {
-                throw new TeamServiceException(TeamError.MULTIPLE_INVITES, "team_multiple_invites_hint");
-            }
-            inv = active.get(0);
+    /** Main thread: joins the chosen invite's team; row deletion happens off-thread. */
+    private Optional<TeamInvite> acceptFromSql(UUID invitee, Optional<UUID> teamId, List<TeamInvite> active, long now) {
+        // re-checked: the invitee may have joined a team while the list was loading
+        if (playerToTeam.containsKey(invitee)) {
+            throw new TeamServiceException(TeamError.ALREADY_IN_TEAM, "team_already_in_team");
         }
 
-        if (inv.isExpired(now)) {
-            invites.remove(invitee, inv.getTeamId());
-            throw new TeamServiceException(TeamError.INVITE_EXPIRED, "team_invite_expired");
-        }
+        final TeamInvite inv = selectSqlInvite(active, teamId);
+        if (inv == null) return Optional.empty();
 
         Team t = teams.get(inv.getTeamId());
         if (t == null) {
-            invites.remove(invitee, inv.getTeamId());
+            deleteSqlInviteAsync(invitee, inv.getTeamId());
             throw new TeamServiceException(TeamError.INVITE_EXPIRED, "team_invite_expired");
         }
 
@@ -654,10 +1479,11 @@ public final class SimpleTeamService implements TeamService {
         ensureOwnerInMembers(t);
         dedupeMembers(t);
 
-        playerToTeam.put(invitee, t.getId());
-        invites.remove(invitee, inv.getTeamId());
+        bindPlayer(invitee, t.getId());
+
+        deleteSqlInviteAsync(invitee, inv.getTeamId());
 
-        markDirty();
+        markTeamDirty(t.getId());
         safeSave();
 
         broadcastToTeam(t, plugin.msg().format(
@@ -679,6 +1505,7 @@ public final class SimpleTeamService implements TeamService {
                 0L
         ));
 
+        // ✅ Local UI refresh for viewers of this team
         if (plugin.menuRouter() != null) {
             plugin.menuRouter().refreshTeamMenusForLocalViewers(t.getId());
         }
@@ -699,61 +1526,33 @@ public final class SimpleTeamService implements TeamService {
         return Optional.of(inv);
     }
 
+    /**
+     * @deprecated blocks on JDBC in SQL mode; use {@link #denyInviteAsync}. Refused on the main thread there.
+     */
+    @Deprecated
     @Override
     public boolean denyInvite(UUID invitee, Optional<UUID> teamId) {
         if (invitee == null) return false;
+        requireOffMainInSqlMode("denyInvite");
 
         long now = System.currentTimeMillis();
 
         if (isSqlMode()) {
-            SqlTeamInviteStorage sql = sqlInvites();
+            TeamInvite invToDeny = selectSqlInvite(listSqlInvitesBlocking(invitee, now), teamId);
+            if (invToDeny == null) return false;
 
-            List<TeamInvite> active;
+            final boolean removed;
             try {
-                active = sql.listActive(invitee, now, id -> {
-                    Team t = teams.get(id);
-                    return (t == null ? "Team" : t.getName());
-                });
+                removed = sqlInvites().delete(invitee, invToDeny.getTeamId());
             } catch (Exception e) {
-                plugin.getLogger().warning("SQL invite list failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
-                active = List.of();
+                plugin.getLogger().warning("SQL invite deny failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+                throw new IllegalStateException("SQL invite deny failed", e);
             }
 
-            if (active.isEmpty()) return false;
-
-            TeamInvite invToDeny;
-            if (teamId != null && teamId.isPresent()) {
-                UUID id = teamId.get();
-                invToDeny = active.stream().filter(i -> i.getTeamId().equals(id)).findFirst().orElse(null);
-                if (invToDeny == null) return false;
-            } else {
-                if (active.size() > 1) {
-                    throw new TeamServiceException(TeamError.MULTIPLE_INVITES, "team_multiple_invites_hint");
-                }
-                invToDeny = active.get(0);
-            }
-
-            boolean removed = false;
-            try { removed = sql.delete(invitee, invToDeny.getTeamId()); } catch (Exception ignored) {}
-
             if (removed) {
-                Team t = teams.get(invToDeny.getTeamId());
-                String teamName = (t != null) ? t.getName() : invToDeny.getTeamName();
-
-                plugin.publishInvite(new InvitePacket(
-                        plugin.networkServerName(),
-                        InvitePacket.Type.DENIED,
-                        invToDeny.getTeamId(),
-                        teamName,
-                        invToDeny.getInviter(),
-                        safeName(nameOf(invToDeny.getInviter())),
-                        invitee,
-                        safeName(nameOf(invitee)),
-                        now,
-                        0L
-                ));
+                invalidateSqlInvites(invitee);
+                publishSqlInviteDenied(invitee, invToDeny, now);
             }
-
             return removed;
         }
 
@@ -801,26 +1600,100 @@ public final class SimpleTeamService implements TeamService {
         return player != null && !invitesDisabled.contains(player);
     }
 
+    @Override
+    public CompletableFuture<Boolean> denyInviteAsync(UUID invitee, Optional<UUID> teamId) {
+        if (!isSqlMode() || invitee == null) return TeamService.super.denyInviteAsync(invitee, teamId);
+
+        SqlTeamInviteStorage sql = sqlInvites();
+
+        return fetchSqlInvites(invitee)
+                .thenApplyAsync(active -> selectSqlInvite(active, teamId), mainThread)
+                .thenCompose(inv -> {
+                    if (inv == null) return CompletableFuture.completedFuture(false);
+
+                    return sqlAsync(() -> sql.delete(invitee, inv.getTeamId()))
+                            .whenComplete((removed, err) -> {
+                                if (err == null) return;
+                                Throwable cause = unwrap(err);
+                                plugin.getLogger().warning("SQL invite deny failed: " + cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                            })
+                            .thenApplyAsync(removed -> {
+                                if (removed) {
+                                    invalidateSqlInvites(invitee);
+                                    publishSqlInviteDenied(invitee, inv, System.currentTimeMillis());
+                                }
+                                return removed;
+                            }, mainThread);
+                });
+    }
+
+    private void publishSqlInviteDenied(UUID invitee, TeamInvite inv, long now) {
+        Team t = teams.get(inv.getTeamId());
+        String teamName = (t != null) ? t.getName() : inv.getTeamName();
+
+        plugin.publishInvite(new InvitePacket(
+                plugin.networkServerName(),
+                InvitePacket.Type.DENIED,
+                inv.getTeamId(),
+                teamName,
+                inv.getInviter(),
+                safeName(nameOf(inv.getInviter())),
+                invitee,
+                safeName(nameOf(invitee)),
+                now,
+                0L
+        ));
+    }
+
+    /** Picks the invite to act on: the given team's, or the only one (null when none match). */
+    private static TeamInvite selectSqlInvite(List<TeamInvite> active, Optional<UUID> teamId) {
+        if (active == null || active.isEmpty()) return null;
+
+        if (teamId != null && teamId.isPresent()) {
+            UUID id = teamId.get();
+            return active.stream().filter(i -> i.getTeamId().equals(id)).findFirst().orElse(null);
+        }
+
+        if (active.size() > 1) {
+            throw new TeamServiceException(TeamError.MULTIPLE_INVITES, "team_multiple_invites_hint");
+        }
+        return active.get(0);
+    }
+
     @Override
     public void setInvitesEnabled(UUID player, boolean enabled) {
         if (player == null) return;
         if (enabled) invitesDisabled.remove(player);
         else invitesDisabled.add(player);
+        plugin.bumpPlayerVersion(player);
         // ✅ no publish here
     }
 
     public void applyInvitesDisabledSnapshot(Collection<UUID> disabled) {
-        invitesDisabled.clear();
-        if (disabled == null) return;
-        for (UUID u : disabled) {
-            if (u != null) invitesDisabled.add(u);
+        Set<UUID> next = new HashSet<>();
+        if (disabled != null) {
+            for (UUID u : disabled) {
+                if (u != null) next.add(u);
+            }
         }
+
+        // only players whose toggle actually flipped
+        for (UUID u : invitesDisabled) {
+            if (!next.contains(u)) plugin.bumpPlayerVersion(u);
+        }
+        for (UUID u : next) {
+            if (!invitesDisabled.contains(u)) plugin.bumpPlayerVersion(u);
+        }
+
+        invitesDisabled.retainAll(next);
+        invitesDisabled.addAll(next);
     }
 
     public void applyRemoteInvitesEnabled(UUID player, boolean enabled) {
         if (player == null) return;
         if (enabled) invitesDisabled.remove(player);
         else invitesDisabled.add(player);
+        plugin.bumpPlayerVersion(player);
     }
 
     @Override
@@ -834,6 +1707,7 @@ public final class SimpleTeamService implements TeamService {
             invitesDisabled.add(player);
             enabledNow = false;  // now disabled
         }
+        plugin.bumpPlayerVersion(player);
 
         publishInviteToggle(player, enabledNow);
         return enabledNow;
@@ -845,20 +1719,142 @@ public final class SimpleTeamService implements TeamService {
         long now = System.currentTimeMillis();
 
         if (isSqlMode()) {
-            try {
-                return sqlInvites().listActive(invitee, now, id -> {
-                    Team t = teams.get(id);
-                    return (t == null ? "Team" : t.getName());
-                });
-            } catch (Exception e) {
-                plugin.getLogger().warning("SQL invite list failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
-                return List.of();
+            // ✅ never JDBC on the main thread: serve the cached list, refresh it in the background
+            if (!Bukkit.isPrimaryThread()) return listSqlInvitesBlocking(invitee, now);
+
+            CachedInvites cached = sqlInviteCache.get(invitee);
+            if (cached == null || now - cached.fetchedAtMs() >= SQL_INVITE_CACHE_REFRESH_MS) {
+                fetchSqlInvites(invitee);
             }
+            return (cached == null) ? List.of() : cached.unexpired(now);
         }
 
         return invites.listActive(invitee, now);
     }
 
+    @Override
+    public CompletableFuture<Collection<TeamInvite>> getInvitesAsync(UUID invitee) {
+        if (!isSqlMode() || invitee == null) return TeamService.super.getInvitesAsync(invitee);
+        return fetchSqlInvites(invitee).thenApplyAsync(list -> (Collection<TeamInvite>) list, mainThread);
+    }
+
+    // =========================
+    // SQL invites: async + cache
+    // =========================
+
+    private record CachedInvites(List<TeamInvite> invites, long fetchedAtMs) {
+        List<TeamInvite> unexpired(long now) {
+            for (TeamInvite i : invites) {
+                if (i.isExpired(now)) return invites.stream().filter(x -> !x.isExpired(now)).toList();
+            }
+            return invites;
+        }
+    }
+
+    /**
+     * Loads an invitee's active invites off-thread (concurrent requests share one query) and caches
+     * them for main-thread readers. Completes on the async thread.
+     */
+    private CompletableFuture<List<TeamInvite>> fetchSqlInvites(UUID invitee) {
+        CompletableFuture<List<TeamInvite>> running = sqlInviteFetches.get(invitee);
+        if (running != null) return running;
+
+        CompletableFuture<List<TeamInvite>> mine = new CompletableFuture<>();
+        running = sqlInviteFetches.putIfAbsent(invitee, mine);
+        if (running != null) return running;
+
+        final long generation = sqlInviteGeneration.getOrDefault(invitee, 0L);
+
+        // started only after the map insert: sqlAsync may complete inline (plugin disabling), and the
+        // completion below touches the same map, which must not happen inside a computeIfAbsent
+        sqlAsync(() -> listSqlInvitesBlocking(invitee, System.currentTimeMillis())).whenComplete((list, err) -> {
+            sqlInviteFetches.remove(invitee, mine);
+
+            // invalidated while querying: the rows may predate that change -> don't cache, hand waiters a fresh read
+            if (sqlInviteGeneration.getOrDefault(invitee, 0L) != generation) {
+                fetchSqlInvites(invitee).whenComplete((fresh, freshErr) -> {
+                    if (freshErr != null) mine.completeExceptionally(freshErr);
+                    else mine.complete(fresh);
+                });
+                return;
+            }
+
+            if (list != null) sqlInviteCache.put(invitee, new CachedInvites(list, System.currentTimeMillis()));
+
+            if (err != null) mine.completeExceptionally(err);
+            else mine.complete(list);
+        });
+        return mine;
+    }
+
+    /** Blocking read; never call on the main thread from new code. */
+    private List<TeamInvite> listSqlInvitesBlocking(UUID invitee, long now) {
+        try {
+            return sqlInvites().listActive(invitee, now, id -> {
+                Team t = teams.get(id);
+                return (t == null ? "Team" : t.getName());
+            });
+        } catch (Exception e) {
+            plugin.getLogger().warning("SQL invite list failed: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /** Drops an invitee's cached list and reloads it when they're online here. */
+    public void invalidateSqlInvites(UUID invitee) {
+        if (invitee == null || !isSqlMode()) return;
+        sqlInviteGeneration.merge(invitee, 1L, Long::sum);
+        sqlInviteCache.remove(invitee);
+        if (localOnline.isOnline(invitee)) fetchSqlInvites(invitee);
+    }
+
+    private void deleteSqlInviteAsync(UUID invitee, UUID teamId) {
+        SqlTeamInviteStorage sql = sqlInvites();
+        sqlAsync(() -> sql.delete(invitee, teamId))
+                .whenComplete((removed, err) -> invalidateSqlInvites(invitee));
+    }
+
+    private void deleteSqlInvitesForTeamAsync(UUID teamId) {
+        SqlTeamInviteStorage sql = sqlInvites();
+        sqlAsync(() -> {
+            sql.deleteAllForTeam(teamId);
+            return null;
+        }).whenComplete((v, err) -> dropCachedInvitesForTeam(teamId)); // fetches that read before the delete
+        dropCachedInvitesForTeam(teamId);
+    }
+
+    private void dropCachedInvitesForTeam(UUID teamId) {
+        sqlInviteCache.values().removeIf(c -> c.invites().stream().anyMatch(i -> teamId.equals(i.getTeamId())));
+        // any fetch already running may still return this team's rows
+        for (UUID invitee : sqlInviteFetches.keySet()) sqlInviteGeneration.merge(invitee, 1L, Long::sum);
+    }
+
+    /** Runs blocking storage work on a Bukkit async thread. */
+    private <T> CompletableFuture<T> sqlAsync(Callable<T> work) {
+        CompletableFuture<T> f = new CompletableFuture<>();
+        try {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                try {
+                    f.complete(work.call());
+                } catch (Throwable t) {
+                    f.completeExceptionally(t);
+                }
+            });
+        } catch (Throwable t) {
+            f.completeExceptionally(t); // plugin disabling
+        }
+        return f;
+    }
+
+    private void runOnMainThread(Runnable r) {
+        if (Bukkit.isPrimaryThread()) r.run();
+        else Bukkit.getScheduler().runTask(plugin, r);
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        return (t instanceof CompletionException && t.getCause() != null) ? t.getCause() : t;
+    }
+
     @Override
     public boolean areTeammates(UUID a, UUID b) {
         if (a == null || b == null) return false;
@@ -867,6 +1863,22 @@ public final class SimpleTeamService implements TeamService {
         return ta != null && ta.equals(tb);
     }
 
+    @Override
+    public int relationship(UUID a, UUID b) {
+        return relationshipOf(playerToTeam, teams, a, b);
+    }
+
+    /** Damage hot path: two index lookups + one team lookup, nothing allocated. */
+    static int relationshipOf(Map<UUID, UUID> playerToTeam, Map<UUID, Team> teams, UUID a, UUID b) {
+        if (a == null || b == null) return RELATION_NONE;
+
+        UUID ta = playerToTeam.get(a);
+        if (ta == null || !ta.equals(playerToTeam.get(b))) return RELATION_NONE;
+
+        Team t = teams.get(ta);
+        return (t != null && t.isFriendlyFireEnabled()) ? RELATION_TEAMMATES_FF_ALLOWED : RELATION_TEAMMATES_FF_BLOCKED;
+    }
+
     @Override
     public void kickMember(UUID owner, UUID member) {
         if (owner == null || member == null) {
@@ -893,12 +1905,12 @@ public final class SimpleTeamService implements TeamService {
         ensureOwnerInMembers(t);
         dedupeMembers(t);
 
-        playerToTeam.remove(member);
+        unbindPlayer(member);
         teamChatToggled.remove(member);
         invites.clearTarget(member);
         invitesDisabled.remove(member);
 
-        markDirty();
+        markTeamDirty(teamId);
         safeSave();
 
         // ✅ Local: notify kicked player directly (origin server does NOT receive its own Redis event)
@@ -938,6 +1950,38 @@ public final class SimpleTeamService implements TeamService {
         ));
     }
 
+    /**
+     * ✅ Sets the team's friendly-fire flag, persists it and tells other backends.
+     */
+    public void setTeamFriendlyFire(UUID teamId, boolean enabled, UUID actor) {
+        Team t = (teamId == null) ? null : teams.get(teamId);
+        if (t == null) {
+            throw new TeamServiceException(TeamError.NOT_IN_TEAM, "team_not_in_team");
+        }
+
+        if (t.isFriendlyFireEnabled() == enabled) return;
+
+        t.setFriendlyFireEnabled(enabled);
+        persistTeam(teamId);
+
+        if (plugin.menuRouter() != null) {
+            plugin.menuRouter().refreshTeamMenusForLocalViewers(teamId);
+        }
+
+        // ✅ Redis: friendly fire changed (state travels in the v2 packet)
+        publishTeamEvent(new TeamEventPacket(
+                plugin.networkServerName(),
+                TeamEventPacket.Type.FRIENDLY_FIRE_CHANGED,
+                teamId,
+                t.getName(),
+                actor,
+                safeName(nameOf(actor)),
+                null,
+                "",
+                System.currentTimeMillis()
+        ));
+    }
+
     @Override
     public void transferOwnership(UUID owner, UUID newOwner) {
         if (owner == null || newOwner == null) {
@@ -964,7 +2008,7 @@ public final class SimpleTeamService implements TeamService {
         ensureOwnerInMembers(t);
         dedupeMembers(t);
 
-        markDirty();
+        markTeamDirty(teamId);
         safeSave();
 
         broadcastToTeam(t, plugin.msg().format(
@@ -1015,9 +2059,11 @@ public final class SimpleTeamService implements TeamService {
         }
 
         String old = t.getName();
+        unindexName(old, t.getId());
         t.setName(cleaned);
+        indexName(t);
 
-        markDirty();
+        markTeamDirty(t.getId());
         safeSave();
 
         broadcastToTeam(t, plugin.msg().format(
@@ -1059,74 +2105,145 @@ public final class SimpleTeamService implements TeamService {
         if (player == null) return;
         if (enabled) teamChatToggled.add(player);
         else teamChatToggled.remove(player);
+        plugin.bumpPlayerVersion(player);
     }
 
     @Override
     public boolean toggleTeamChat(UUID player) {
         if (player == null) return false;
-        if (teamChatToggled.remove(player)) return false;
-        teamChatToggled.add(player);
-        return true;
+        boolean enabledNow = !teamChatToggled.remove(player);
+        if (enabledNow) teamChatToggled.add(player);
+        plugin.bumpPlayerVersion(player);
+        return enabledNow;
     }
 
     @Override
     public void sendTeamChat(Player sender, String message) {
+        dispatchTeamChat(sender, message, false);
+    }
+
+    @Override
+    public void sendTeamChatAsync(Player sender, String message) {
+        dispatchTeamChat(sender, message, true);
+    }
+
+    /**
+     * Resolves, renders and publishes one team chat line on the calling thread.
+     * Only the concurrent maps are read (never {@link Team#getMembers()}), so this is safe from the
+     * async chat thread; with {@code offMain} recipient lookup and the sendMessage fan-out go through
+     * {@link #deliver}.
+     */
+    private void dispatchTeamChat(Player sender, String message, boolean offMain) {
         if (sender == null) return;
+        final UUID senderUuid = sender.getUniqueId();
 
-        if (!plugin.getConfig().getBoolean("chat.enabled", true)) {
-            plugin.msg().send(sender, "teamchat_disabled");
+        final Settings.Chat chat = plugin.settings().chat();
+        if (!chat.enabled()) {
+            onMain(offMain, () -> plugin.msg().send(sender, "teamchat_disabled"));
             return;
         }
 
-        Team team = getTeamByPlayer(sender.getUniqueId()).orElse(null);
+        final UUID teamId = playerToTeam.get(senderUuid);
+        final Team team = (teamId == null) ? null : teams.get(teamId);
         if (team == null) {
-            teamChatToggled.remove(sender.getUniqueId());
-            plugin.msg().send(sender, "team_not_in_team");
+            if (teamChatToggled.remove(senderUuid)) plugin.bumpPlayerVersion(senderUuid);
+            onMain(offMain, () -> plugin.msg().send(sender, "team_not_in_team"));
             return;
         }
 
         String msg = (message == null ? "" : message.trim());
         if (msg.isEmpty()) return;
 
-        String fmt = plugin.getConfig().getString(
-                "chat.format",
-                "&8&l(&c&l{team}&8&l) &f{player} &8&l> &c{message}"
-        );
-        if (fmt == null || fmt.isBlank()) {
-            fmt = "&8&l(&c&l{team}&8&l) &f{player} &8&l> &c{message}";
-        }
-
+        // ✅ colored once, shared by the local line, the spy line and the network packet
         String coloredMsg = Msg.color(msg);
+        String coloredTeam = team.getColoredName();
 
-        String out = Msg.color(
-                fmt.replace("{player}", sender.getName())
-                        .replace("{team}", Msg.color(team.getName()))
-                        .replace("{message}", coloredMsg)
-        );
+        String out = chat.template().render(sender.getName(), coloredTeam, coloredMsg);
 
         // Debug tagging (helps prove where duplicates originate)
-        boolean debug = plugin.getConfig().getBoolean("chat.debug", false);
-        if (debug) out = out + Msg.color(" &8[&aLOCAL&8]");
-
-        // 1) Local broadcast
-        broadcastToTeam(team, out);
-
-        // 2) Local spy broadcast
-        broadcastToSpy(team, sender.getUniqueId(), sender.getName(), coloredMsg);
+        if (chat.debug()) out = out + LOCAL_DEBUG_TAG;
+
+        // 1) + 2) Local members and spies: resolved inside deliver, i.e. on the main thread unless
+        // the platform allows async messaging (Bukkit.getPlayer / hasPermission aren't safe off-main on Spigot)
+        final String line = out;
+        final String senderName = sender.getName();
+        deliver(offMain, () -> {
+            final List<Player> members = new ArrayList<>();
+            final List<Player> spies = new ArrayList<>();
+            collectTeamChatRecipients(teamId, senderUuid, chat.spyEnabled(), members, spies);
+
+            for (Player p : members) p.sendMessage(line);
+            if (!spies.isEmpty()) {
+                String spyLine = chat.spyTemplate().render(senderName, coloredTeam, coloredMsg);
+                for (Player p : spies) p.sendMessage(spyLine);
+            }
+        });
 
         // 3) Cross-server publish (ONLY if network is enabled/running)
         if (plugin.isTeamChatNetworkEnabled()) {
             plugin.publishTeamChat(new TeamChatPacket(
                     plugin.networkServerName(),
-                    team.getId(),
-                    sender.getUniqueId(),
+                    teamId,
+                    senderUuid,
                     sender.getName(),
-                    out,
+                    line,
                     System.currentTimeMillis()
             ));
         }
     }
 
+    /**
+     * Online team members (from the index), plus online spies watching {@code teamId}
+     * who are not the sender's teammates.
+     */
+    private void collectTeamChatRecipients(UUID teamId, UUID senderUuid, boolean spyEnabled,
+                                           List<Player> members, List<Player> spies) {
+        for (UUID u : localOnline.members(teamId)) {
+            Player p = Bukkit.getPlayer(u);
+            if (p != null) members.add(p);
+        }
+
+        if (!spyEnabled || spyTargets.isEmpty()) return;
+
+        for (Map.Entry<UUID, Set<UUID>> e : spyTargets.entrySet()) {
+            Set<UUID> watching = e.getValue();
+            if (watching == null || !watching.contains(teamId)) continue;
+
+            UUID u = e.getKey();
+            if (teamId.equals(playerToTeam.get(u))) continue;
+            if (areTeammates(u, senderUuid)) continue;
+
+            Player p = Bukkit.getPlayer(u);
+            if (p == null || !p.hasPermission(SPY_PERMISSION)) continue;
+
+            spies.add(p);
+        }
+    }
+
+    /**
+     * Recipient lookup + message fan-out: inline where the platform allows async messaging,
+     * otherwise one hop to the main thread.
+     */
+    private void deliver(boolean offMain, Runnable fanOut) {
+        if (!offMain || Platform.isAsyncMessagingSafe()) {
+            fanOut.run();
+            return;
+        }
+        onMain(true, fanOut);
+    }
+
+    private void onMain(boolean offMain, Runnable r) {
+        if (!offMain) {
+            r.run();
+            return;
+        }
+        try {
+            Bukkit.getScheduler().runTask(plugin, r);
+        } catch (Exception ignored) {
+            // plugin disabling
+        }
+    }
+
     // =========================
     // Spy (no persistence)
     // =========================
@@ -1170,43 +2287,6 @@ public final class SimpleTeamService implements TeamService {
         return out;
     }
 
-    private void broadcastToSpy(Team team, UUID senderUuid, String senderName, String coloredMessage) {
-        if (team == null) return;
-        if (!plugin.getConfig().getBoolean("chat.spy.enabled", true)) return;
-
-        String spyFmt = plugin.getConfig().getString(
-                "chat.spy.format",
-                "&8[&cTEAM SPY&8] &8(&c{team}&8) &f{player}&8: &7{message}"
-        );
-        if (spyFmt == null || spyFmt.isBlank()) {
-            spyFmt = "&8[&cTEAM SPY&8] &8(&c{team}&8) &f{player}&8: &7{message}";
-        }
-
-        String spyOut = Msg.color(
-                spyFmt.replace("{team}", Msg.color(team.getName()))
-                        .replace("{player}", (senderName == null ? "unknown" : senderName))
-                        .replace("{message}", (coloredMessage == null ? "" : coloredMessage))
-        );
-
-        UUID teamId = team.getId();
-
-        for (Player p : Bukkit.getOnlinePlayers()) {
-            if (p == null) continue;
-            if (!p.hasPermission(SPY_PERMISSION)) continue;
-
-            UUID spyUuid = p.getUniqueId();
-            if (spyUuid == null) continue;
-
-            if (areTeammates(spyUuid, senderUuid)) continue;
-
-            Set<UUID> watching = spyTargets.get(spyUuid);
-            if (watching == null || watching.isEmpty()) continue;
-            if (!watching.contains(teamId)) continue;
-
-            p.sendMessage(spyOut);
-        }
-    }
-
     private void removeTeamFromAllSpyTargets(UUID teamId) {
         if (teamId == null) return;
 
@@ -1236,11 +2316,10 @@ public final class SimpleTeamService implements TeamService {
 
         internalDisbandTeam(t);
 
-        markDirty();
         safeSave();
 
         if (isSqlMode()) {
-            try { sqlInvites().deleteAllForTeam(teamId); } catch (Exception ignored) {}
+            deleteSqlInvitesForTeamAsync(teamId);
         }
 
         if (plugin.menuRouter() != null) {
@@ -1284,9 +2363,9 @@ public final class SimpleTeamService implements TeamService {
         ensureOwnerInMembers(t);
         dedupeMembers(t);
 
-        playerToTeam.put(newOwner, teamId);
+        bindPlayer(newOwner, teamId);
 
-        markDirty();
+        markTeamDirty(teamId);
         safeSave();
 
         broadcastToTeam(t, plugin.msg().format(
@@ -1330,12 +2409,12 @@ public final class SimpleTeamService implements TeamService {
         ensureOwnerInMembers(t);
         dedupeMembers(t);
 
-        playerToTeam.remove(player);
+        unbindPlayer(player);
         teamChatToggled.remove(player);
         invites.clearTarget(player);
         invitesDisabled.remove(player);
 
-        markDirty();
+        markTeamDirty(teamId);
         safeSave();
 
         Player kicked = Bukkit.getPlayer(player);
@@ -1382,7 +2461,7 @@ public final class SimpleTeamService implements TeamService {
         Set<UUID> members = new HashSet<>(t.getMembers());
         for (UUID m : members) {
             if (m == null) continue;
-            playerToTeam.remove(m);
+            unbindPlayer(m);
             teamChatToggled.remove(m);
             invites.clearTarget(m);
             invitesDisabled.remove(m);
@@ -1393,6 +2472,8 @@ public final class SimpleTeamService implements TeamService {
         }
 
         teams.remove(t.getId());
+        unindexName(t.getName(), t.getId());
+        markTeamDeleted(t.getId());
 
         invites.clearTeam(t.getId());
         removeTeamFromAllSpyTargets(t.getId());
@@ -1406,9 +2487,7 @@ public final class SimpleTeamService implements TeamService {
         if (team == null) return;
         if (message == null || message.isBlank()) return;
 
-        Set<UUID> members = new HashSet<>(team.getMembers());
-        for (UUID uuid : members) {
-            if (uuid == null) continue;
+        for (UUID uuid : localOnline.members(team.getId())) {
             Player p = Bukkit.getPlayer(uuid);
             if (p != null) p.sendMessage(message);
         }
@@ -1427,16 +2506,32 @@ public final class SimpleTeamService implements TeamService {
     }
 
     private void safeSave() {
-        if (!consumeDirty()) return;
+        // ✅ write-behind owns persistence; leftovers in the dirty set are picked up by autosave
+        TeamWriteBehindQueue q = plugin.teamWriteBehind();
+        if (q != null && q.isAccepting()) return;
+
+        if (!isDirty()) return;
 
         try {
-            storage.saveAll(this);
+            saveDirtyNow();
         } catch (Exception e) {
-            dirty.set(true);
             plugin.getLogger().severe("Failed to save teams: " + e.getClass().getSimpleName() + ": " + e.getMessage());
         }
     }
 
+    // Main thread only (the member set is not thread-safe); a failure propagates so nothing is saved short
+    private static Team copyOf(Team t) {
+        if (t == null || t.getId() == null || t.getOwner() == null) return null;
+
+        Team copy = new Team(t.getId(), t.getName(), t.getOwner(), t.getCreatedAtMs());
+        copy.setFriendlyFireEnabled(t.isFriendlyFireEnabled());
+
+        for (UUID m : t.getMembers()) {
+            if (m != null) copy.getMembers().add(m);
+        }
+        return copy;
+    }
+
     private void publishTeamEvent(TeamEventPacket pkt) {
         if (pkt == null) return;
         plugin.publishTeamEvent(pkt);
@@ -1457,30 +2552,18 @@ public final class SimpleTeamService implements TeamService {
         // 2) Persist to Redis set (optional but strongly recommended)
         if (!plugin.getConfig().getBoolean("redis.enabled", false)) return;
 
-        var sec = plugin.getConfig().getConfigurationSection("redis");
-        if (sec == null) return;
+        RedisConnections redis = plugin.redis();
+        if (redis == null || redis.isClosed()) return;
 
-        String prefix = sec.getString("channel_prefix", "sorekillteams");
-        if (prefix == null || prefix.isBlank()) prefix = "sorekillteams";
-        String key = prefix + ":invites_disabled";
+        String key = redis.key("invites_disabled");
 
         Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-            try (var jedis = new redis.clients.jedis.Jedis(
-                    new redis.clients.jedis.HostAndPort(
-                            sec.getString("host", "127.0.0.1"),
-                            Math.max(1, sec.getInt("port", 6379))
-                    ),
-                    redis.clients.jedis.DefaultJedisClientConfig.builder()
-                            .ssl(sec.getBoolean("use_ssl", false))
-                            .connectionTimeoutMillis(Math.max(1000, sec.getInt("timeout_ms", 5000)))
-                            .socketTimeoutMillis(Math.max(1000, sec.getInt("timeout_ms", 5000)))
-                            .user(sec.getString("username", ""))
-                            .password(sec.getString("password", ""))
-                            .build()
-            )) {
+            try (Jedis jedis = redis.resource()) {
                 if (enabledNow) jedis.srem(key, player.toString());
                 else jedis.sadd(key, player.toString());
-            } catch (Throwable ignored) {}
+            } catch (Throwable ignored) {
+                redis.markFailure();
+            }
         });
     }
 
@@ -1523,7 +2606,7 @@ public final class SimpleTeamService implements TeamService {
         if (name == null) {
             throw new TeamServiceException(TeamError.INVALID_TEAM_NAME, "team_invalid_name");
         }
-        String cleaned = name.trim().replaceAll("\\s{2,}", " ");
+        String cleaned = MULTI_SPACE.matcher(name.trim()).replaceAll(" ");
         if (cleaned.isBlank()) {
             throw new TeamServiceException(TeamError.INVALID_TEAM_NAME, "team_invalid_name");
         }
@@ -1531,35 +2614,78 @@ public final class SimpleTeamService implements TeamService {
     }
 
     private boolean teamNameTaken(String cleanedName) {
-        String norm = normalizeForCompare(cleanedName);
-        for (Team t : teams.values()) {
-            if (t == null) continue;
-            String n = t.getName();
-            if (n == null) continue;
-
-            if (normalizeForCompare(n).equals(norm)) return true;
-        }
-        return false;
+        return nameIndex.containsKey(normalizeForCompare(cleanedName));
     }
 
     private boolean teamNameTakenByOtherTeam(String cleanedName, UUID ourTeamId) {
-        String norm = normalizeForCompare(cleanedName);
-        for (Team t : teams.values()) {
-            if (t == null) continue;
+        UUID id = nameIndex.get(normalizeForCompare(cleanedName));
+        return id != null && !id.equals(ourTeamId);
+    }
 
-            UUID id = t.getId();
-            String n = t.getName();
-            if (id == null || n == null) continue;
+    private void indexName(Team t) {
+        if (t == null || t.getId() == null) return;
+        browseAdd(t);
+        String key = normalizeForCompare(t.getName());
+        if (!key.isBlank()) nameIndex.putIfAbsent(key, t.getId());
+    }
 
-            if (ourTeamId != null && ourTeamId.equals(id)) continue;
-            if (normalizeForCompare(n).equals(norm)) return true;
+    private void unindexName(String name, UUID teamId) {
+        if (teamId == null) return;
+        browseRemove(teamId);
+        String key = normalizeForCompare(name);
+        if (!key.isBlank()) nameIndex.remove(key, teamId);
+    }
+
+    // =========================
+    // Browse index
+    // =========================
+
+    private static String browseKey(Team t) {
+        String n = (t.getName() == null) ? "" : t.getName().toLowerCase(Locale.ROOT);
+        return n + '\0' + t.getId();
+    }
+
+    private void browseAdd(Team t) {
+        String key = browseKey(t);
+        String prev = browseKeyById.put(t.getId(), key);
+        if (prev != null && !prev.equals(key)) browseIndex.remove(prev);
+        browseIndex.put(key, t);
+        browseVersion.incrementAndGet();
+    }
+
+    private void browseRemove(UUID teamId) {
+        String prev = browseKeyById.remove(teamId);
+        if (prev == null) return;
+        browseIndex.remove(prev);
+        browseVersion.incrementAndGet();
+    }
+
+    private void rebuildBrowseIndex() {
+        browseIndex.clear();
+        browseKeyById.clear();
+        for (Team t : teams.values()) {
+            if (t == null || t.getId() == null) continue;
+            String key = browseKey(t);
+            browseKeyById.put(t.getId(), key);
+            browseIndex.put(key, t);
         }
-        return false;
+        browseVersion.incrementAndGet();
+    }
+
+    private Team[] browseSorted() {
+        long v = browseVersion.get();
+        BrowseSnapshot snap = browseSnapshot;
+        if (snap.version() == v) return snap.teams();
+
+        // version read first: a concurrent change leaves this snapshot stale, never mislabeled
+        Team[] sorted = browseIndex.values().toArray(new Team[0]);
+        browseSnapshot = new BrowseSnapshot(v, sorted);
+        return sorted;
     }
 
     private String normalizeForCompare(String s) {
         if (s == null) return "";
-        return s.trim().toLowerCase(Locale.ROOT).replaceAll("\\s{2,}", " ");
+        return MULTI_SPACE.matcher(s.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
     }
 
     private int getTeamMaxMembers(Team team) {
@@ -29,6 +29,20 @@ public interface TeamHomeService {
 
     Collection<TeamHome> allHomes();
 
+    /**
+     * Replaces one team's homes with a freshly loaded set (remote sync; not marked dirty).
+     *
+     * @return true if anything actually changed
+     */
+    boolean replaceLoadedTeam(UUID teamId, Collection<TeamHome> loaded);
+
+    /**
+     * Drops one home that was deleted elsewhere (remote sync; not marked dirty).
+     *
+     * @return true if it was cached
+     */
+    boolean removeLoadedHome(UUID teamId, String name);
+
     /* ------------------------------------------------------------------------
      * Team-facing
      * --------------------------------------------------------------------- */
@@ -15,11 +15,19 @@ import net.chumbucket.sorekillteams.model.TeamInvite;
 import org.bukkit.entity.Player;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface TeamService {
 
+    /** {@link #relationship} codes (primitive so the damage path allocates nothing). */
+    int RELATION_NONE = 0;
+    int RELATION_TEAMMATES_FF_BLOCKED = 1;
+    int RELATION_TEAMMATES_FF_ALLOWED = 2;
+
     /* ------------------------------------------------------------------------
      * Lookup
      * --------------------------------------------------------------------- */
@@ -40,22 +48,95 @@ public interface TeamService {
 
     void leaveTeam(UUID player);
 
+    /** @deprecated may block on storage; use {@link #inviteAsync}. */
+    @Deprecated
     void invite(UUID inviter, UUID invitee);
 
+    /** @deprecated may block on storage; use {@link #acceptInviteAsync}. */
+    @Deprecated
     Optional<TeamInvite> acceptInvite(UUID invitee, Optional<UUID> teamId);
 
+    /** @deprecated may block on storage; use {@link #denyInviteAsync}. */
+    @Deprecated
     boolean denyInvite(UUID invitee, Optional<UUID> teamId);
 
     Collection<TeamInvite> getInvites(UUID invitee);
 
+    /*
+     * Async invite API: storage work runs off the main thread and every future completes ON the
+     * main thread, so continuations may touch Bukkit directly. Validation failures complete the
+     * future exceptionally with a TeamServiceException. The defaults just wrap the sync calls.
+     */
+
+    default CompletableFuture<Void> inviteAsync(UUID inviter, UUID invitee) {
+        try {
+            invite(inviter, invitee);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default CompletableFuture<Optional<TeamInvite>> acceptInviteAsync(UUID invitee, Optional<UUID> teamId) {
+        try {
+            return CompletableFuture.completedFuture(acceptInvite(invitee, teamId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default CompletableFuture<Boolean> denyInviteAsync(UUID invitee, Optional<UUID> teamId) {
+        try {
+            return CompletableFuture.completedFuture(denyInvite(invitee, teamId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default CompletableFuture<Collection<TeamInvite>> getInvitesAsync(UUID invitee) {
+        try {
+            return CompletableFuture.completedFuture(getInvites(invitee));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     boolean areTeammates(UUID a, UUID b);
 
+    /**
+     * Fused teammate + team friendly-fire check: one of the {@code RELATION_*} codes.
+     * Same answer as {@link #areTeammates} followed by the team's {@link Team#isFriendlyFireEnabled()},
+     * without the Optional.
+     */
+    int relationship(UUID a, UUID b);
+
     void kickMember(UUID owner, UUID member);
 
     void transferOwnership(UUID owner, UUID newOwner);
 
     void renameTeam(UUID owner, String newName);
 
+    /* ------------------------------------------------------------------------
+     * Online members (index maintained by join/quit, membership and presence)
+     * --------------------------------------------------------------------- */
+
+    /** Members of {@code teamId} online on THIS server (read-only; safe from any thread). */
+    Set<UUID> getLocalOnlineMembers(UUID teamId);
+
+    int countLocalOnlineMembers(UUID teamId);
+
+    /** Members online anywhere on the network (local + remote presence; local only without Redis). */
+    int countOnlineMembers(UUID teamId);
+
+    void markPlayerOnline(UUID player);
+
+    void markPlayerOffline(UUID player);
+
+    void markRemotePresence(UUID player, String server, boolean online);
+
+    /** Replaces all remote presence with a network snapshot (player -> server). */
+    void resetRemotePresence(Map<UUID, String> remoteOnline);
+
     /* ------------------------------------------------------------------------
      * Team chat
      * --------------------------------------------------------------------- */
@@ -68,6 +149,12 @@ public interface TeamService {
 
     void sendTeamChat(Player sender, String message);
 
+    /**
+     * Same as {@link #sendTeamChat}, callable from the async chat thread: resolves, renders and
+     * publishes on the calling thread; only the message fan-out may hop to the main thread.
+     */
+    void sendTeamChatAsync(Player sender, String message);
+
     /* ------------------------------------------------------------------------
      * Spy
      * --------------------------------------------------------------------- */
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.storage;
+
+import net.chumbucket.sorekillteams.model.Team;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pending team changes drained from the service for a single save.
+ * <p>
+ * {@code upserts} are detached copies of created/changed teams (safe to read off-thread),
+ * {@code deletes} are ids of disbanded teams. When {@code fullRewrite} is set the change
+ * scope is unknown and storage must persist the whole snapshot instead.
+ * {@code writeSeqs} maps a team id to the service's local write clock its record reflects, so a
+ * record older than one already written can be skipped (absent = unstamped, always written).
+ */
+public record TeamDelta(List<Team> upserts, Set<UUID> deletes, boolean fullRewrite, Map<UUID, Long> writeSeqs) {
+
+    public TeamDelta {
+        upserts = (upserts == null) ? List.of() : List.copyOf(upserts);
+        deletes = (deletes == null) ? Set.of() : Set.copyOf(deletes);
+        writeSeqs = (writeSeqs == null) ? Map.of() : Map.copyOf(writeSeqs);
+    }
+
+    public TeamDelta(List<Team> upserts, Set<UUID> deletes, boolean fullRewrite) {
+        this(upserts, deletes, fullRewrite, Map.of());
+    }
+
+    /** Local write clock the record for {@code teamId} reflects, or 0 if unstamped. */
+    public long writeSeq(UUID teamId) {
+        Long v = writeSeqs.get(teamId);
+        return (v == null) ? 0L : v;
+    }
+
+    public boolean isEmpty() {
+        return !fullRewrite && upserts.isEmpty() && deletes.isEmpty();
+    }
+}
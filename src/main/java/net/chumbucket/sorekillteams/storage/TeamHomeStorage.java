@@ -10,9 +10,15 @@
 
 package net.chumbucket.sorekillteams.storage;
 
+import net.chumbucket.sorekillteams.model.TeamHome;
 import net.chumbucket.sorekillteams.service.TeamHomeService;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Persistence contract for {@link TeamHomeService}.
@@ -30,4 +36,45 @@ public interface TeamHomeStorage {
     default void deleteTeam(UUID teamId) throws Exception {
         // no-op by default
     }
+
+    // =========================
+    // ✅ Per-team / per-key access (incremental sync; blocking, call off the main thread)
+    // =========================
+
+    /** Every stored home of one team (empty if none). */
+    List<TeamHome> loadTeam(UUID teamId) throws Exception;
+
+    /** Inserts or replaces one home, keyed by (teamId, normalized name). */
+    void upsertHome(TeamHome home) throws Exception;
+
+    /** Deletes one home by (teamId, normalized name); no-op if it doesn't exist. */
+    void deleteHome(UUID teamId, String homeKey) throws Exception;
+
+    default CompletableFuture<List<TeamHome>> loadTeamAsync(UUID teamId, Executor async) {
+        return supplyAsync(() -> loadTeam(teamId), async);
+    }
+
+    default CompletableFuture<Void> upsertHomeAsync(TeamHome home, Executor async) {
+        return supplyAsync(() -> {
+            upsertHome(home);
+            return null;
+        }, async);
+    }
+
+    default CompletableFuture<Void> deleteHomeAsync(UUID teamId, String homeKey, Executor async) {
+        return supplyAsync(() -> {
+            deleteHome(teamId, homeKey);
+            return null;
+        }, async);
+    }
+
+    private static <T> CompletableFuture<T> supplyAsync(Callable<T> work, Executor async) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return work.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, async);
+    }
 }
@@ -36,4 +36,17 @@ public interface TeamStorage {
      */
     void saveAll(TeamService service) throws Exception;
 
+    /**
+     * Persist only the teams that changed since the last save.
+     * <p>
+     * Storages that cannot write partially (e.g. a single YAML file) fall back to {@link #saveAll}.
+     *
+     * @param service the team service the delta was drained from
+     * @param delta   created/changed teams to upsert and disbanded team ids to delete
+     * @throws Exception if saving fails
+     */
+    default void saveDelta(TeamService service, TeamDelta delta) throws Exception {
+        saveAll(service);
+    }
+
 }
@@ -0,0 +1,325 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.storage;
+
+import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
+import net.chumbucket.sorekillteams.model.Team;
+import net.chumbucket.sorekillteams.service.SimpleTeamService;
+import net.chumbucket.sorekillteams.service.TeamService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ Write-behind persistence for team mutations.
+ * <p>
+ * The main thread enqueues change records (detached team copies / delete markers) and returns immediately.
+ * A single writer thread coalesces records per team (last write wins) and flushes them as one
+ * {@link TeamDelta} per batch. The queue is bounded: when full, {@link #offer} returns false and the caller
+ * falls back to the service's dirty set (picked up by autosave), so the server thread never blocks.
+ * Every record carries the service's local write clock at enqueue time; the service skips a record
+ * older than what it already wrote for that team, so a snapshot still queued here can never
+ * overwrite a newer one that went out through the dirty set.
+ */
+public final class TeamWriteBehindQueue {
+
+    /** One queued mutation. {@code snapshot == null} means the team was disbanded. */
+    private record Change(UUID teamId, Team snapshot, long seq) {}
+
+    private final SorekillTeamsPlugin plugin;
+
+    private final int capacity;
+    private final int batchMax;
+    private final long lingerMs;
+
+    private final LinkedBlockingQueue<Change> queue;
+
+    // teamId -> queued or flushing records; SQL refresh must not overwrite these teams meanwhile
+    private final ConcurrentHashMap<UUID, Integer> pendingByTeam = new ConcurrentHashMap<>();
+
+    private volatile boolean accepting = false;
+    private volatile boolean running = false;
+    private volatile boolean flushing = false;
+    private Thread writer;
+
+    // =========================
+    // Metrics
+    // =========================
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong teamsWritten = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong highWater = new AtomicLong();
+    private volatile long lastFlushMs = 0L;
+
+    private volatile long lastBackpressureWarnMs = 0L;
+
+    public TeamWriteBehindQueue(SorekillTeamsPlugin plugin) {
+        this.plugin = Objects.requireNonNull(plugin, "plugin");
+
+        this.capacity = Math.max(64, plugin.getConfig().getInt("storage.write_behind.max_queue", 10_000));
+        this.batchMax = Math.max(1, plugin.getConfig().getInt("storage.write_behind.batch_max", 500));
+        this.lingerMs = Math.max(0L, plugin.getConfig().getLong("storage.write_behind.linger_ms", 50L));
+
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    public void start() {
+        if (running) return;
+
+        running = true;
+        accepting = true;
+
+        writer = new Thread(this::runLoop, "SorekillTeams-WriteBehind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops accepting new records and lets the writer drain what is queued.
+     * Returns the number of records still pending when the deadline expired (0 = fully drained).
+     */
+    public int stop(long timeoutMs) {
+        accepting = false;
+        running = false;
+
+        Thread t = writer;
+        writer = null;
+
+        if (t != null) {
+            try {
+                t.join(Math.max(0L, timeoutMs));
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            if (t.isAlive()) t.interrupt();
+        }
+
+        int left = queue.size();
+        if (left > 0) {
+            // hand leftovers to the service dirty set so the final sync save still writes them
+            List<Change> rest = new ArrayList<>();
+            queue.drainTo(rest);
+            spillToService(coalesce(rest));
+            release(rest);
+        }
+        return left;
+    }
+
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    /** True while a record for this team is queued or being written. */
+    public boolean hasPending(UUID teamId) {
+        return teamId != null && pendingByTeam.containsKey(teamId);
+    }
+
+    /** True while any record is queued or being written. */
+    public boolean hasAnyPending() {
+        return !pendingByTeam.isEmpty();
+    }
+
+    // =========================
+    // Producer side (main thread)
+    // =========================
+
+    /** @param seq the service's local write clock this snapshot reflects */
+    public boolean offerUpsert(Team snapshot, long seq) {
+        if (snapshot == null || snapshot.getId() == null) return false;
+        return offer(new Change(snapshot.getId(), snapshot, seq));
+    }
+
+    public boolean offerDelete(UUID teamId, long seq) {
+        if (teamId == null) return false;
+        return offer(new Change(teamId, null, seq));
+    }
+
+    private boolean offer(Change c) {
+        if (!accepting) return false;
+
+        // counted before it becomes visible to the writer, so release() can never run first
+        pendingByTeam.merge(c.teamId(), 1, Integer::sum);
+        if (!queue.offer(c)) {
+            release(List.of(c));
+            rejected.incrementAndGet();
+            warnBackpressure();
+            return false;
+        }
+
+        enqueued.incrementAndGet();
+
+        long depth = queue.size();
+        highWater.accumulateAndGet(depth, Math::max);
+        if (depth >= (capacity * 3L) / 4L) warnBackpressure();
+
+        return true;
+    }
+
+    private void warnBackpressure() {
+        long now = System.currentTimeMillis();
+        if (now - lastBackpressureWarnMs < 30_000L) return;
+        lastBackpressureWarnMs = now;
+
+        plugin.getLogger().warning("Team write-behind queue under pressure: " + statsLine());
+    }
+
+    // =========================
+    // Writer side
+    // =========================
+
+    private void runLoop() {
+        List<Change> batch = new ArrayList<>(batchMax);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Change first = queue.poll(250L, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                // let a burst of mutations (e.g. disband + kicks) land in the same batch
+                if (lingerMs > 0L && running && queue.size() < batchMax - 1) {
+                    Thread.sleep(lingerMs);
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchMax - 1);
+
+                try {
+                    flush(batch);
+                } finally {
+                    release(batch);
+                }
+            } catch (InterruptedException ie) {
+                if (!running) break;
+            } catch (Throwable t) {
+                plugin.getLogger().warning("Team write-behind loop error: " + t.getClass().getSimpleName() + ": " + t.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Change> batch) {
+        if (batch.isEmpty()) return;
+
+        Map<UUID, Change> byTeam = coalesce(batch);
+        coalesced.addAndGet(batch.size() - byTeam.size());
+
+        TeamDelta delta = toDelta(byTeam);
+
+        flushing = true;
+        long start = System.nanoTime();
+        try {
+            TeamService t = plugin.teams();
+            if (t instanceof SimpleTeamService simple) {
+                simple.writeDelta(delta);
+            } else if (t != null && plugin.storage() != null) {
+                plugin.storage().saveAll(t);
+            }
+
+            batches.incrementAndGet();
+            teamsWritten.addAndGet(byTeam.size());
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            plugin.getLogger().warning("Team write-behind flush failed (" + byTeam.size() + " teams, will retry on autosave): "
+                    + e.getClass().getSimpleName() + ": " + e.getMessage());
+            spillToService(byTeam);
+        } finally {
+            lastFlushMs = (System.nanoTime() - start) / 1_000_000L;
+            flushing = false;
+        }
+
+        if (plugin.debug() != null) {
+            plugin.debug().log("write-behind flushed " + byTeam.size() + " teams (" + batch.size() + " records) in "
+                    + lastFlushMs + "ms depth=" + queue.size());
+        }
+    }
+
+    private static Map<UUID, Change> coalesce(List<Change> changes) {
+        Map<UUID, Change> byTeam = new LinkedHashMap<>();
+        for (Change c : changes) {
+            if (c == null || c.teamId() == null) continue;
+
+            Change prev = byTeam.get(c.teamId());
+            if (prev != null && prev.snapshot() == null) continue; // delete wins
+            byTeam.put(c.teamId(), c);
+        }
+        return byTeam;
+    }
+
+    private void release(List<Change> changes) {
+        for (Change c : changes) {
+            if (c == null || c.teamId() == null) continue;
+            pendingByTeam.computeIfPresent(c.teamId(), (k, n) -> (n <= 1) ? null : n - 1);
+        }
+    }
+
+    private void spillToService(Map<UUID, Change> byTeam) {
+        if (byTeam.isEmpty()) return;
+        if (!(plugin.teams() instanceof SimpleTeamService simple)) return;
+
+        // requeueDelta keeps newer marks: a stale upsert must not undo a delete recorded since
+        simple.requeueDelta(toDelta(byTeam));
+    }
+
+    private static TeamDelta toDelta(Map<UUID, Change> byTeam) {
+        List<Team> upserts = new ArrayList<>();
+        Set<UUID> deletes = new HashSet<>();
+        Map<UUID, Long> seqs = new HashMap<>();
+        for (Change c : byTeam.values()) {
+            if (c.snapshot() == null) deletes.add(c.teamId());
+            else upserts.add(c.snapshot());
+            seqs.put(c.teamId(), c.seq());
+        }
+        return new TeamDelta(upserts, deletes, false, seqs);
+    }
+
+    // =========================
+    // Metrics
+    // =========================
+
+    public int depth() { return queue.size(); }
+    public int capacity() { return capacity; }
+    public long enqueued() { return enqueued.get(); }
+    public long rejected() { return rejected.get(); }
+    public long coalesced() { return coalesced.get(); }
+    public long batches() { return batches.get(); }
+    public long teamsWritten() { return teamsWritten.get(); }
+    public long failures() { return failures.get(); }
+    public long highWater() { return highWater.get(); }
+    public long lastFlushMs() { return lastFlushMs; }
+    public boolean isFlushing() { return flushing; }
+
+    public String statsLine() {
+        return "depth=" + depth() + "/" + capacity +
+                " highWater=" + highWater() +
+                " enqueued=" + enqueued() +
+                " rejected=" + rejected() +
+                " coalesced=" + coalesced() +
+                " batches=" + batches() +
+                " teamsWritten=" + teamsWritten() +
+                " failures=" + failures() +
+                " lastFlushMs=" + lastFlushMs;
+    }
+}
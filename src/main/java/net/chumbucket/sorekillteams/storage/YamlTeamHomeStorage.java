@@ -12,11 +12,14 @@ package net.chumbucket.sorekillteams.storage;
 
 import net.chumbucket.sorekillteams.SorekillTeamsPlugin;
 import net.chumbucket.sorekillteams.model.TeamHome;
+import net.chumbucket.sorekillteams.service.SimpleTeamHomeService;
 import net.chumbucket.sorekillteams.service.TeamHomeService;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
@@ -44,7 +47,7 @@ public final class YamlTeamHomeStorage implements TeamHomeStorage {
     }
 
     @Override
-    public void loadAll(TeamHomeService homes) throws Exception {
+    public synchronized void loadAll(TeamHomeService homes) throws Exception {
         if (homes == null) return;
 
         ensureDataFolder();
@@ -70,32 +73,8 @@ public final class YamlTeamHomeStorage implements TeamHomeStorage {
                 ConfigurationSection sec = secTeam.getConfigurationSection(homeKeyRaw);
                 if (sec == null) continue;
 
-                String homeKey = normalizeKey(homeKeyRaw);
-                if (homeKey.isBlank()) continue;
-
-                String display = sec.getString(KEY_DISPLAY, homeKeyRaw);
-                String world = sec.getString(KEY_WORLD, "");
-                double x = sec.getDouble(KEY_X);
-                double y = sec.getDouble(KEY_Y);
-                double z = sec.getDouble(KEY_Z);
-                float yaw = (float) sec.getDouble(KEY_YAW, 0.0);
-                float pitch = (float) sec.getDouble(KEY_PITCH, 0.0);
-                long createdAt = sec.getLong(KEY_CREATED_AT, System.currentTimeMillis());
-
-                UUID createdBy = parseUuid(sec.getString(KEY_CREATED_BY, ""));
-                String server = sec.getString(KEY_SERVER, "");
-
-                TeamHome home = new TeamHome(
-                        teamId,
-                        homeKey,
-                        display,
-                        world,
-                        x, y, z,
-                        yaw, pitch,
-                        createdAt,
-                        createdBy,
-                        server
-                );
+                TeamHome home = readHome(teamId, homeKeyRaw, sec);
+                if (home == null) continue;
 
                 homes.putLoadedHome(home);
             }
@@ -103,11 +82,16 @@ public final class YamlTeamHomeStorage implements TeamHomeStorage {
     }
 
     @Override
-    public void saveAll(TeamHomeService homes) throws Exception {
+    public synchronized void saveAll(TeamHomeService homes) throws Exception {
         if (homes == null) return;
 
         ensureDataFolder();
 
+        // whole-file format: every save is a full rewrite, so it covers all pending keys.
+        // Drained before the snapshot so changes made while writing stay pending.
+        SimpleTeamHomeService.PendingChanges changes =
+                (homes instanceof SimpleTeamHomeService s) ? s.drainChanges() : null;
+
         YamlConfiguration yml = new YamlConfiguration();
         ConfigurationSection root = yml.createSection(ROOT_TEAMS);
 
@@ -124,21 +108,103 @@ public final class YamlTeamHomeStorage implements TeamHomeStorage {
             // Create (or replace) the home section deterministically
             ConfigurationSection sec = secTeam.createSection(homeKey);
 
-            sec.set(KEY_DISPLAY, h.getDisplayName());
-            sec.set(KEY_WORLD, h.getWorld());
-            sec.set(KEY_X, h.getX());
-            sec.set(KEY_Y, h.getY());
-            sec.set(KEY_Z, h.getZ());
-            sec.set(KEY_YAW, (double) h.getYaw());
-            sec.set(KEY_PITCH, (double) h.getPitch());
-            sec.set(KEY_CREATED_AT, h.getCreatedAtMs());
-            sec.set(KEY_CREATED_BY, h.getCreatedBy() == null ? "" : h.getCreatedBy().toString());
-            sec.set(KEY_SERVER, h.getServerName());
+            writeHome(sec, h);
+        }
+
+        try {
+            yml.save(file);
+        } catch (Exception e) {
+            if (homes instanceof SimpleTeamHomeService s) s.restoreChanges(changes, false);
+            throw e;
+        }
+    }
+
+    // =========================
+    // ✅ Per-team / per-key access (read-modify-write of the same file; serialized with load/save)
+    // =========================
+
+    @Override
+    public synchronized List<TeamHome> loadTeam(UUID teamId) throws Exception {
+        if (teamId == null || !file.exists()) return List.of();
+
+        ConfigurationSection secTeam = YamlConfiguration.loadConfiguration(file)
+                .getConfigurationSection(ROOT_TEAMS + "." + teamId);
+        if (secTeam == null) return List.of();
+
+        List<TeamHome> out = new ArrayList<>();
+        for (String homeKeyRaw : secTeam.getKeys(false)) {
+            ConfigurationSection sec = secTeam.getConfigurationSection(homeKeyRaw);
+            if (sec == null) continue;
+
+            TeamHome home = readHome(teamId, homeKeyRaw, sec);
+            if (home != null) out.add(home);
         }
+        return out;
+    }
+
+    @Override
+    public synchronized void upsertHome(TeamHome home) throws Exception {
+        if (home == null || home.getTeamId() == null) return;
+
+        String homeKey = normalizeKey(home.getName());
+        if (homeKey.isBlank()) return;
 
+        ensureDataFolder();
+
+        YamlConfiguration yml = file.exists() ? YamlConfiguration.loadConfiguration(file) : new YamlConfiguration();
+        writeHome(yml.createSection(ROOT_TEAMS + "." + home.getTeamId() + "." + homeKey), home);
         yml.save(file);
     }
 
+    @Override
+    public synchronized void deleteHome(UUID teamId, String homeKey) throws Exception {
+        if (teamId == null || !file.exists()) return;
+
+        String key = normalizeKey(homeKey);
+        if (key.isBlank()) return;
+
+        YamlConfiguration yml = YamlConfiguration.loadConfiguration(file);
+        String teamPath = ROOT_TEAMS + "." + teamId;
+        if (!yml.contains(teamPath + "." + key)) return;
+
+        yml.set(teamPath + "." + key, null);
+        ConfigurationSection secTeam = yml.getConfigurationSection(teamPath);
+        if (secTeam != null && secTeam.getKeys(false).isEmpty()) {
+            yml.set(teamPath, null);
+        }
+        yml.save(file);
+    }
+
+    private static TeamHome readHome(UUID teamId, String homeKeyRaw, ConfigurationSection sec) {
+        String homeKey = normalizeKey(homeKeyRaw);
+        if (homeKey.isBlank()) return null;
+
+        return new TeamHome(
+                teamId,
+                homeKey,
+                sec.getString(KEY_DISPLAY, homeKeyRaw),
+                sec.getString(KEY_WORLD, ""),
+                sec.getDouble(KEY_X), sec.getDouble(KEY_Y), sec.getDouble(KEY_Z),
+                (float) sec.getDouble(KEY_YAW, 0.0), (float) sec.getDouble(KEY_PITCH, 0.0),
+                sec.getLong(KEY_CREATED_AT, System.currentTimeMillis()),
+                parseUuid(sec.getString(KEY_CREATED_BY, "")),
+                sec.getString(KEY_SERVER, "")
+        );
+    }
+
+    private static void writeHome(ConfigurationSection sec, TeamHome h) {
+        sec.set(KEY_DISPLAY, h.getDisplayName());
+        sec.set(KEY_WORLD, h.getWorld());
+        sec.set(KEY_X, h.getX());
+        sec.set(KEY_Y, h.getY());
+        sec.set(KEY_Z, h.getZ());
+        sec.set(KEY_YAW, (double) h.getYaw());
+        sec.set(KEY_PITCH, (double) h.getPitch());
+        sec.set(KEY_CREATED_AT, h.getCreatedAtMs());
+        sec.set(KEY_CREATED_BY, h.getCreatedBy() == null ? "" : h.getCreatedBy().toString());
+        sec.set(KEY_SERVER, h.getServerName());
+    }
+
     private void ensureDataFolder() {
         File folder = plugin.getDataFolder();
         if (!folder.exists() && !folder.mkdirs()) {
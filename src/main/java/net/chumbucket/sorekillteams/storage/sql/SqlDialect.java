@@ -46,6 +46,17 @@ public enum SqlDialect {
         };
     }
 
+    /**
+     * Max bind parameters per {@code IN (...)} list. SQLite builds before 3.32 cap a statement at
+     * 999 variables; the others allow far more, but huge lists only bloat the statement cache.
+     */
+    public int maxInParams() {
+        return switch (this) {
+            case SQLITE -> 500;
+            case MYSQL, MARIADB, POSTGRESQL, H2 -> 1000;
+        };
+    }
+
     public String buildJdbcUrl(SorekillTeamsPlugin plugin, ConfigurationSection sql) {
         String host = sql.getString("host", "127.0.0.1");
         int port = sql.getInt("port", 0);
@@ -39,6 +39,16 @@ public final class SqlMigrations {
                             ")"
             );
 
+            // ✅ Reverse lookup (member -> team): the PK leads with team_id, so member_uuid IN (...) needs its own index
+            try {
+                st.executeUpdate("CREATE INDEX IF NOT EXISTS " + pfx + "team_members_member_idx ON " + pfx + "team_members (member_uuid)");
+            } catch (Exception notSupported) {
+                try {
+                    // MySQL has no IF NOT EXISTS for indexes; a duplicate-name error here just means it exists
+                    st.executeUpdate("CREATE INDEX " + pfx + "team_members_member_idx ON " + pfx + "team_members (member_uuid)");
+                } catch (Exception ignored) {}
+            }
+
             st.executeUpdate(
                     "CREATE TABLE IF NOT EXISTS " + pfx + "team_homes (" +
                             "team_id VARCHAR(36) NOT NULL," +
@@ -80,6 +90,45 @@ public final class SqlMigrations {
             try {
                 st.executeUpdate("CREATE INDEX IF NOT EXISTS " + pfx + "invites_team_expires_idx ON " + pfx + "invites (team_id, expires_at_ms)");
             } catch (Exception ignored) {}
+
+            // =========================================================
+            // ✅ Team change log (delta sync between backends)
+            // - teams.revision: global revision of the last write touching that team
+            // - team_tombstones: disbanded team ids + the revision they were removed at
+            // - sync_state: single-row counter; full_revision marks the last full rewrite
+            // =========================================================
+            try {
+                st.executeUpdate("ALTER TABLE " + pfx + "teams ADD COLUMN revision BIGINT NOT NULL DEFAULT 0");
+            } catch (Exception ignored) {} // already present
+
+            try {
+                st.executeUpdate("CREATE INDEX IF NOT EXISTS " + pfx + "teams_revision_idx ON " + pfx + "teams (revision)");
+            } catch (Exception notSupported) {
+                try {
+                    // MySQL: see team_members_member_idx
+                    st.executeUpdate("CREATE INDEX " + pfx + "teams_revision_idx ON " + pfx + "teams (revision)");
+                } catch (Exception ignored) {}
+            }
+
+            st.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS " + pfx + "team_tombstones (" +
+                            "team_id VARCHAR(36) PRIMARY KEY," +
+                            "revision BIGINT NOT NULL," +
+                            "deleted_at BIGINT NOT NULL" +
+                            ")"
+            );
+
+            st.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS " + pfx + "sync_state (" +
+                            "id INT PRIMARY KEY," +
+                            "revision BIGINT NOT NULL," +
+                            "full_revision BIGINT NOT NULL" +
+                            ")"
+            );
+
+            try {
+                st.executeUpdate("INSERT INTO " + pfx + "sync_state (id, revision, full_revision) VALUES (1, 0, 0)");
+            } catch (Exception ignored) {} // row already seeded
         }
     }
 }
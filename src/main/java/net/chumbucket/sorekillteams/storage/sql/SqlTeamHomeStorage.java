@@ -22,6 +22,9 @@ import java.util.*;
 
 public final class SqlTeamHomeStorage implements TeamHomeStorage {
 
+    private static final String COLUMNS =
+            "team_id, name, display_name, world, x, y, z, yaw, pitch, created_at, created_by, server_name";
+
     private final SqlDatabase db;
     private final String pfx;
 
@@ -41,40 +44,13 @@ public final class SqlTeamHomeStorage implements TeamHomeStorage {
 
         try (Connection c = db.getConnection();
              PreparedStatement ps = c.prepareStatement(
-                     "SELECT team_id, name, display_name, world, x, y, z, yaw, pitch, created_at, created_by, server_name " +
-                             "FROM " + pfx + "team_homes"
+                     "SELECT " + COLUMNS + " FROM " + pfx + "team_homes"
              );
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
-                UUID teamId = uuid(rs.getString("team_id"));
-                if (teamId == null) continue;
-
-                String name = rs.getString("name");
-                String displayName = rs.getString("display_name");
-                String world = rs.getString("world");
-                double x = rs.getDouble("x");
-                double y = rs.getDouble("y");
-                double z = rs.getDouble("z");
-                float yaw = rs.getFloat("yaw");
-                float pitch = rs.getFloat("pitch");
-                long createdAt = rs.getLong("created_at");
-                UUID createdBy = uuid(rs.getString("created_by"));
-                String serverName = rs.getString("server_name");
-
-                TeamHome home = new TeamHome(
-                        teamId,
-                        name,
-                        displayName,
-                        world,
-                        x, y, z,
-                        yaw, pitch,
-                        createdAt,
-                        createdBy,
-                        serverName
-                );
-
-                s.putLoadedHome(home);
+                TeamHome home = readHome(rs);
+                if (home != null) s.putLoadedHome(home);
             }
         }
 
@@ -82,8 +58,15 @@ public final class SqlTeamHomeStorage implements TeamHomeStorage {
         s.markClean();
     }
 
+    /**
+     * ✅ Flushes only what changed since the last save (dirty / deleted home keys and cleared teams)
+     * in one batched transaction. A full rewrite + per-team prune only happens after the whole
+     * cache was replaced (clearAll).
+     * Writes (this and the keyed ones) are serialized, so a save that drained a key before it was
+     * handed to the direct path commits before that newer direct write.
+     */
     @Override
-    public void saveAll(TeamHomeService homes) throws Exception {
+    public synchronized void saveAll(TeamHomeService homes) throws Exception {
         if (!(homes instanceof SimpleTeamHomeService s)) {
             throw new IllegalStateException("SqlTeamHomeStorage requires SimpleTeamHomeService (got " + homes.getClass().getName() + ")");
         }
@@ -95,69 +78,125 @@ public final class SqlTeamHomeStorage implements TeamHomeStorage {
         Collection<TeamHome> all = s.allHomes();
         if (all == null) all = List.of();
 
-        // Build per-team view (for safe pruning)
-        Map<UUID, Map<String, TeamHome>> byTeam = new HashMap<>();
-        for (TeamHome h : all) {
-            if (h == null || h.getTeamId() == null) continue;
-            String key = nvl(h.getName(), "").trim();
-            if (key.isBlank()) continue;
-
-            byTeam.computeIfAbsent(h.getTeamId(), __ -> new HashMap<>())
-                    .put(key, h);
-        }
-
-        boolean snapshotEmpty = byTeam.isEmpty();
+        boolean snapshotEmpty = all.isEmpty();
 
         // Hardening #2: prevent "empty snapshot wipes DB" unless explicitly allowed.
         // If empty and not allowed, we simply do nothing (no deletes, no upserts).
-        if (snapshotEmpty && !s.consumeAllowEmptyWriteOnce()) {
+        boolean allowedEmpty = snapshotEmpty && s.consumeAllowEmptyWriteOnce();
+        if (snapshotEmpty && !allowedEmpty) {
             return;
         }
 
-        final SqlDialect dialect = db.dialect();
+        SimpleTeamHomeService.PendingChanges changes = s.drainChanges();
+        if (changes.isEmpty()) return;
 
         try (Connection c = db.getConnection()) {
             c.setAutoCommit(false);
 
             try {
-                // -------------------------
-                // 1) Upsert each home row
-                // -------------------------
-                final String upsertSql = upsertSql(dialect);
-
-                try (PreparedStatement up = c.prepareStatement(upsertSql)) {
-                    for (Map<String, TeamHome> teamMap : byTeam.values()) {
-                        for (TeamHome h : teamMap.values()) {
-                            bindUpsertParams(dialect, up, h);
-                            up.addBatch();
-                        }
-                    }
-                    up.executeBatch();
-                }
-
-                // -------------------------
-                // 2) Prune stale homes PER TEAM
-                // -------------------------
-                if (snapshotEmpty) {
-                    try (PreparedStatement delAll = c.prepareStatement("DELETE FROM " + pfx + "team_homes")) {
-                        delAll.executeUpdate();
-                    }
+                if (changes.full()) {
+                    // re-read after draining so nothing changed in between is skipped
+                    writeFull(c, s.allHomes());
                 } else {
-                    for (var e : byTeam.entrySet()) {
-                        UUID teamId = e.getKey();
-                        Set<String> keepNames = e.getValue().keySet();
-                        pruneTeam(c, teamId, keepNames);
-                    }
+                    writeDelta(c, s, changes);
                 }
-
                 c.commit();
-                s.markClean();
             } catch (Exception ex) {
                 try { c.rollback(); } catch (Exception ignored) {}
                 throw ex;
             } finally {
                 try { c.setAutoCommit(true); } catch (Exception ignored) {}
             }
+        } catch (Exception ex) {
+            // retry these with the next save (changes made meanwhile win)
+            s.restoreChanges(changes, allowedEmpty);
+            throw ex;
+        }
+    }
+
+    private void writeDelta(Connection c, SimpleTeamHomeService s, SimpleTeamHomeService.PendingChanges changes) throws Exception {
+        if (!changes.clearedTeams().isEmpty()) {
+            try (PreparedStatement ps = c.prepareStatement(
+                    "DELETE FROM " + pfx + "team_homes WHERE team_id=?"
+            )) {
+                for (UUID teamId : changes.clearedTeams()) {
+                    ps.setString(1, teamId.toString());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+
+        if (!changes.deletes().isEmpty()) {
+            try (PreparedStatement ps = c.prepareStatement(
+                    "DELETE FROM " + pfx + "team_homes WHERE team_id=? AND name=?"
+            )) {
+                for (SimpleTeamHomeService.HomeKey k : changes.deletes()) {
+                    ps.setString(1, k.teamId().toString());
+                    ps.setString(2, k.name());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+
+        if (!changes.upserts().isEmpty()) {
+            final SqlDialect dialect = db.dialect();
+            int rows = 0;
+
+            try (PreparedStatement up = c.prepareStatement(upsertSql(dialect))) {
+                for (SimpleTeamHomeService.HomeKey k : changes.upserts()) {
+                    // removed since it was marked -> its delete is pending instead
+                    TeamHome h = s.getHome(k.teamId(), k.name()).orElse(null);
+                    if (h == null) continue;
+
+                    bindUpsertParams(dialect, up, h);
+                    up.addBatch();
+                    rows++;
+                }
+                if (rows > 0) up.executeBatch();
+            }
+        }
+    }
+
+    private void writeFull(Connection c, Collection<TeamHome> all) throws Exception {
+        // Build per-team view (for safe pruning)
+        Map<UUID, Map<String, TeamHome>> byTeam = new HashMap<>();
+        for (TeamHome h : all) {
+            if (h == null || h.getTeamId() == null) continue;
+            String key = nvl(h.getName(), "").trim();
+            if (key.isBlank()) continue;
+
+            byTeam.computeIfAbsent(h.getTeamId(), __ -> new HashMap<>())
+                    .put(key, h);
+        }
+
+        final SqlDialect dialect = db.dialect();
+
+        // -------------------------
+        // 1) Upsert each home row
+        // -------------------------
+        try (PreparedStatement up = c.prepareStatement(upsertSql(dialect))) {
+            for (Map<String, TeamHome> teamMap : byTeam.values()) {
+                for (TeamHome h : teamMap.values()) {
+                    bindUpsertParams(dialect, up, h);
+                    up.addBatch();
+                }
+            }
+            up.executeBatch();
+        }
+
+        // -------------------------
+        // 2) Prune stale homes PER TEAM
+        // -------------------------
+        if (byTeam.isEmpty()) {
+            try (PreparedStatement delAll = c.prepareStatement("DELETE FROM " + pfx + "team_homes")) {
+                delAll.executeUpdate();
+            }
+        } else {
+            for (var e : byTeam.entrySet()) {
+                pruneTeam(c, e.getKey(), e.getValue().keySet());
+            }
         }
     }
 
@@ -166,7 +205,7 @@ public final class SqlTeamHomeStorage implements TeamHomeStorage {
      * Removes all homes belonging to that team from SQL.
      */
     @Override
-    public void deleteTeam(UUID teamId) throws Exception {
+    public synchronized void deleteTeam(UUID teamId) throws Exception {
         if (teamId == null) return;
 
         try (Connection c = db.getConnection();
@@ -178,6 +217,59 @@ public final class SqlTeamHomeStorage implements TeamHomeStorage {
         }
     }
 
+    // ------------------------------------------------------------
+    // ✅ Per-team / per-key access (incremental sync)
+    // ------------------------------------------------------------
+
+    @Override
+    public List<TeamHome> loadTeam(UUID teamId) throws Exception {
+        if (teamId == null) return List.of();
+
+        List<TeamHome> out = new ArrayList<>();
+        try (Connection c = db.getConnection();
+             PreparedStatement ps = c.prepareStatement(
+                     "SELECT " + COLUMNS + " FROM " + pfx + "team_homes WHERE team_id=?"
+             )) {
+            ps.setString(1, teamId.toString());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    TeamHome home = readHome(rs);
+                    if (home != null) out.add(home);
+                }
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized void upsertHome(TeamHome home) throws Exception {
+        if (home == null || home.getTeamId() == null) return;
+        if (nvl(home.getName(), "").trim().isBlank()) return;
+
+        final SqlDialect dialect = db.dialect();
+
+        try (Connection c = db.getConnection();
+             PreparedStatement ps = c.prepareStatement(upsertSql(dialect))) {
+            bindUpsertParams(dialect, ps, home);
+            ps.executeUpdate();
+        }
+    }
+
+    @Override
+    public synchronized void deleteHome(UUID teamId, String homeKey) throws Exception {
+        if (teamId == null || homeKey == null || homeKey.isBlank()) return;
+
+        try (Connection c = db.getConnection();
+             PreparedStatement ps = c.prepareStatement(
+                     "DELETE FROM " + pfx + "team_homes WHERE team_id=? AND name=?"
+             )) {
+            ps.setString(1, teamId.toString());
+            ps.setString(2, homeKey);
+            ps.executeUpdate();
+        }
+    }
+
     // ------------------------------------------------------------
     // Hardening helpers
     // ------------------------------------------------------------
@@ -270,6 +362,23 @@ public final class SqlTeamHomeStorage implements TeamHomeStorage {
         ps.setString(12, nvl(h.getServerName(), "default"));
     }
 
+    private static TeamHome readHome(ResultSet rs) throws Exception {
+        UUID teamId = uuid(rs.getString("team_id"));
+        if (teamId == null) return null;
+
+        return new TeamHome(
+                teamId,
+                rs.getString("name"),
+                rs.getString("display_name"),
+                rs.getString("world"),
+                rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z"),
+                rs.getFloat("yaw"), rs.getFloat("pitch"),
+                rs.getLong("created_at"),
+                uuid(rs.getString("created_by")),
+                rs.getString("server_name")
+        );
+    }
+
     private static String nvl(String s, String def) {
         return (s == null ? def : s);
     }
@@ -19,8 +19,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Invite rows for SQL backends. Every method does blocking JDBC: call from an async thread
+ * (SimpleTeamService wraps these in CompletableFutures that resume on the main thread).
+ */
 public final class SqlTeamInviteStorage {
 
+    /** Outcome of {@link #createChecked}: which limit (if any) rejected the invite. */
+    public enum CreateResult { CREATED, TARGET_MAX_PENDING, TEAM_MAX_OUTGOING, ONLY_ONE_TEAM }
+
     private final SqlDatabase db;
 
     public SqlTeamInviteStorage(SqlDatabase db) {
@@ -154,13 +161,62 @@ public final class SqlTeamInviteStorage {
         return out;
     }
 
+    /**
+     * Validates the invite limits and writes the row on ONE pooled connection.
+     * <p>
+     * All three limits come back from a single SELECT of scalar subqueries (valid on MySQL/MariaDB,
+     * PostgreSQL, H2 and SQLite), so validation is one round-trip instead of three.
+     */
+    public CreateResult createChecked(UUID teamId, UUID inviter, UUID invitee, long nowMs, long expiresAtMs,
+                                      int maxPending, int maxOutgoing, boolean allowMultipleTeams) throws Exception {
+        String check = "SELECT " +
+                "(SELECT COUNT(*) FROM " + table() + " WHERE invitee_uuid=? AND expires_at_ms > ?), " +
+                "(SELECT COUNT(*) FROM " + table() + " WHERE team_id=? AND expires_at_ms > ?), " +
+                "(SELECT COUNT(*) FROM " + table() + " WHERE invitee_uuid=? AND team_id<>? AND expires_at_ms > ?)";
+
+        try (Connection c = db.getConnection()) {
+            int pending;
+            int outgoing;
+            int otherTeams;
+
+            try (PreparedStatement ps = c.prepareStatement(check)) {
+                ps.setString(1, invitee.toString());
+                ps.setLong(2, nowMs);
+                ps.setString(3, teamId.toString());
+                ps.setLong(4, nowMs);
+                ps.setString(5, invitee.toString());
+                ps.setString(6, teamId.toString());
+                ps.setLong(7, nowMs);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) return CreateResult.CREATED; // unreachable on a scalar SELECT
+                    pending = rs.getInt(1);
+                    outgoing = rs.getInt(2);
+                    otherTeams = rs.getInt(3);
+                }
+            }
+
+            if (pending >= maxPending) return CreateResult.TARGET_MAX_PENDING;
+            if (outgoing >= maxOutgoing) return CreateResult.TEAM_MAX_OUTGOING;
+            if (!allowMultipleTeams && otherTeams > 0) return CreateResult.ONLY_ONE_TEAM;
+
+            upsert(c, teamId, inviter, invitee, nowMs, expiresAtMs);
+            return CreateResult.CREATED;
+        }
+    }
+
     /**
      * Insert or refresh existing row for (invitee, team_id).
      * Cross-dialect safe approach: UPDATE then INSERT if needed.
      */
     public void upsert(UUID teamId, UUID inviter, UUID invitee, long createdAtMs, long expiresAtMs) throws Exception {
+        try (Connection c = db.getConnection()) {
+            upsert(c, teamId, inviter, invitee, createdAtMs, expiresAtMs);
+        }
+    }
+
+    private void upsert(Connection c, UUID teamId, UUID inviter, UUID invitee, long createdAtMs, long expiresAtMs) throws Exception {
         String upd = "UPDATE " + table() + " SET inviter_uuid=?, created_at_ms=?, expires_at_ms=? WHERE invitee_uuid=? AND team_id=?";
-        try (Connection c = db.getConnection(); PreparedStatement ps = c.prepareStatement(upd)) {
+        try (PreparedStatement ps = c.prepareStatement(upd)) {
             ps.setString(1, inviter.toString());
             ps.setLong(2, createdAtMs);
             ps.setLong(3, expiresAtMs);
@@ -171,7 +227,7 @@ public final class SqlTeamInviteStorage {
         }
 
         String ins = "INSERT INTO " + table() + " (invitee_uuid, team_id, inviter_uuid, created_at_ms, expires_at_ms) VALUES (?,?,?,?,?)";
-        try (Connection c = db.getConnection(); PreparedStatement ps = c.prepareStatement(ins)) {
+        try (PreparedStatement ps = c.prepareStatement(ins)) {
             ps.setString(1, invitee.toString());
             ps.setString(2, teamId.toString());
             ps.setString(3, inviter.toString());
@@ -13,6 +13,7 @@ package net.chumbucket.sorekillteams.storage.sql;
 import net.chumbucket.sorekillteams.model.Team;
 import net.chumbucket.sorekillteams.service.SimpleTeamService;
 import net.chumbucket.sorekillteams.service.TeamService;
+import net.chumbucket.sorekillteams.storage.TeamDelta;
 import net.chumbucket.sorekillteams.storage.TeamStorage;
 
 import java.sql.Connection;
@@ -22,6 +23,9 @@ import java.util.*;
 
 public final class SqlTeamStorage implements TeamStorage {
 
+    /** How long disband tombstones are kept for delta sync (lagging backends fall back to a full reload). */
+    public static final long TOMBSTONE_RETENTION_MS = 24L * 60L * 60L * 1000L;
+
     private final SqlDatabase db;
     private final String pfx;
 
@@ -118,7 +122,9 @@ public final class SqlTeamStorage implements TeamStorage {
             c.setAutoCommit(false);
 
             try {
-                // wipe & rewrite (simple + safe; you can optimize later)
+                final long rev = nextRevision(c);
+
+                // wipe & rewrite (full snapshot: migration / unknown change scope; routine saves use saveDelta)
                 try (PreparedStatement ps = c.prepareStatement("DELETE FROM " + pfx + "team_members")) {
                     ps.executeUpdate();
                 }
@@ -128,7 +134,7 @@ public final class SqlTeamStorage implements TeamStorage {
 
                 // insert teams
                 try (PreparedStatement ps = c.prepareStatement(
-                        "INSERT INTO " + pfx + "teams (id, name, owner_uuid, friendly_fire, created_at) VALUES (?,?,?,?,?)"
+                        "INSERT INTO " + pfx + "teams (id, name, owner_uuid, friendly_fire, created_at, revision) VALUES (?,?,?,?,?,?)"
                 )) {
                     for (Team t : teams) {
                         if (t == null || t.getId() == null || t.getOwner() == null) continue;
@@ -138,6 +144,7 @@ public final class SqlTeamStorage implements TeamStorage {
                         ps.setString(3, t.getOwner().toString());
                         ps.setBoolean(4, t.isFriendlyFireEnabled());
                         ps.setLong(5, t.getCreatedAtMs());
+                        ps.setLong(6, rev);
                         ps.addBatch();
                     }
                     ps.executeBatch();
@@ -165,6 +172,110 @@ public final class SqlTeamStorage implements TeamStorage {
                     ps.executeBatch();
                 }
 
+                // deletions are not tracked by a full rewrite -> other backends must reload everything
+                try (PreparedStatement ps = c.prepareStatement(
+                        "UPDATE " + pfx + "sync_state SET full_revision = ? WHERE id = 1"
+                )) {
+                    ps.setLong(1, rev);
+                    ps.executeUpdate();
+                }
+
+                c.commit();
+            } catch (Exception e) {
+                try { c.rollback(); } catch (Exception ignored) {}
+                throw e;
+            } finally {
+                try { c.setAutoCommit(true); } catch (Exception ignored) {}
+            }
+        }
+    }
+
+    /**
+     * ✅ Incremental save:
+     * Upserts only created/changed teams (and replaces their member rows) and deletes disbanded teams,
+     * all in one transaction. Untouched teams are never rewritten.
+     */
+    @Override
+    public void saveDelta(TeamService service, TeamDelta delta) throws Exception {
+        if (delta == null || delta.isEmpty()) return;
+        if (delta.fullRewrite()) {
+            saveAll(service);
+            return;
+        }
+
+        final SqlDialect dialect = db.dialect();
+
+        try (Connection c = db.getConnection()) {
+            c.setAutoCommit(false);
+
+            try {
+                final long rev = nextRevision(c);
+
+                // 1) disbanded teams (+ tombstones so other backends can evict them)
+                if (!delta.deletes().isEmpty()) {
+                    try (PreparedStatement delMembers = c.prepareStatement(
+                            "DELETE FROM " + pfx + "team_members WHERE team_id = ?"
+                    );
+                         PreparedStatement delTeam = c.prepareStatement(
+                                 "DELETE FROM " + pfx + "teams WHERE id = ?"
+                         )) {
+                        for (UUID id : delta.deletes()) {
+                            delMembers.setString(1, id.toString());
+                            delMembers.addBatch();
+                            delTeam.setString(1, id.toString());
+                            delTeam.addBatch();
+                        }
+                        delMembers.executeBatch();
+                        delTeam.executeBatch();
+                    }
+
+                    writeTombstones(c, delta.deletes(), rev);
+                }
+
+                if (!delta.upserts().isEmpty()) {
+                    // 2) team rows
+                    try (PreparedStatement up = c.prepareStatement(upsertTeamSql(dialect))) {
+                        for (Team t : delta.upserts()) {
+                            up.setString(1, t.getId().toString());
+                            up.setString(2, t.getName() == null ? "Team" : t.getName());
+                            up.setString(3, t.getOwner().toString());
+                            up.setBoolean(4, t.isFriendlyFireEnabled());
+                            up.setLong(5, t.getCreatedAtMs());
+                            up.setLong(6, rev);
+                            up.addBatch();
+                        }
+                        up.executeBatch();
+                    }
+
+                    // 3) member rows of touched teams only (replace per team)
+                    try (PreparedStatement del = c.prepareStatement(
+                            "DELETE FROM " + pfx + "team_members WHERE team_id = ?"
+                    )) {
+                        for (Team t : delta.upserts()) {
+                            del.setString(1, t.getId().toString());
+                            del.addBatch();
+                        }
+                        del.executeBatch();
+                    }
+
+                    try (PreparedStatement ins = c.prepareStatement(
+                            "INSERT INTO " + pfx + "team_members (team_id, member_uuid) VALUES (?,?)"
+                    )) {
+                        for (Team t : delta.upserts()) {
+                            LinkedHashSet<UUID> members = new LinkedHashSet<>();
+                            for (UUID m : t.getMembers()) if (m != null) members.add(m);
+                            members.add(t.getOwner());
+
+                            for (UUID m : members) {
+                                ins.setString(1, t.getId().toString());
+                                ins.setString(2, m.toString());
+                                ins.addBatch();
+                            }
+                        }
+                        ins.executeBatch();
+                    }
+                }
+
                 c.commit();
             } catch (Exception e) {
                 try { c.rollback(); } catch (Exception ignored) {}
@@ -175,6 +286,199 @@ public final class SqlTeamStorage implements TeamStorage {
         }
     }
 
+    private String upsertTeamSql(SqlDialect d) {
+        String table = pfx + "teams";
+
+        return switch (d) {
+            case POSTGRESQL, SQLITE -> (
+                    "INSERT INTO " + table + " (id, name, owner_uuid, friendly_fire, created_at, revision) " +
+                            "VALUES (?,?,?,?,?,?) " +
+                            "ON CONFLICT(id) DO UPDATE SET " +
+                            "name=excluded.name, owner_uuid=excluded.owner_uuid, " +
+                            "friendly_fire=excluded.friendly_fire, created_at=excluded.created_at, " +
+                            "revision=excluded.revision"
+            );
+
+            case MYSQL, MARIADB -> (
+                    "INSERT INTO " + table + " (id, name, owner_uuid, friendly_fire, created_at, revision) " +
+                            "VALUES (?,?,?,?,?,?) " +
+                            "ON DUPLICATE KEY UPDATE " +
+                            "name=VALUES(name), owner_uuid=VALUES(owner_uuid), " +
+                            "friendly_fire=VALUES(friendly_fire), created_at=VALUES(created_at), " +
+                            "revision=VALUES(revision)"
+            );
+
+            case H2 -> (
+                    "MERGE INTO " + table + " (id, name, owner_uuid, friendly_fire, created_at, revision) " +
+                            "KEY (id) " +
+                            "VALUES (?,?,?,?,?,?)"
+            );
+        };
+    }
+
+    // =========================================================
+    // ✅ Delta sync (revisioned change log)
+    // =========================================================
+
+    /**
+     * Result of {@link #loadChangesSince(long)}.
+     * When {@code full} is set, {@code teams} is the complete snapshot and must replace the cache;
+     * otherwise it holds only teams written after the cursor, and {@code deleted} the teams removed since.
+     */
+    public record ChangeSet(long revision, boolean full, List<Team> teams, Set<UUID> deleted) {}
+
+    /**
+     * ✅ Pulls only teams/members/tombstones newer than {@code sinceRevision}.
+     * Falls back to a full snapshot when the cursor is unknown (< 0) or another backend did a full rewrite since.
+     * <p>
+     * The revision is read BEFORE the rows, so anything committed meanwhile is simply pulled again next time.
+     */
+    public ChangeSet loadChangesSince(long sinceRevision) throws Exception {
+        long revision;
+        long fullRevision;
+
+        try (Connection c = db.getConnection();
+             PreparedStatement ps = c.prepareStatement(
+                     "SELECT revision, full_revision FROM " + pfx + "sync_state WHERE id = 1"
+             );
+             ResultSet rs = ps.executeQuery()) {
+            if (rs.next()) {
+                revision = rs.getLong("revision");
+                fullRevision = rs.getLong("full_revision");
+            } else {
+                revision = 0L;
+                fullRevision = 0L;
+            }
+        }
+
+        if (sinceRevision < 0L || fullRevision > sinceRevision) {
+            return new ChangeSet(revision, true, loadAllTeamsSnapshot(), Set.of());
+        }
+        if (revision <= sinceRevision) {
+            return new ChangeSet(sinceRevision, false, List.of(), Set.of());
+        }
+
+        List<Team> changed = new ArrayList<>();
+        Set<UUID> deleted = new HashSet<>();
+
+        try (Connection c = db.getConnection()) {
+
+            Map<UUID, List<UUID>> membersByTeam = new HashMap<>();
+
+            try (PreparedStatement ps = c.prepareStatement(
+                    "SELECT m.team_id, m.member_uuid FROM " + pfx + "team_members m " +
+                            "INNER JOIN " + pfx + "teams t ON t.id = m.team_id WHERE t.revision > ?"
+            )) {
+                ps.setLong(1, sinceRevision);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        UUID teamId = uuid(rs.getString("team_id"));
+                        UUID member = uuid(rs.getString("member_uuid"));
+                        if (teamId == null || member == null) continue;
+
+                        membersByTeam.computeIfAbsent(teamId, __ -> new ArrayList<>()).add(member);
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = c.prepareStatement(
+                    "SELECT id, name, owner_uuid, friendly_fire, created_at FROM " + pfx + "teams WHERE revision > ?"
+            )) {
+                ps.setLong(1, sinceRevision);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        UUID id = uuid(rs.getString("id"));
+                        UUID owner = uuid(rs.getString("owner_uuid"));
+                        if (id == null || owner == null) continue;
+
+                        Team t = new Team(id, rs.getString("name"), owner, rs.getLong("created_at"));
+                        t.setFriendlyFireEnabled(rs.getBoolean("friendly_fire"));
+
+                        membersByTeam.getOrDefault(id, List.of()).stream()
+                                .sorted(Comparator.comparing(UUID::toString))
+                                .forEach(u -> t.getMembers().add(u));
+
+                        changed.add(t);
+                    }
+                }
+            }
+
+            try (PreparedStatement ps = c.prepareStatement(
+                    "SELECT team_id FROM " + pfx + "team_tombstones WHERE revision > ?"
+            )) {
+                ps.setLong(1, sinceRevision);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        UUID id = uuid(rs.getString("team_id"));
+                        if (id != null) deleted.add(id);
+                    }
+                }
+            }
+        }
+
+        return new ChangeSet(revision, false, changed, deleted);
+    }
+
+    /**
+     * Allocates the next global revision inside the caller's transaction.
+     * The row lock on sync_state serializes writers, so revisions become visible in commit order.
+     */
+    private long nextRevision(Connection c) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement(
+                "UPDATE " + pfx + "sync_state SET revision = revision + 1 WHERE id = 1"
+        )) {
+            if (ps.executeUpdate() == 0) {
+                try (PreparedStatement ins = c.prepareStatement(
+                        "INSERT INTO " + pfx + "sync_state (id, revision, full_revision) VALUES (1, 1, 0)"
+                )) {
+                    ins.executeUpdate();
+                }
+                return 1L;
+            }
+        }
+
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT revision FROM " + pfx + "sync_state WHERE id = 1"
+        );
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 1L;
+        }
+    }
+
+    private void writeTombstones(Connection c, Set<UUID> teamIds, long rev) throws Exception {
+        long now = System.currentTimeMillis();
+
+        try (PreparedStatement del = c.prepareStatement(
+                "DELETE FROM " + pfx + "team_tombstones WHERE team_id = ?"
+        );
+             PreparedStatement ins = c.prepareStatement(
+                     "INSERT INTO " + pfx + "team_tombstones (team_id, revision, deleted_at) VALUES (?,?,?)"
+             )) {
+            for (UUID id : teamIds) {
+                del.setString(1, id.toString());
+                del.addBatch();
+
+                ins.setString(1, id.toString());
+                ins.setLong(2, rev);
+                ins.setLong(3, now);
+                ins.addBatch();
+            }
+            del.executeBatch();
+            ins.executeBatch();
+        }
+
+        // prune old tombstones; backends lagging longer than this do a full reload instead
+        try (PreparedStatement prune = c.prepareStatement(
+                "DELETE FROM " + pfx + "team_tombstones WHERE deleted_at < ?"
+        )) {
+            prune.setLong(1, now - TOMBSTONE_RETENTION_MS);
+            prune.executeUpdate();
+        }
+    }
+
     // =========================================================
     // OPTION 3 SUPPORT: On-demand SQL backfill helpers
     // =========================================================
@@ -262,6 +566,130 @@ public final class SqlTeamStorage implements TeamStorage {
         }
     }
 
+    /**
+     * ✅ Batched membership lookup: member -> team id for every given player that is on a team.
+     * Players without a team are absent from the result. One {@code IN (...)} query per chunk
+     * (chunk size from {@link SqlDialect#maxInParams()}), all on one connection.
+     */
+    public Map<UUID, UUID> findTeamIdsForMembers(Collection<UUID> memberUuids) throws Exception {
+        List<UUID> ids = distinct(memberUuids);
+        if (ids.isEmpty()) return Map.of();
+
+        Map<UUID, UUID> out = new HashMap<>();
+        int chunk = db.dialect().maxInParams();
+
+        try (Connection c = db.getConnection()) {
+            for (int from = 0; from < ids.size(); from += chunk) {
+                List<UUID> part = ids.subList(from, Math.min(ids.size(), from + chunk));
+
+                try (PreparedStatement ps = c.prepareStatement(
+                        "SELECT member_uuid, team_id FROM " + pfx + "team_members WHERE member_uuid IN (" + marks(part.size()) + ")"
+                )) {
+                    bind(ps, part);
+
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            UUID member = uuid(rs.getString("member_uuid"));
+                            UUID teamId = uuid(rs.getString("team_id"));
+                            if (member != null && teamId != null) out.put(member, teamId);
+                        }
+                    }
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * ✅ Multi-team fetch: loads the given teams (rows + members) with one team query and one
+     * member query per chunk. Ids with no team row are simply missing from the result.
+     */
+    public List<Team> loadTeamsByIds(Collection<UUID> teamIds) throws Exception {
+        List<UUID> ids = distinct(teamIds);
+        if (ids.isEmpty()) return List.of();
+
+        Map<UUID, Team> byId = new LinkedHashMap<>();
+        Map<UUID, List<UUID>> membersByTeam = new HashMap<>();
+        int chunk = db.dialect().maxInParams();
+
+        try (Connection c = db.getConnection()) {
+            for (int from = 0; from < ids.size(); from += chunk) {
+                List<UUID> part = ids.subList(from, Math.min(ids.size(), from + chunk));
+                String in = marks(part.size());
+
+                // team rows
+                try (PreparedStatement ps = c.prepareStatement(
+                        "SELECT id, name, owner_uuid, friendly_fire, created_at FROM " + pfx + "teams WHERE id IN (" + in + ")"
+                )) {
+                    bind(ps, part);
+
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            UUID id = uuid(rs.getString("id"));
+                            UUID owner = uuid(rs.getString("owner_uuid"));
+                            if (id == null || owner == null) continue;
+
+                            Team t = new Team(id, rs.getString("name"), owner, rs.getLong("created_at"));
+                            t.setFriendlyFireEnabled(rs.getBoolean("friendly_fire"));
+                            byId.put(id, t);
+                        }
+                    }
+                }
+
+                // members
+                try (PreparedStatement ps = c.prepareStatement(
+                        "SELECT team_id, member_uuid FROM " + pfx + "team_members WHERE team_id IN (" + in + ")"
+                )) {
+                    bind(ps, part);
+
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            UUID teamId = uuid(rs.getString("team_id"));
+                            UUID member = uuid(rs.getString("member_uuid"));
+                            if (teamId == null || member == null) continue;
+
+                            membersByTeam.computeIfAbsent(teamId, __ -> new ArrayList<>()).add(member);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Team> loaded = new ArrayList<>(byId.size());
+        for (Team t : byId.values()) {
+            // deterministic ordering, same as the snapshot loader
+            membersByTeam.getOrDefault(t.getId(), List.of()).stream()
+                    .sorted(Comparator.comparing(UUID::toString))
+                    .forEach(u -> {
+                        if (!t.getMembers().contains(u)) t.getMembers().add(u);
+                    });
+
+            if (!t.getMembers().contains(t.getOwner())) {
+                t.getMembers().add(t.getOwner());
+            }
+            loaded.add(t);
+        }
+        return loaded;
+    }
+
+    private static List<UUID> distinct(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        LinkedHashSet<UUID> set = new LinkedHashSet<>(ids);
+        set.remove(null);
+        return new ArrayList<>(set);
+    }
+
+    private static String marks(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+
+    private static void bind(PreparedStatement ps, List<UUID> ids) throws Exception {
+        for (int i = 0; i < ids.size(); i++) {
+            ps.setString(i + 1, ids.get(i).toString());
+        }
+    }
+
     private static UUID uuid(String s) {
         if (s == null || s.isBlank()) return null;
         try {
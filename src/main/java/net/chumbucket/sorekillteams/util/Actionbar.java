@@ -31,6 +31,20 @@ public final class Actionbar {
     private static final Object ADVENTURE_AMP_SERIALIZER = resolveAdventureAmpSerializer();
     private static final Method ADVENTURE_DESERIALIZE = resolveAdventureDeserializeMethod(ADVENTURE_AMP_SERIALIZER);
 
+    /**
+     * A message rendered once (lookup, placeholders, colors and, on Paper, the Adventure component)
+     * so the same text can be sent to many players without redoing that work per player.
+     */
+    public static final class Rendered {
+        private final String colored;
+        private final Object component; // Paper only; null on Spigot
+
+        private Rendered(String colored, Object component) {
+            this.colored = colored;
+            this.component = component;
+        }
+    }
+
     public Actionbar(SorekillTeamsPlugin plugin) {
         this.plugin = plugin;
     }
@@ -63,6 +77,48 @@ public final class Actionbar {
         sendColored(player, colored);
     }
 
+    /**
+     * Renders a messages.yml actionbar once (same rules as {@link #send(Player, String, String...)}).
+     *
+     * @return null when the message is missing/blank (nothing should be sent)
+     */
+    public Rendered render(String key, String... pairs) {
+        if (key == null || key.isBlank()) return null;
+
+        String raw = plugin.msg().raw(key);
+        if (raw == null || raw.isBlank()) return null;
+
+        String built = applyPairs(raw, pairs);
+        if (built.contains("{prefix}")) {
+            built = built.replace("{prefix}", plugin.msg().prefix());
+        }
+
+        String colored = Msg.color(built);
+        if (colored.isBlank()) return null;
+
+        Object component = null;
+        if (PAPER_SEND_ACTIONBAR != null && ADVENTURE_AMP_SERIALIZER != null && ADVENTURE_DESERIALIZE != null) {
+            try {
+                component = ADVENTURE_DESERIALIZE.invoke(ADVENTURE_AMP_SERIALIZER, colored);
+            } catch (Throwable ignored) {}
+        }
+        return new Rendered(colored, component);
+    }
+
+    public void send(Player player, Rendered rendered) {
+        if (player == null || rendered == null) return;
+
+        if (rendered.component != null) {
+            try {
+                PAPER_SEND_ACTIONBAR.invoke(player, rendered.component);
+                return;
+            } catch (Throwable ignored) {
+                // fall through
+            }
+        }
+        sendColored(player, rendered.colored);
+    }
+
     /**
      * Same as send(), but with a per-player cooldown (ms).
      */
@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * ✅ Teleports without forcing a synchronous chunk load where the server allows it.
+ * <p>
+ * On Paper, {@code Entity#teleportAsync} and {@code World#getChunkAtAsync} are used (resolved by
+ * reflection; we compile against Spigot). On plain Spigot this falls back to {@code teleport()}
+ * and preloading is a no-op. Returned futures complete on the main thread on both platforms.
+ */
+public final class AsyncTeleport {
+
+    private static final Method TELEPORT_ASYNC = paperMethod(Entity.class, "teleportAsync", Location.class);
+    private static final Method CHUNK_AT_ASYNC = paperMethod(World.class, "getChunkAtAsync", int.class, int.class);
+
+    private AsyncTeleport() {}
+
+    /** True when teleports load the destination chunk off the main thread. */
+    public static boolean isAsync() {
+        return TELEPORT_ASYNC != null;
+    }
+
+    /**
+     * Teleports {@code player} to {@code dest}.
+     *
+     * @return completes with the teleport result (false if cancelled or failed)
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<Boolean> teleport(Player player, Location dest) {
+        if (player == null || dest == null) return CompletableFuture.completedFuture(false);
+
+        if (TELEPORT_ASYNC != null) {
+            try {
+                return (CompletableFuture<Boolean>) TELEPORT_ASYNC.invoke(player, dest);
+            } catch (Exception ignored) {
+                // fall through to the sync teleport
+            }
+        }
+
+        try {
+            return CompletableFuture.completedFuture(player.teleport(dest));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Starts loading the chunk at {@code dest} in the background (warmups), so the final teleport
+     * finds it ready. Once loaded, a plugin chunk ticket keeps it loaded until the returned hold is
+     * released; callers must release it when the warmup finishes or is cancelled.
+     * Nothing is loaded or held if the server has no async chunk API.
+     */
+    public static ChunkHold preload(Plugin plugin, Location dest) {
+        if (CHUNK_AT_ASYNC == null || plugin == null || dest == null) return ChunkHold.NONE;
+
+        World world = dest.getWorld();
+        if (world == null) return ChunkHold.NONE;
+
+        ChunkHold hold = new ChunkHold(plugin, world, dest.getBlockX() >> 4, dest.getBlockZ() >> 4);
+
+        // already loaded: ticket now (no load triggered); otherwise once the async load lands
+        if (world.isChunkLoaded(hold.cx, hold.cz)) {
+            hold.acquire();
+            return hold;
+        }
+
+        try {
+            ((CompletableFuture<?>) CHUNK_AT_ASYNC.invoke(world, hold.cx, hold.cz))
+                    .whenComplete((chunk, err) -> {
+                        if (err == null) hold.acquire();
+                    });
+        } catch (Exception ignored) {}
+        return hold;
+    }
+
+    // Plugin tickets are not counted by the server: two warmups to the same chunk share one ticket
+    private record TicketKey(UUID world, int cx, int cz) {}
+    private static final Map<TicketKey, Integer> TICKET_HOLDERS = new HashMap<>();
+
+    /**
+     * A plugin chunk ticket taken by {@link #preload}. Main thread only; {@link #release()} is
+     * idempotent, and a hold released before its load completes never takes the ticket.
+     */
+    public static final class ChunkHold {
+
+        public static final ChunkHold NONE = new ChunkHold(null, null, 0, 0);
+
+        private final Plugin plugin;
+        private final World world;
+        private final int cx;
+        private final int cz;
+        private boolean ticketed;
+        private boolean released;
+
+        private ChunkHold(Plugin plugin, World world, int cx, int cz) {
+            this.plugin = plugin;
+            this.world = world;
+            this.cx = cx;
+            this.cz = cz;
+        }
+
+        private void acquire() {
+            if (released || ticketed || world == null) return;
+            ticketed = true;
+
+            if (TICKET_HOLDERS.merge(key(), 1, Integer::sum) > 1) return;
+            try {
+                // chunk is loaded at this point, so this never forces a sync load
+                world.addPluginChunkTicket(cx, cz, plugin);
+            } catch (Exception ignored) {}
+        }
+
+        public void release() {
+            if (released) return;
+            released = true;
+            if (!ticketed) return;
+            ticketed = false;
+
+            TicketKey key = key();
+            Integer left = TICKET_HOLDERS.computeIfPresent(key, (k, n) -> (n <= 1) ? null : n - 1);
+            if (left != null) return;
+            try {
+                world.removePluginChunkTicket(cx, cz, plugin);
+            } catch (Exception ignored) {}
+        }
+
+        private TicketKey key() {
+            return new TicketKey(world.getUID(), cx, cz);
+        }
+    }
+
+    private static Method paperMethod(Class<?> owner, String name, Class<?>... params) {
+        if (!Platform.isPaper()) return null;
+        try {
+            Method m = owner.getMethod(name, params);
+            return CompletableFuture.class.isAssignableFrom(m.getReturnType()) ? m : null;
+        } catch (Throwable ignored) {
+            return null;
+        }
+    }
+}
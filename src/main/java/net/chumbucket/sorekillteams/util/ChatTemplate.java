@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ Chat format compiled once per reload.
+ * <p>
+ * The format is split into literal segments (color codes already translated) and
+ * {@code {player}} / {@code {team}} / {@code {message}} slots, so rendering is a single
+ * append pass with no re-scanning and no {@link Msg#color} over the whole line.
+ * Values passed to {@link #render} must already be colored where that is wanted.
+ */
+public final class ChatTemplate {
+
+    private static final int SLOT_PLAYER = 0;
+    private static final int SLOT_TEAM = 1;
+    private static final int SLOT_MESSAGE = 2;
+
+    private static final String[] TOKENS = {"{player}", "{team}", "{message}"};
+
+    // Builders are reused per thread; oversized ones are dropped instead of retained.
+    private static final int MAX_RETAINED_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    // literals.length == slots.length + 1
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+
+    private ChatTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+
+        int n = 0;
+        for (String s : literals) n += s.length();
+        this.literalLength = n;
+    }
+
+    public static ChatTemplate compile(String format) {
+        String f = (format == null) ? "" : format;
+
+        List<String> lits = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int from = 0;
+        while (true) {
+            int best = -1;
+            int bestSlot = -1;
+            for (int i = 0; i < TOKENS.length; i++) {
+                int at = f.indexOf(TOKENS[i], from);
+                if (at >= 0 && (best < 0 || at < best)) {
+                    best = at;
+                    bestSlot = i;
+                }
+            }
+            if (best < 0) break;
+
+            lits.add(Msg.color(f.substring(from, best)));
+            slots.add(bestSlot);
+            from = best + TOKENS[bestSlot].length();
+        }
+        lits.add(Msg.color(f.substring(from)));
+
+        int[] slotArr = new int[slots.size()];
+        for (int i = 0; i < slotArr.length; i++) slotArr[i] = slots.get(i);
+
+        return new ChatTemplate(lits.toArray(new String[0]), slotArr);
+    }
+
+    /**
+     * Renders one line. {@code team} and {@code message} are inserted as given (pass colored values);
+     * {@code player} is a plain name.
+     */
+    public String render(String player, String team, String message) {
+        String p = (player == null ? "unknown" : player);
+        String t = (team == null ? "" : team);
+        String m = (message == null ? "" : message);
+
+        StringBuilder sb = BUILDER.get();
+        sb.setLength(0);
+        sb.ensureCapacity(literalLength + p.length() + t.length() + m.length());
+
+        sb.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            switch (slots[i]) {
+                case SLOT_PLAYER -> sb.append(p);
+                case SLOT_TEAM -> sb.append(t);
+                case SLOT_MESSAGE -> sb.append(m);
+                default -> { }
+            }
+            sb.append(literals[i + 1]);
+        }
+
+        String out = sb.toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) BUILDER.remove();
+        return out;
+    }
+}
@@ -30,15 +30,8 @@ public final class Debug {
      */
     public boolean enabled() {
         if (plugin == null) return false;
-        try {
-            if (plugin.getConfig().contains("debug.enabled")) {
-                return plugin.getConfig().getBoolean("debug.enabled", false);
-            }
-            // backwards compat
-            return plugin.getConfig().getBoolean("chat.debug", false);
-        } catch (Exception ignored) {
-            return false;
-        }
+        Settings s = plugin.settings();
+        return s != null && s.debug();
     }
 
     public void log(String message) {
@@ -0,0 +1,45 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.util;
+
+/**
+ * Server platform detection (resolved once; no compile-time Paper dependency).
+ */
+public final class Platform {
+
+    private static final boolean PAPER =
+            classExists("io.papermc.paper.configuration.Configuration")
+                    || classExists("com.destroystokyo.paper.PaperConfig");
+
+    private Platform() {}
+
+    /** True on Paper and its forks. */
+    public static boolean isPaper() {
+        return PAPER;
+    }
+
+    /**
+     * Paper guarantees {@code Player#sendMessage} is safe from any thread; on plain Spigot we
+     * keep message fan-out on the main thread.
+     */
+    public static boolean isAsyncMessagingSafe() {
+        return PAPER;
+    }
+
+    private static boolean classExists(String name) {
+        try {
+            Class.forName(name, false, Platform.class.getClassLoader());
+            return true;
+        } catch (Throwable ignored) {
+            return false;
+        }
+    }
+}
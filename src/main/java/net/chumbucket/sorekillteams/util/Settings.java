@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.util;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+/**
+ * ✅ Immutable, typed view of the config values read on hot paths (damage events, chat).
+ * <p>
+ * Built once per load/reload and swapped as a whole, so listeners read plain final fields
+ * instead of walking the MemorySection tree on every event. Anything read rarely
+ * (commands, startup wiring) can keep using {@code getConfig()}.
+ */
+public final class Settings {
+
+    public static final String DEFAULT_CHAT_FORMAT = "&8&l(&c&l{team}&8&l) &f{player} &8&l> &c{message}";
+    public static final String DEFAULT_SPY_FORMAT = "&8[&cTEAM SPY&8] &8(&c{team}&8) &f{player}&8: &7{message}";
+
+    public record FriendlyFire(
+            boolean enabled,
+            boolean toggleEnabled,
+            int teammateDamagePct,
+            boolean includeProjectiles,
+            boolean includeClouds,
+            boolean includeExplosives,
+            boolean includePotions,
+            boolean includeTridents,
+            boolean messageEnabled,
+            long messageCooldownMs,
+            long bypassCacheMs
+    ) {}
+
+    public record Chat(
+            boolean enabled,
+            boolean toggleEnabled,
+            boolean defaultOnJoin,
+            boolean debug,
+            String format,
+            ChatTemplate template,
+            boolean spyEnabled,
+            String spyFormat,
+            ChatTemplate spyTemplate
+    ) {}
+
+    private final FriendlyFire friendlyFire;
+    private final Chat chat;
+    private final boolean debug;
+
+    private Settings(FriendlyFire friendlyFire, Chat chat, boolean debug) {
+        this.friendlyFire = friendlyFire;
+        this.chat = chat;
+        this.debug = debug;
+    }
+
+    public FriendlyFire friendlyFire() { return friendlyFire; }
+    public Chat chat() { return chat; }
+
+    /** Global debug toggle: debug.enabled, falling back to chat.debug for backwards compat. */
+    public boolean debug() { return debug; }
+
+    public static Settings from(FileConfiguration cfg) {
+        FriendlyFire ff = new FriendlyFire(
+                cfg.getBoolean("friendly_fire.enabled", false),
+                cfg.getBoolean("friendly_fire.toggle_enabled", true),
+                Math.max(0, Math.min(100, cfg.getInt("friendly_fire.teammate_damage", 0))),
+                cfg.getBoolean("friendly_fire.include_projectiles", true),
+                cfg.getBoolean("friendly_fire.include_area_effect_clouds", true),
+                cfg.getBoolean("friendly_fire.include_explosives", true),
+                cfg.getBoolean("friendly_fire.include_potions", true),
+                cfg.getBoolean("friendly_fire.include_tridents", true),
+                cfg.getBoolean("friendly_fire.message.enabled", true),
+                cfg.getLong("friendly_fire.message.cooldown_ms", 1000L),
+                Math.max(0L, cfg.getLong("friendly_fire.bypass_cache_ms", 5000L))
+        );
+
+        boolean chatDebug = cfg.getBoolean("chat.debug", false);
+        String chatFormat = nonBlank(cfg.getString("chat.format", DEFAULT_CHAT_FORMAT), DEFAULT_CHAT_FORMAT);
+        String spyFormat = nonBlank(cfg.getString("chat.spy.format", DEFAULT_SPY_FORMAT), DEFAULT_SPY_FORMAT);
+
+        Chat chat = new Chat(
+                cfg.getBoolean("chat.enabled", true),
+                cfg.getBoolean("chat.toggle_enabled", true),
+                cfg.getBoolean("chat.default_on_join", false),
+                chatDebug,
+                chatFormat,
+                ChatTemplate.compile(chatFormat),
+                cfg.getBoolean("chat.spy.enabled", true),
+                spyFormat,
+                ChatTemplate.compile(spyFormat)
+        );
+
+        boolean debug = cfg.contains("debug.enabled")
+                ? cfg.getBoolean("debug.enabled", false)
+                : chatDebug;
+
+        return new Settings(ff, chat, debug);
+    }
+
+    private static String nonBlank(String s, String def) {
+        return (s == null || s.isBlank()) ? def : s;
+    }
+}
@@ -21,18 +21,32 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityDamageEvent;
-
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
  * Handles actionbar warmup countdowns for team home teleports.
  * Cancels on move and cancels on hit.
  *
+ * One shared timer drives every warmup (started on demand, stopped when idle): sessions sit in a
+ * 20-slot timing wheel keyed by the tick they started on, so each tick only visits the sessions
+ * whose second is up. Sessions firing together are grouped by remaining seconds and the actionbar
+ * is rendered once per value. Movement is checked in {@link PlayerMoveEvent} (block changes only)
+ * instead of being polled.
+ *
  * This manager ONLY manages the countdown + cancellation.
  * Teleport + cooldown marking should be handled by the caller (TeamHomeCommands).
+ * Main thread only.
  */
 public final class TeamHomeWarmupManager implements Listener {
 
@@ -41,13 +55,28 @@ public final class TeamHomeWarmupManager implements Listener {
         TeamHome get();
     }
 
-    private static final class WarmupSession {
-        final int taskId;
-        final Location startLoc;
+    private static final int WHEEL_SLOTS = 20; // ticks per countdown step (1s)
 
-        WarmupSession(int taskId, Location startLoc) {
-            this.taskId = taskId;
-            this.startLoc = startLoc;
+    private static final class WarmupSession {
+        final UUID playerId;
+        final UUID teamId;
+        final HomeSupplier homeSupplier;
+        final Consumer<TeamHome> onReady;
+        final AsyncTeleport.ChunkHold chunkHold;
+        final int slot;
+        int remaining;
+        boolean done;
+
+        WarmupSession(UUID playerId, UUID teamId, int remaining, int slot,
+                      HomeSupplier homeSupplier, Consumer<TeamHome> onReady,
+                      AsyncTeleport.ChunkHold chunkHold) {
+            this.playerId = playerId;
+            this.teamId = teamId;
+            this.remaining = remaining;
+            this.slot = slot;
+            this.homeSupplier = homeSupplier;
+            this.onReady = onReady;
+            this.chunkHold = chunkHold;
         }
     }
 
@@ -55,7 +84,14 @@ public final class TeamHomeWarmupManager implements Listener {
     private final Actionbar actionbar;
 
     // Track running warmups per player so countdowns don't stack
-    private final Map<UUID, WarmupSession> warmupByPlayer = new ConcurrentHashMap<>();
+    private final Map<UUID, WarmupSession> warmupByPlayer = new HashMap<>();
+
+    // Timing wheel; cancelled sessions are marked done and dropped when their slot comes up
+    @SuppressWarnings("unchecked")
+    private final List<WarmupSession>[] wheel = new List[WHEEL_SLOTS];
+
+    private BukkitTask driver;
+    private long tick = 0L;
 
     // Sounds (match your chosen HuskHomes-like behavior)
     private static final Sound WARMUP_TICK_SOUND = Sound.BLOCK_NOTE_BLOCK_HAT;
@@ -65,17 +101,23 @@ public final class TeamHomeWarmupManager implements Listener {
         this.plugin = plugin;
         this.actionbar = plugin.actionbar();
 
-        // Needed so hit-cancel works
+        for (int i = 0; i < WHEEL_SLOTS; i++) wheel[i] = new ArrayList<>();
+
+        // Needed so hit/move-cancel works
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     /**
      * Start a warmup countdown. When complete, refetch the home via supplier
      * and call onReady with it (may be null if it disappeared).
+     *
+     * @param preloadAt destination chunk to load in the background during the countdown
+     *                  (null = nothing to preload, e.g. cross-server homes)
      */
     public void start(Player p,
                       UUID expectedTeamId,
                       int warmupSeconds,
+                      Location preloadAt,
                       HomeSupplier homeSupplier,
                       Consumer<TeamHome> onReady) {
 
@@ -83,90 +125,191 @@ public final class TeamHomeWarmupManager implements Listener {
 
         cancel(p.getUniqueId());
 
-        final UUID playerId = p.getUniqueId();
-        final Location start = p.getLocation().clone();
-        final int[] remaining = new int[]{Math.max(1, warmupSeconds)};
+        // ✅ the countdown hides the chunk load (async on Paper; no-op on Spigot); ticket held until the session ends
+        AsyncTeleport.ChunkHold chunkHold = AsyncTeleport.preload(plugin, preloadAt);
 
-        int taskId = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            Player live = Bukkit.getPlayer(playerId);
-            if (live == null || !live.isOnline()) {
-                cancel(playerId);
-                return;
-            }
+        // The sweep for (tick + 1) is next; parking in slot (tick % 20) fires again 20 ticks from now
+        int slot = (int) Math.floorMod(tick, (long) WHEEL_SLOTS);
+        WarmupSession session = new WarmupSession(p.getUniqueId(), expectedTeamId,
+                Math.max(1, warmupSeconds), slot, homeSupplier, onReady, chunkHold);
 
-            // Still in same team?
-            Team currentTeam = plugin.teams().getTeamByPlayer(playerId).orElse(null);
-            if (currentTeam == null || !expectedTeamId.equals(currentTeam.getId())) {
-                if (actionbar != null) actionbar.clear(live);
-                cancel(playerId);
-                return;
+        warmupByPlayer.put(session.playerId, session);
+        wheel[slot].add(session);
+        ensureDriver();
+
+        // first step right away (as before: countdown shows the full value immediately)
+        if (step(session, p)) {
+            sendCountdown(List.of(p), session.remaining + 1);
+        }
+    }
+
+    public void cancel(UUID playerId) {
+        if (playerId == null) return;
+        WarmupSession session = warmupByPlayer.remove(playerId);
+        if (session != null) {
+            session.done = true;
+            session.chunkHold.release();
+        }
+    }
+
+    // ============================================================
+    // Driver
+    // ============================================================
+
+    private void ensureDriver() {
+        if (driver != null) return;
+        driver = plugin.getServer().getScheduler().runTaskTimer(plugin, this::sweep, 1L, 1L);
+    }
+
+    private void sweep() {
+        if (warmupByPlayer.isEmpty()) {
+            for (List<WarmupSession> bucket : wheel) bucket.clear();
+            if (driver != null) {
+                try { driver.cancel(); } catch (Exception ignored) {}
+                driver = null;
             }
+            return;
+        }
 
-            // Cancel if moved
-            WarmupSession sess = warmupByPlayer.get(playerId);
-            if (sess != null && hasMoved(sess.startLoc, live.getLocation())) {
-                cancel(playerId);
+        tick++;
+        List<WarmupSession> bucket = wheel[(int) Math.floorMod(tick, (long) WHEEL_SLOTS)];
+        if (bucket.isEmpty()) return;
 
-                if (actionbar != null) actionbar.send(live, "actionbar.team_home_cancelled_move");
-                live.playSound(live.getLocation(), CANCEL_SOUND, 1.0f, 1.0f);
-                plugin.msg().send(live, "team_home_cancelled_move");
+        // remaining seconds shown -> players; rendered once per key below
+        Map<Integer, List<Player>> byRemaining = new HashMap<>();
+        List<WarmupSession> finished = null;
 
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    if (actionbar != null) actionbar.clear(live);
-                }, 30L);
-                return;
+        for (Iterator<WarmupSession> it = bucket.iterator(); it.hasNext(); ) {
+            WarmupSession s = it.next();
+            if (s.done) {
+                it.remove();
+                continue;
             }
 
-            // Show countdown
-            if (actionbar != null) {
-                actionbar.send(live, "actionbar.team_home_warmup",
-                        "{seconds}", String.valueOf(remaining[0]));
+            Player live = Bukkit.getPlayer(s.playerId);
+            int shown = s.remaining;
+
+            if (!step(s, live)) {
+                it.remove();
+                continue;
             }
 
-            // Tick sound
-            live.playSound(live.getLocation(), WARMUP_TICK_SOUND, 1.0f, 1.0f);
+            byRemaining.computeIfAbsent(shown, __ -> new ArrayList<>()).add(live);
+
+            if (s.remaining < 0) {
+                it.remove();
+                if (finished == null) finished = new ArrayList<>();
+                finished.add(s);
+            }
+        }
 
-            // Finish
-            if (remaining[0] <= 0) {
-                TeamHome hh = null;
-                try {
-                    hh = homeSupplier.get();
-                } catch (Exception ignored) {}
+        for (Map.Entry<Integer, List<Player>> e : byRemaining.entrySet()) {
+            sendCountdown(e.getValue(), e.getKey());
+        }
 
-                if (actionbar != null) actionbar.clear(live);
+        // callbacks last: they may start/cancel warmups (and so touch the wheel)
+        if (finished != null) {
+            for (WarmupSession s : finished) finish(s);
+        }
+    }
 
-                try {
-                    onReady.accept(hh);
-                } catch (Exception ignored) {}
+    /**
+     * Validates a session and advances it by one second.
+     *
+     * @return false if the session ended (offline / left team); countdown should not be shown
+     */
+    private boolean step(WarmupSession s, Player live) {
+        if (live == null || !live.isOnline()) {
+            cancel(s.playerId);
+            return false;
+        }
 
-                cancel(playerId);
-                return;
-            }
+        // Still in same team?
+        Team currentTeam = plugin.teams().getTeamByPlayer(s.playerId).orElse(null);
+        if (currentTeam == null || !s.teamId.equals(currentTeam.getId())) {
+            if (actionbar != null) actionbar.clear(live);
+            cancel(s.playerId);
+            return false;
+        }
 
-            remaining[0]--;
-        }, 0L, 20L).getTaskId();
+        s.remaining--;
+        return true;
+    }
+
+    private void sendCountdown(List<Player> players, int seconds) {
+        Actionbar.Rendered text = (actionbar == null) ? null
+                : actionbar.render("actionbar.team_home_warmup", "{seconds}", String.valueOf(seconds));
 
-        warmupByPlayer.put(playerId, new WarmupSession(taskId, start));
+        for (Player p : players) {
+            if (text != null) actionbar.send(p, text);
+
+            // Tick sound
+            p.playSound(p.getLocation(), WARMUP_TICK_SOUND, 1.0f, 1.0f);
+        }
     }
 
-    public void cancel(UUID playerId) {
-        WarmupSession session = warmupByPlayer.remove(playerId);
-        if (session != null) {
-            plugin.getServer().getScheduler().cancelTask(session.taskId);
+    private void finish(WarmupSession s) {
+        // replaced or cancelled by an earlier callback in this sweep
+        if (warmupByPlayer.get(s.playerId) != s) return;
+        warmupByPlayer.remove(s.playerId);
+        s.done = true;
+
+        try {
+            Player live = Bukkit.getPlayer(s.playerId);
+            if (live == null || !live.isOnline()) return;
+
+            TeamHome hh = null;
+            try {
+                hh = s.homeSupplier.get();
+            } catch (Exception ignored) {}
+
+            if (actionbar != null) actionbar.clear(live);
+
+            try {
+                s.onReady.accept(hh);
+            } catch (Exception ignored) {}
+        } finally {
+            // after onReady: the teleport has started against a still-loaded chunk
+            s.chunkHold.release();
         }
     }
 
     // ============================================================
-    // Cancel warmup on hit
+    // Cancel warmup on move / hit
     // ============================================================
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        if (warmupByPlayer.isEmpty()) return;
+        if (!changedBlock(event.getFrom(), event.getTo())) return;
+        if (!warmupByPlayer.containsKey(event.getPlayer().getUniqueId())) return;
+
+        cancelWithFeedback(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        if (warmupByPlayer.isEmpty()) return;
+        if (!changedBlock(event.getFrom(), event.getTo())) return;
+        if (!warmupByPlayer.containsKey(event.getPlayer().getUniqueId())) return;
+
+        cancelWithFeedback(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        cancel(event.getPlayer().getUniqueId());
+    }
+
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onDamage(EntityDamageEvent event) {
         if (!(event.getEntity() instanceof Player p)) return;
+        if (!warmupByPlayer.containsKey(p.getUniqueId())) return;
 
-        WarmupSession session = warmupByPlayer.get(p.getUniqueId());
-        if (session == null) return;
+        cancelWithFeedback(p);
+    }
 
+    private void cancelWithFeedback(Player p) {
         cancel(p.getUniqueId());
 
         if (actionbar != null) actionbar.send(p, "actionbar.team_home_cancelled_move");
@@ -178,18 +321,12 @@ public final class TeamHomeWarmupManager implements Listener {
         }, 30L);
     }
 
-    private boolean hasMoved(Location start, Location now) {
-        if (start == null || now == null) return true;
-        if (start.getWorld() == null || now.getWorld() == null) return true;
-        if (!start.getWorld().equals(now.getWorld())) return true;
-
-        // Only cancel on positional movement (rotation doesn't matter)
-        double dx = now.getX() - start.getX();
-        double dy = now.getY() - start.getY();
-        double dz = now.getZ() - start.getZ();
-        double distSq = (dx * dx) + (dy * dy) + (dz * dz);
-
-        // small tolerance for jitter
-        return distSq > 0.0004; // ~0.02 blocks
+    // Only cancel on block changes (rotation and sub-block jitter don't matter)
+    private static boolean changedBlock(Location from, Location to) {
+        if (from == null || to == null) return false;
+        if (from.getWorld() != to.getWorld()) return true;
+        return from.getBlockX() != to.getBlockX()
+                || from.getBlockY() != to.getBlockY()
+                || from.getBlockZ() != to.getBlockZ();
     }
 }
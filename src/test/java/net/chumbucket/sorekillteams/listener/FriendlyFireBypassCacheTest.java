@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.listener;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The bypass permission is resolved once per attacker and then served from an entry reused in place:
+ * cached hits neither call {@link Player#hasPermission(String)} nor allocate.
+ */
+class FriendlyFireBypassCacheTest {
+
+    private static final long CACHE_MS = 60_000L;
+    private static final int WARMUP = 50_000;
+    private static final int HITS = 500_000;
+
+    // well under one object per hit (the smallest object is 16 bytes)
+    private static final long MAX_ALLOCATED_BYTES = 64 * 1024;
+
+    private final FriendlyFireListener listener = new FriendlyFireListener(null);
+
+    @Test
+    void resolvesPermissionOncePerAttacker() {
+        AtomicInteger checks = new AtomicInteger();
+        Player attacker = player(UUID.randomUUID(), true, checks);
+
+        for (int i = 0; i < 1_000; i++) assertTrue(listener.hasBypass(attacker, CACHE_MS));
+        assertEquals(1, checks.get());
+
+        listener.invalidateBypass(attacker.getUniqueId());
+        assertTrue(listener.hasBypass(attacker, CACHE_MS));
+        assertEquals(2, checks.get());
+    }
+
+    @Test
+    void zeroCacheMsAlwaysResolves() {
+        AtomicInteger checks = new AtomicInteger();
+        Player attacker = player(UUID.randomUUID(), false, checks);
+
+        for (int i = 0; i < 10; i++) assertFalse(listener.hasBypass(attacker, 0L));
+        assertEquals(10, checks.get());
+    }
+
+    @Test
+    void cachedHitsDoNotAllocate() {
+        com.sun.management.ThreadMXBean mx = allocationCounter();
+        AtomicInteger checks = new AtomicInteger();
+        Player attacker = player(UUID.randomUUID(), false, checks);
+
+        int sink = hit(attacker, WARMUP);
+
+        long before = mx.getCurrentThreadAllocatedBytes();
+        sink += hit(attacker, HITS);
+        long allocated = mx.getCurrentThreadAllocatedBytes() - before;
+
+        assertEquals(0, sink);
+        assertEquals(1, checks.get());
+        assertTrue(allocated < MAX_ALLOCATED_BYTES,
+                "hasBypass() allocated " + allocated + " bytes over " + HITS + " cached hits");
+    }
+
+    private int hit(Player attacker, int n) {
+        int sink = 0;
+        for (int i = 0; i < n; i++) {
+            if (listener.hasBypass(attacker, CACHE_MS)) sink++;
+        }
+        return sink;
+    }
+
+    /** Minimal Player: only the two calls the cache makes; getUniqueId takes no args, so the proxy allocates nothing. */
+    private static Player player(UUID id, boolean bypass, AtomicInteger checks) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUniqueId" -> id;
+                    case "hasPermission" -> {
+                        checks.incrementAndGet();
+                        yield bypass;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        assumeTrue(mx instanceof com.sun.management.ThreadMXBean, "per-thread allocation counter unavailable");
+
+        com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) mx;
+        assumeTrue(sun.isThreadAllocatedMemorySupported(), "per-thread allocation counter unsupported");
+        sun.setThreadAllocatedMemoryEnabled(true);
+        return sun;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Inbound pub/sub payloads are untrusted: decoders must return null on garbage, never throw.
+ * Seeds are fixed so a failure reproduces.
+ */
+class PacketFuzzTest {
+
+    private static final int ROUNDS = 5_000;
+
+    private static final UUID A = UUID.fromString("3f2b8c1e-5a4d-4e7f-9b0a-1c2d3e4f5a6b");
+    private static final UUID B = UUID.fromString("0a1b2c3d-4e5f-4071-8293-a4b5c6d7e8f9");
+
+    /** One entry per packet: a valid sample plus its decoders. */
+    private record Codec(String name,
+                         byte[] binary,
+                         String text,
+                         Function<byte[], Object> fromBytes,
+                         Function<byte[], Object> decodeBytes,
+                         Function<String, Object> decodeText) {}
+
+    private static List<Codec> codecs() {
+        TeamEventPacket event = new TeamEventPacket("s1", TeamEventPacket.Type.MEMBER_JOINED, A, "Team",
+                B, "Actor", A, "Target", 1_000L, 7L, 3L, B, Boolean.FALSE);
+        TeamChatPacket chat = new TeamChatPacket("s1", A, B, "Sender", "hello", 1_000L);
+        InvitePacket invite = new InvitePacket("s1", InvitePacket.Type.SENT, A, "Team", B, "Inviter", A, "Invitee", 1_000L, 2_000L);
+        InviteTogglePacket toggle = new InviteTogglePacket("s1", B, "Player", true, 1_000L);
+        PresencePacket presence = new PresencePacket("s1", PresencePacket.Type.ONLINE, B, "Player", "s1", 1_000L);
+        TeamHomeTeleportPacket home = new TeamHomeTeleportPacket("s1", "s2", A, "base", "Base", B, "Player", "r1", 1_000L);
+
+        return List.of(
+                new Codec("TeamEventPacket", event.toBytes(), event.encode(),
+                        TeamEventPacket::fromBytes, TeamEventPacket::decode, TeamEventPacket::decode),
+                new Codec("TeamChatPacket", chat.toBytes(), chat.encode(),
+                        TeamChatPacket::fromBytes, TeamChatPacket::decode, TeamChatPacket::decode),
+                new Codec("InvitePacket", invite.toBytes(), invite.encode(),
+                        InvitePacket::fromBytes, InvitePacket::decode, InvitePacket::decode),
+                new Codec("InviteTogglePacket", toggle.toBytes(), toggle.encode(),
+                        InviteTogglePacket::fromBytes, InviteTogglePacket::decode, InviteTogglePacket::decode),
+                new Codec("PresencePacket", presence.toBytes(), presence.encode(),
+                        PresencePacket::fromBytes, PresencePacket::decode, PresencePacket::decode),
+                new Codec("TeamHomeTeleportPacket", home.toBytes(), home.encode(),
+                        TeamHomeTeleportPacket::fromBytes, TeamHomeTeleportPacket::decode, TeamHomeTeleportPacket::decode)
+        );
+    }
+
+    @Test
+    void samplesDecode() {
+        for (Codec c : codecs()) {
+            assertNotNull(c.fromBytes().apply(c.binary()), c.name());
+            assertNotNull(c.decodeText().apply(c.text()), c.name());
+        }
+    }
+
+    @Test
+    void emptyAndNullInputs() {
+        for (Codec c : codecs()) {
+            assertNull(c.fromBytes().apply(null), c.name());
+            assertNull(c.fromBytes().apply(new byte[0]), c.name());
+            assertNull(c.decodeBytes().apply(null), c.name());
+            assertNull(c.decodeBytes().apply(new byte[0]), c.name());
+            assertNull(c.decodeText().apply(null), c.name());
+            assertNull(c.decodeText().apply(""), c.name());
+            assertNull(c.decodeText().apply("   "), c.name());
+        }
+    }
+
+    @Test
+    void truncatedBinaryFramesAreRejected() {
+        for (Codec c : codecs()) {
+            for (int len = 0; len < c.binary().length; len++) {
+                byte[] cut = Arrays.copyOf(c.binary(), len);
+                assertNull(c.fromBytes().apply(cut), c.name() + " cut at " + len);
+                assertNull(c.decodeBytes().apply(cut), c.name() + " cut at " + len);
+            }
+        }
+    }
+
+    @Test
+    void truncatedTextFramesNeverThrow() {
+        for (Codec c : codecs()) {
+            String text = c.text();
+            for (int len = 0; len < text.length(); len++) {
+                String cut = text.substring(0, len);
+                assertDoesNotThrow(() -> c.decodeText().apply(cut), c.name() + " cut at " + len);
+            }
+        }
+    }
+
+    @Test
+    void randomBytesAreRejected() {
+        Random rnd = new Random(0x5EED_0001L);
+        for (Codec c : codecs()) {
+            for (int i = 0; i < ROUNDS; i++) {
+                byte[] raw = new byte[rnd.nextInt(128)];
+                rnd.nextBytes(raw);
+                if (raw.length > 0 && raw[0] == WireCodec.MAGIC) raw[0] = 0; // headerless garbage
+
+                assertNull(c.fromBytes().apply(raw), c.name());
+                assertNull(c.decodeBytes().apply(raw), c.name());
+            }
+        }
+    }
+
+    @Test
+    void randomBodiesBehindAValidHeaderNeverThrow() {
+        Random rnd = new Random(0x5EED_0002L);
+        for (Codec c : codecs()) {
+            byte[] header = Arrays.copyOf(c.binary(), 3);
+            for (int i = 0; i < ROUNDS; i++) {
+                byte[] raw = Arrays.copyOf(header, 3 + rnd.nextInt(160));
+                byte[] body = new byte[raw.length - 3];
+                rnd.nextBytes(body);
+                System.arraycopy(body, 0, raw, 3, body.length);
+
+                assertDoesNotThrow(() -> c.fromBytes().apply(raw), c.name());
+                assertDoesNotThrow(() -> c.decodeBytes().apply(raw), c.name());
+            }
+        }
+    }
+
+    @Test
+    void mutatedFramesNeverThrow() {
+        Random rnd = new Random(0x5EED_0003L);
+        for (Codec c : codecs()) {
+            for (int i = 0; i < ROUNDS; i++) {
+                byte[] raw = c.binary().clone();
+                int flips = 1 + rnd.nextInt(4);
+                for (int f = 0; f < flips; f++) {
+                    int at = 3 + rnd.nextInt(raw.length - 3); // keep the header so the body gets parsed
+                    raw[at] = (byte) rnd.nextInt(256);
+                }
+                assertDoesNotThrow(() -> c.fromBytes().apply(raw), c.name());
+
+                char[] text = c.text().toCharArray();
+                text[rnd.nextInt(text.length)] = (char) (' ' + rnd.nextInt(95));
+                String mutated = new String(text);
+                assertDoesNotThrow(() -> c.decodeText().apply(mutated), c.name());
+            }
+        }
+    }
+
+    @Test
+    void randomTextIsRejected() {
+        Random rnd = new Random(0x5EED_0004L);
+        for (Codec c : codecs()) {
+            for (int i = 0; i < ROUNDS; i++) {
+                byte[] raw = new byte[rnd.nextInt(96)];
+                rnd.nextBytes(raw);
+                String text = new String(raw, StandardCharsets.ISO_8859_1).replace('|', '/');
+
+                // no delimiters -> never the right field count
+                assertNull(c.decodeText().apply(text), c.name());
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every packet must survive both wire formats: binary ({@link WireCodec}) and legacy pipe-delimited text.
+ */
+class PacketRoundTripTest {
+
+    private static final UUID TEAM = UUID.fromString("3f2b8c1e-5a4d-4e7f-9b0a-1c2d3e4f5a6b");
+    private static final UUID ACTOR = UUID.fromString("0a1b2c3d-4e5f-4071-8293-a4b5c6d7e8f9");
+    private static final UUID TARGET = UUID.fromString("ffffffff-0000-4000-8000-000000000001");
+    private static final long AT = 1_735_689_600_123L;
+
+    // =========================
+    // TeamEventPacket
+    // =========================
+
+    private static TeamEventPacket teamEvent() {
+        return new TeamEventPacket("survival-1", TeamEventPacket.Type.MEMBER_KICKED, TEAM, "Red|Team\\Ω",
+                ACTOR, "Owner", TARGET, "Kicked", AT, 1_700_000_000_000L, 42L, ACTOR, Boolean.TRUE);
+    }
+
+    private static void assertSameEvent(TeamEventPacket want, TeamEventPacket got, boolean withState) {
+        assertNotNull(got);
+        assertEquals(want.originServer(), got.originServer());
+        assertEquals(want.type(), got.type());
+        assertEquals(want.teamId(), got.teamId());
+        assertEquals(want.teamName(), got.teamName());
+        assertEquals(want.actorUuid(), got.actorUuid());
+        assertEquals(want.actorName(), got.actorName());
+        assertEquals(want.targetUuid(), got.targetUuid());
+        assertEquals(want.targetName(), got.targetName());
+        assertEquals(want.atMs(), got.atMs());
+        if (!withState) return;
+        assertEquals(want.epoch(), got.epoch());
+        assertEquals(want.seq(), got.seq());
+        assertEquals(want.ownerUuid(), got.ownerUuid());
+        assertEquals(want.friendlyFire(), got.friendlyFire());
+    }
+
+    @Test
+    void teamEventBinary() {
+        TeamEventPacket p = teamEvent();
+        assertSameEvent(p, TeamEventPacket.fromBytes(p.toBytes()), true);
+        assertSameEvent(p, TeamEventPacket.decode(p.toBytes()), true);
+    }
+
+    @Test
+    void teamEventTextV2() {
+        TeamEventPacket p = teamEvent();
+        assertSameEvent(p, TeamEventPacket.decode(p.encode()), true);
+        assertSameEvent(p, TeamEventPacket.decode(p.encode().getBytes(StandardCharsets.UTF_8)), true);
+    }
+
+    @Test
+    void teamEventTextV1IsUnsequenced() {
+        TeamEventPacket p = teamEvent();
+        TeamEventPacket got = TeamEventPacket.decode(p.encodeV1());
+        assertSameEvent(p, got, false);
+        assertFalse(got.isSequenced());
+        assertNull(got.ownerUuid());
+        assertNull(got.friendlyFire());
+    }
+
+    @Test
+    void teamEventNullableFields() {
+        TeamEventPacket p = new TeamEventPacket("s", TeamEventPacket.Type.TEAM_DISBANDED, TEAM, "", ACTOR, "", null, "", AT);
+        assertSameEvent(p, TeamEventPacket.fromBytes(p.toBytes()), true);
+        assertSameEvent(p, TeamEventPacket.decode(p.encode()), true);
+    }
+
+    // =========================
+    // TeamChatPacket
+    // =========================
+
+    @Test
+    void teamChat() {
+        TeamChatPacket p = new TeamChatPacket("lobby", TEAM, ACTOR, "Speaker", "§ahello wörld ✓", AT);
+
+        for (TeamChatPacket got : new TeamChatPacket[]{
+                TeamChatPacket.fromBytes(p.toBytes()), TeamChatPacket.decode(p.encode())}) {
+            assertNotNull(got);
+            assertEquals(p.originServer(), got.originServer());
+            assertEquals(p.teamId(), got.teamId());
+            assertEquals(p.senderUuid(), got.senderUuid());
+            assertEquals(p.senderName(), got.senderName());
+            assertEquals(p.coloredMessage(), got.coloredMessage());
+            assertEquals(p.sentAtMs(), got.sentAtMs());
+        }
+    }
+
+    // =========================
+    // InvitePacket
+    // =========================
+
+    @Test
+    void invite() {
+        InvitePacket p = new InvitePacket("survival-2", InvitePacket.Type.ACCEPTED, TEAM, "Blue",
+                ACTOR, "Inviter", TARGET, "Invitee", AT, AT + 300_000L);
+
+        for (InvitePacket got : new InvitePacket[]{
+                InvitePacket.fromBytes(p.toBytes()), InvitePacket.decode(p.encode())}) {
+            assertNotNull(got);
+            assertEquals(p.originServer(), got.originServer());
+            assertEquals(p.type(), got.type());
+            assertEquals(p.teamId(), got.teamId());
+            assertEquals(p.teamName(), got.teamName());
+            assertEquals(p.inviterUuid(), got.inviterUuid());
+            assertEquals(p.inviterName(), got.inviterName());
+            assertEquals(p.inviteeUuid(), got.inviteeUuid());
+            assertEquals(p.inviteeName(), got.inviteeName());
+            assertEquals(p.createdAtMs(), got.createdAtMs());
+            assertEquals(p.expiresAtMs(), got.expiresAtMs());
+        }
+    }
+
+    // =========================
+    // InviteTogglePacket
+    // =========================
+
+    @Test
+    void inviteToggle() {
+        for (boolean enabled : new boolean[]{true, false}) {
+            InviteTogglePacket p = new InviteTogglePacket("survival-1", ACTOR, "Toggler", enabled, AT);
+
+            for (InviteTogglePacket got : new InviteTogglePacket[]{
+                    InviteTogglePacket.fromBytes(p.toBytes()), InviteTogglePacket.decode(p.encode())}) {
+                assertNotNull(got);
+                assertEquals(p.originServer(), got.originServer());
+                assertEquals(p.playerUuid(), got.playerUuid());
+                assertEquals(p.playerName(), got.playerName());
+                assertEquals(p.enabled(), got.enabled());
+                assertEquals(p.atMs(), got.atMs());
+            }
+        }
+    }
+
+    // =========================
+    // PresencePacket
+    // =========================
+
+    @Test
+    void presence() {
+        for (PresencePacket.Type type : PresencePacket.Type.values()) {
+            PresencePacket p = new PresencePacket("survival-1", type, ACTOR, "Walker", "survival-1", AT);
+
+            for (PresencePacket got : new PresencePacket[]{
+                    PresencePacket.fromBytes(p.toBytes()), PresencePacket.decode(p.encode())}) {
+                assertNotNull(got);
+                assertEquals(p.originServer(), got.originServer());
+                assertEquals(p.type(), got.type());
+                assertEquals(p.playerUuid(), got.playerUuid());
+                assertEquals(p.playerName(), got.playerName());
+                assertEquals(p.serverId(), got.serverId());
+                assertEquals(p.atMs(), got.atMs());
+            }
+        }
+    }
+
+    // =========================
+    // TeamHomeTeleportPacket
+    // =========================
+
+    @Test
+    void homeTeleport() {
+        TeamHomeTeleportPacket p = new TeamHomeTeleportPacket("lobby", "survival-1", TEAM, "base",
+                "&aBase|One\\2", ACTOR, "Traveller", "req-7f3a", AT);
+
+        for (TeamHomeTeleportPacket got : new TeamHomeTeleportPacket[]{
+                TeamHomeTeleportPacket.fromBytes(p.toBytes()), TeamHomeTeleportPacket.decode(p.encode())}) {
+            assertNotNull(got);
+            assertEquals(p.originServer(), got.originServer());
+            assertEquals(p.targetServer(), got.targetServer());
+            assertEquals(p.teamId(), got.teamId());
+            assertEquals(p.homeKey(), got.homeKey());
+            assertEquals(p.homeDisplay(), got.homeDisplay());
+            assertEquals(p.playerUuid(), got.playerUuid());
+            assertEquals(p.playerName(), got.playerName());
+            assertEquals(p.requestId(), got.requestId());
+            assertEquals(p.atMs(), got.atMs());
+        }
+    }
+
+    // =========================
+    // WireCodec
+    // =========================
+
+    @Test
+    void framesAreTaggedWithTheirKind() {
+        assertTrue(WireCodec.isBinary(teamEvent().toBytes()));
+        assertEquals(WireCodec.KIND_TEAM_EVENT, WireCodec.kindOf(teamEvent().toBytes()));
+
+        // a frame of one kind is never decoded as another
+        assertNull(TeamChatPacket.fromBytes(teamEvent().toBytes()));
+        assertNull(InvitePacket.decode(teamEvent().toBytes()));
+    }
+
+    @Test
+    void varLongAndUuidEdges() {
+        long[] values = {0L, 1L, 127L, 128L, 16_383L, 16_384L, Long.MAX_VALUE, -1L, Long.MIN_VALUE};
+        WireCodec.Writer w = WireCodec.writer(WireCodec.KIND_TEAM_EVENT, 16);
+        for (long v : values) w.writeVarLong(v);
+        w.writeUuid(null).writeUuid(TEAM).writeOptBool(null).writeOptBool(false).writeOptBool(true).writeString("");
+
+        WireCodec.Reader r = WireCodec.reader(w.toBytes(), WireCodec.KIND_TEAM_EVENT);
+        assertNotNull(r);
+        for (long v : values) assertEquals(v, r.readVarLong());
+        assertNull(r.readUuid());
+        assertEquals(TEAM, r.readUuid());
+        assertNull(r.readOptBool());
+        assertEquals(Boolean.FALSE, r.readOptBool());
+        assertEquals(Boolean.TRUE, r.readOptBool());
+        assertEquals("", r.readString());
+    }
+}
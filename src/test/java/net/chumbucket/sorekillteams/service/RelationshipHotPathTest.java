@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2025 Sorekill
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ */
+
+package net.chumbucket.sorekillteams.service;
+
+import net.chumbucket.sorekillteams.model.Team;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The friendly-fire damage path calls {@link SimpleTeamService#relationshipOf} on every player hit:
+ * it must answer correctly and allocate nothing per call.
+ */
+class RelationshipHotPathTest {
+
+    private static final int WARMUP = 50_000;
+    private static final int HITS = 500_000;
+
+    // well under one object per hit (the smallest object is 16 bytes)
+    private static final long MAX_ALLOCATED_BYTES = 64 * 1024;
+
+    private final UUID red = UUID.fromString("3f2b8c1e-5a4d-4e7f-9b0a-1c2d3e4f5a6b");
+    private final UUID blue = UUID.fromString("0a1b2c3d-4e5f-4071-8293-a4b5c6d7e8f9");
+    private final UUID redOwner = UUID.fromString("ffffffff-0000-4000-8000-000000000001");
+    private final UUID redMember = UUID.fromString("ffffffff-0000-4000-8000-000000000002");
+    private final UUID blueOwner = UUID.fromString("ffffffff-0000-4000-8000-000000000003");
+    private final UUID loner = UUID.fromString("ffffffff-0000-4000-8000-000000000004");
+
+    private final Map<UUID, UUID> playerToTeam = new ConcurrentHashMap<>();
+    private final Map<UUID, Team> teams = new ConcurrentHashMap<>();
+
+    RelationshipHotPathTest() {
+        Team r = new Team(red, "Red", redOwner);
+        r.getMembers().add(redMember);
+        Team b = new Team(blue, "Blue", blueOwner);
+        b.setFriendlyFireEnabled(true);
+
+        teams.put(red, r);
+        teams.put(blue, b);
+        playerToTeam.put(redOwner, red);
+        playerToTeam.put(redMember, red);
+        playerToTeam.put(blueOwner, blue);
+    }
+
+    @Test
+    void classifiesPairs() {
+        assertEquals(TeamService.RELATION_TEAMMATES_FF_BLOCKED, rel(redOwner, redMember));
+        assertEquals(TeamService.RELATION_TEAMMATES_FF_BLOCKED, rel(redMember, redOwner));
+        assertEquals(TeamService.RELATION_NONE, rel(redOwner, blueOwner));
+        assertEquals(TeamService.RELATION_NONE, rel(redOwner, loner));
+        assertEquals(TeamService.RELATION_NONE, rel(loner, redOwner));
+        assertEquals(TeamService.RELATION_NONE, rel(null, redOwner));
+        assertEquals(TeamService.RELATION_NONE, rel(redOwner, null));
+
+        teams.get(red).setFriendlyFireEnabled(true);
+        assertEquals(TeamService.RELATION_TEAMMATES_FF_ALLOWED, rel(redOwner, redMember));
+
+        // index says teammates but the team is gone (mid-disband): treat as blocked, never allowed
+        teams.remove(red);
+        assertEquals(TeamService.RELATION_TEAMMATES_FF_BLOCKED, rel(redOwner, redMember));
+    }
+
+    @Test
+    void doesNotAllocatePerHit() {
+        com.sun.management.ThreadMXBean mx = allocationCounter();
+
+        long sink = hit(WARMUP);
+
+        long before = mx.getCurrentThreadAllocatedBytes();
+        sink += hit(HITS);
+        long allocated = mx.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(sink > 0);
+        assertTrue(allocated < MAX_ALLOCATED_BYTES,
+                "relationship() allocated " + allocated + " bytes over " + HITS + " hits");
+        assertEquals(2, teams.size());
+        assertEquals(3, playerToTeam.size());
+    }
+
+    private long hit(int n) {
+        long sink = 0;
+        for (int i = 0; i < n; i++) {
+            sink += rel(redOwner, redMember);   // teammates, FF blocked
+            sink += rel(blueOwner, blueOwner);  // teammates, FF allowed
+            sink += rel(redOwner, blueOwner);   // enemies
+            sink += rel(loner, redMember);      // teamless attacker
+        }
+        return sink;
+    }
+
+    private int rel(UUID a, UUID b) {
+        return SimpleTeamService.relationshipOf(playerToTeam, teams, a, b);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        assumeTrue(mx instanceof com.sun.management.ThreadMXBean, "per-thread allocation counter unavailable");
+
+        com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) mx;
+        assumeTrue(sun.isThreadAllocatedMemorySupported(), "per-thread allocation counter unsupported");
+        sun.setThreadAllocatedMemoryEnabled(true);
+        return sun;
+    }
+}